@@ -0,0 +1,86 @@
+package com.ice.musicmetadata.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.ArtistAlias;
+import com.ice.musicmetadata.mapper.ArtistMapper;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Times writing the artist of the day body the way each request used to, mapping and serializing the cached artist
+ * and compressing it on the fly, against copying the ready-made bytes, for the plain JSON and for each encoding.
+ * Run it with the {@code jmh} profile:
+ * {@code mvn -P jmh test-compile exec:exec -Djmh.args="ArtistOfTheDayResponseBenchmark"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArtistOfTheDayResponseBenchmark {
+    private final ArtistMapper artistMapper = Mappers.getMapper(ArtistMapper.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // The response buffer, reset between requests
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    private Artist artist;
+    private ArtistOfTheDayResponseCache.EncodedResponse encoded;
+
+    @Setup
+    public void setUp() {
+        Brotli4jLoader.ensureAvailability();
+        artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        artist.setBio("American singer-songwriter and actress, known as the Queen of Pop. ".repeat(4));
+        IntStream.range(0, 5).forEach(i -> artist.getAliases().add(ArtistAlias.builder().alias("Alias " + i).build()));
+        encoded = new ArtistOfTheDayResponseCache(artistMapper, objectMapper).get(artist);
+    }
+
+    @Benchmark
+    public int mapAndSerialize() throws IOException {
+        return write(serialize());
+    }
+
+    @Benchmark
+    public int readyMadeJson() {
+        return write(encoded.json());
+    }
+
+    @Benchmark
+    public int mapSerializeAndGzip() throws IOException {
+        return write(ArtistOfTheDayResponseCache.gzip(serialize()));
+    }
+
+    @Benchmark
+    public int readyMadeGzip() {
+        return write(encoded.gzip());
+    }
+
+    @Benchmark
+    public int mapSerializeAndBrotli() throws IOException {
+        return write(ArtistOfTheDayResponseCache.brotli(serialize()));
+    }
+
+    @Benchmark
+    public int readyMadeBrotli() {
+        return write(encoded.brotli());
+    }
+
+    private byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(artistMapper.mapToArtistResponse(artist));
+    }
+
+    // Returns the size written, for JMH to consume
+    private int write(byte[] body) {
+        out.reset();
+        out.writeBytes(body);
+        return out.size();
+    }
+}
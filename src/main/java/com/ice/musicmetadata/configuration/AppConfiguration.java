@@ -1,11 +1,20 @@
 package com.ice.musicmetadata.configuration;
 
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.time.Clock;
+
 @EnableScheduling
 @EnableCaching
 @Configuration
 public class AppConfiguration {
+
+    // Date-dependent services read the time from here, so tests can move it
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
 }
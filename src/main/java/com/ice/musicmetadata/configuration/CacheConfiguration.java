@@ -0,0 +1,140 @@
+package com.ice.musicmetadata.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ice.musicmetadata.service.ArtistOfTheDayLoader;
+import com.ice.musicmetadata.service.CacheInvalidationBus;
+import com.ice.musicmetadata.service.InJvmCacheInvalidationBus;
+import com.ice.musicmetadata.service.PostgresCacheInvalidationBus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Configuration
+public class CacheConfiguration {
+
+    /**
+     * Registers the caches given their own Caffeine spec under {@code app.caches}, keyed by cache name, in place of
+     * the {@code spring.cache.caffeine.spec} the other caches share. Each spec may bound its cache by entry count
+     * with {@code maximumSize}, or by bytes with {@code maximumWeight}, each entry weighing the size of its value
+     * serialized as JSON, and may expire entries a while after they were written or last read. A
+     * {@code refreshAfterWrite} reloads an entry in the background with the cache's loader, which only the featured
+     * artist cache has. Every cache records statistics, for the actuator cache metrics.
+     * The loader is looked up on its first load, the repositories it reads from needing the cache manager first.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> cacheSpecsCustomizer(Environment environment,
+                                                                            ObjectMapper objectMapper,
+                                                                            ObjectProvider<ArtistOfTheDayLoader> artistOfTheDayLoader) {
+        var specs = Binder.get(environment)
+                .bind("app.caches", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        Map<String, CacheLoader<Object, Object>> loaders =
+                Map.of(ArtistOfTheDayLoader.ARTIST_OF_THE_DAY_CACHE_NAME, key -> artistOfTheDayLoader.getObject().load());
+        var weigher = new SerializedSizeWeigher(objectMapper);
+        return cacheManager -> specs.forEach((name, spec) -> {
+            var options = Arrays.stream(spec.split(","))
+                    .map(option -> option.split("=")[0].trim())
+                    .collect(Collectors.toSet());
+            var builder = Caffeine.from(spec).recordStats();
+            if (options.contains("maximumWeight")) {
+                builder.weigher(weigher);
+            }
+            if (options.contains("refreshAfterWrite")) {
+                var loader = loaders.get(name);
+                if (loader == null) {
+                    throw new IllegalStateException("Cache " + name + " has refreshAfterWrite but no loader");
+                }
+                cacheManager.registerCustomCache(name, builder.build(loader));
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+        });
+    }
+
+    /**
+     * Publishes the hit ratio and the average load time of every Caffeine cache, as the {@code cache.hit.ratio} and
+     * {@code cache.load.average} gauges, next to the gets, puts, evictions and eviction weights the actuator cache
+     * metrics already publish per cache. Loads are the misses of a single-flight lookup, as made by
+     * {@code @Cacheable(sync = true)}, or by a cache's own loader.
+     */
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            if (Objects.requireNonNull(cacheManager.getCache(name)).getNativeCache() instanceof Cache<?, ?> cache) {
+                var tags = Tags.of("cache", name, "cache.manager", "cacheManager");
+                Gauge.builder("cache.hit.ratio", cache, nativeCache -> nativeCache.stats().hitRate())
+                        .description("The ratio of cache lookups which were hits")
+                        .tags(tags)
+                        .register(registry);
+                TimeGauge.builder("cache.load.average", cache, TimeUnit.NANOSECONDS,
+                                nativeCache -> nativeCache.stats().averageLoadPenalty())
+                        .description("The average time spent loading a new value")
+                        .tags(tags)
+                        .register(registry);
+            }
+        });
+    }
+
+    /**
+     * Wraps the Caffeine cache manager so that puts, evictions and clears made inside a transaction, by the caching
+     * annotations or directly, are applied only once it commits and dropped if it rolls back. Readers keep the
+     * committed value meanwhile and never see one that is not committed. Reads, including the single-flight
+     * {@code get(key, valueLoader)}, still go straight to Caffeine.
+     */
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CaffeineCacheManager cacheManager ?
+                        new TransactionAwareCacheManagerProxy(cacheManager) : bean;
+            }
+        };
+    }
+
+    /**
+     * Carries cache invalidations between the nodes over PostgreSQL {@code LISTEN}/{@code NOTIFY}, when the nodes
+     * share a PostgreSQL database.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache-invalidation.bus", havingValue = "postgresql")
+    public CacheInvalidationBus postgresCacheInvalidationBus(DataSource dataSource, ObjectMapper objectMapper,
+                                                             @Value("${app.cache-invalidation.channel}") String channel) {
+        return new PostgresCacheInvalidationBus(dataSource, objectMapper, channel);
+    }
+
+    /**
+     * Carries cache invalidations between the nodes of this JVM only, when there is no other bus: a single node has
+     * no one to tell.
+     */
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationBus.class)
+    public CacheInvalidationBus inJvmCacheInvalidationBus() {
+        return new InJvmCacheInvalidationBus();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ice.musicmetadata.configuration;
+
+import com.ice.musicmetadata.service.PlanFeaturedScheduleJob;
+import com.ice.musicmetadata.service.RotateArtistOfTheDayJob;
+import org.quartz.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.quartz.JobStoreType;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Jobs run once per cluster rather than once per node. Spring Boot registers these jobs and triggers with the Quartz
+ * scheduler, whose JDBC job store lets a trigger fire on only one node.
+ */
+@Configuration
+public class QuartzConfiguration {
+
+    // Clusters the JDBC job store with the app.quartz.job-store settings, which the in-memory job store would reject
+    @Bean
+    public SchedulerFactoryBeanCustomizer clusteredJobStoreCustomizer(QuartzProperties quartzProperties,
+                                                                     Environment environment) {
+        var jobStoreProperties = Binder.get(environment)
+                .bind("app.quartz.job-store", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        return schedulerFactoryBean -> {
+            if (quartzProperties.getJobStoreType() == JobStoreType.JDBC) {
+                var properties = new Properties();
+                properties.putAll(quartzProperties.getProperties());
+                properties.putAll(jobStoreProperties);
+                schedulerFactoryBean.setQuartzProperties(properties);
+            }
+        };
+    }
+
+    @Bean
+    public JobDetail rotateArtistOfTheDayJob() {
+        return JobBuilder.newJob(RotateArtistOfTheDayJob.class)
+                .withIdentity("rotate-artist-of-the-day")
+                .storeDurably()
+                .requestRecovery()
+                .build();
+    }
+
+    // A rotation missed while every node was down runs once as soon as one is back
+    @Bean
+    public Trigger rotateArtistOfTheDayTrigger(JobDetail rotateArtistOfTheDayJob,
+                                               @Value("${app.artist-of-the-day.cron}") String cron) {
+        return TriggerBuilder.newTrigger()
+                .forJob(rotateArtistOfTheDayJob)
+                .withIdentity("rotate-artist-of-the-day")
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron)
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+    }
+
+    @Bean
+    public JobDetail planFeaturedScheduleJob() {
+        return JobBuilder.newJob(PlanFeaturedScheduleJob.class)
+                .withIdentity("plan-featured-schedule")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger planFeaturedScheduleTrigger(JobDetail planFeaturedScheduleJob,
+                                               @Value("${app.artist-of-the-day.schedule-cron}") String cron) {
+        return TriggerBuilder.newTrigger()
+                .forJob(planFeaturedScheduleJob)
+                .withIdentity("plan-featured-schedule")
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron)
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ice.musicmetadata.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Weigher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Weighs a cache entry by the number of bytes of its value serialized as JSON, which is what the responses built from
+ * it carry, so a {@code maximumWeight} bounds a cache in bytes rather than entries of any size. The bytes are counted
+ * as they are written, not kept. A value that cannot be serialized weighs one.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class SerializedSizeWeigher implements Weigher<Object, Object> {
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        var counter = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(counter, value);
+        } catch (IOException e) {
+            log.warn("Cache entry {} could not be weighed", key, e);
+            return 1;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, counter.count));
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
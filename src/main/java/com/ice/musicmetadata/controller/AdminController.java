@@ -0,0 +1,35 @@
+package com.ice.musicmetadata.controller;
+
+import com.ice.musicmetadata.api.AdminApi;
+import com.ice.musicmetadata.model.BulkCreateTracksRequest;
+import com.ice.musicmetadata.model.BulkCreateTracksResponse;
+import com.ice.musicmetadata.model.CreateGenreRequest;
+import com.ice.musicmetadata.model.GenreResponse;
+import com.ice.musicmetadata.service.GenreService;
+import com.ice.musicmetadata.service.TrackBatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping({"/v1"})
+public class AdminController implements AdminApi {
+
+    private final TrackBatchService trackBatchService;
+    private final GenreService genreService;
+
+    @Override
+    public ResponseEntity<BulkCreateTracksResponse> addTracks(BulkCreateTracksRequest bulkCreateTracksRequest) {
+        var bulkCreateTracksResponse = trackBatchService.addTracks(bulkCreateTracksRequest);
+        return ResponseEntity.ok(bulkCreateTracksResponse);
+    }
+
+    @Override
+    public ResponseEntity<GenreResponse> addGenre(CreateGenreRequest createGenreRequest) {
+        var genreResponse = genreService.addGenre(createGenreRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(genreResponse);
+    }
+}
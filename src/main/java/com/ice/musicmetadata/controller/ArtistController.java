@@ -1,22 +1,53 @@
 package com.ice.musicmetadata.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.ice.musicmetadata.api.ArtistApi;
+import com.ice.musicmetadata.controller.handler.EncodedArtistOfTheDayAdvice;
 import com.ice.musicmetadata.model.*;
+import com.ice.musicmetadata.service.ArtistOfTheDayResponseCache;
+import com.ice.musicmetadata.service.ArtistSearchService;
 import com.ice.musicmetadata.service.ArtistService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping({"/v1"})
 public class ArtistController implements ArtistApi {
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String GZIP = "gzip";
+    private static final String BROTLI = "br";
+    private static final String WILDCARD_CODING = "*";
 
     private final ArtistService artistService;
+    private final ArtistSearchService artistSearchService;
+    private final ObjectMapper objectMapper;
 
     @Override
     public ResponseEntity<TrackResponse> addTrack(UUID artistId, TrackRequest trackRequest) throws Exception {
@@ -28,20 +59,185 @@ public class ArtistController implements ArtistApi {
     }
 
     @Override
-    public ResponseEntity<ArtistResponse> getArtistOfTheDay() throws Exception {
-        var artistResponse = artistService.getArtistOfTheDay();
+    public ResponseEntity<ArtistResponse> getArtistByName(String name) {
+        var artistResponse = artistService.getArtistByName(name);
         return ResponseEntity.ok(artistResponse);
     }
 
     @Override
-    public ResponseEntity<TrackPageResponse> getArtistTracks(UUID artistId, Integer page, Integer size) {
-        var trackPageResponse = artistService.getArtistTracks(artistId, page, size);
+    public ResponseEntity<FeaturedArtistScheduleResponse> getFeaturedArtists(LocalDate from, LocalDate to) {
+        var featuredArtistScheduleResponse = artistService.getFeaturedArtists(from, to);
+        return ResponseEntity.ok(featuredArtistScheduleResponse);
+    }
+
+    @Override
+    public ResponseEntity<FeaturedArtistScheduleResponse> getFeaturedArtistHistory(LocalDate from, LocalDate to)
+            throws IOException {
+        var last = to == null ? from : to;
+        var featuredArtistScheduleResponse = artistService.getFeaturedHistory(from, last);
+        // The days of a past range are final, but their artists can still be renamed, so it is revalidated
+        if (isNotModified(contentETag(featuredArtistScheduleResponse))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        if (!artistService.isFeaturedHistoryFinal(last)) {
+            return ResponseEntity.ok(featuredArtistScheduleResponse);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(featuredArtistScheduleResponse);
+    }
+
+    @Override
+    public ResponseEntity<ArtistResponse> getArtistOfTheDay(List<String> fields, String zone) throws Exception {
+        if (zone != null) {
+            return getZonedArtistOfTheDay(fields, zone);
+        }
+        if (fields == null) {
+            return encodedArtistOfTheDay(artistService.getEncodedArtistOfTheDay());
+        }
+        var eTag = artistService.getArtistOfTheDayETag();
+        if (isNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        var artistResponse = artistService.getArtistOfTheDay(fields);
+        return ResponseEntity.ok(artistResponse);
+    }
+
+    @Override
+    public ResponseEntity<TrackPageResponse> getArtistTracks(UUID artistId, Integer page, Integer size, String after, Boolean includeTotals,
+                                                             List<String> fields) {
+        var eTag = artistService.getArtistTracksETag(artistId);
+        if (isNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        var trackPageResponse = artistService.getArtistTracks(artistId, page, size, after, includeTotals, fields);
         return ResponseEntity.ok(trackPageResponse);
     }
 
+    /**
+     * Streams the full discography of an artist as newline-delimited JSON, one {@link TrackResponse} per line.
+     * Kept out of the generated API because the body is written while the tracks are read rather than
+     * returned as a model. The artist is resolved before the response starts, so an unknown artist is
+     * still a plain 404, and the total is sent up front in the {@code X-Total-Count} header.
+     *
+     * @param artistId The ID of the artist to export.
+     * @return The streaming response.
+     */
+    @GetMapping(value = "/artists/{artistId}/tracks/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportArtistTracks(@PathVariable UUID artistId) {
+        var trackCount = artistService.getArtistTrackCount(artistId);
+        var trackWriter = objectMapper.writerFor(TrackResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // One value per line, and leave closing the response stream to the container
+                generator.setRootValueSeparator(null);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                artistService.streamArtistTracks(artistId, track -> writeLine(trackWriter, generator, track));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(TOTAL_COUNT_HEADER, String.valueOf(trackCount))
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<ArtistSearchResponse> searchArtists(String q, Integer limit) {
+        var artistSearchResponse = artistSearchService.searchArtists(q, limit);
+        return ResponseEntity.ok(artistSearchResponse);
+    }
+
     @Override
     public ResponseEntity<ArtistResponse> updateArtistName(UUID artistId, UpdateArtistNameRequest updateArtistNameRequest) {
         var artistResponse = artistService.updateArtistName(artistId, updateArtistNameRequest);
         return ResponseEntity.ok(artistResponse);
     }
+
+    // Served from the zoned snapshot, whose encoded artist also carries the entity tag for a sparse fieldset
+    private ResponseEntity<ArtistResponse> getZonedArtistOfTheDay(List<String> fields, String zone) {
+        if (fields == null) {
+            return encodedArtistOfTheDay(artistService.getEncodedArtistOfTheDay(zone));
+        }
+        if (isNotModified(artistService.getEncodedArtistOfTheDay(zone).eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        var artistResponse = artistService.getArtistOfTheDay(fields, zone);
+        return ResponseEntity.ok(artistResponse);
+    }
+
+    // Returns the whole artist of the day in the encoding the client accepts best, which
+    // EncodedArtistOfTheDayAdvice writes as its ready-made bytes
+    private static ResponseEntity<ArtistResponse> encodedArtistOfTheDay(
+            ArtistOfTheDayResponseCache.EncodedResponse encoded) {
+        var attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        var coding = negotiateCoding(attributes.getRequest().getHeaders(HttpHeaders.ACCEPT_ENCODING),
+                encoded.brotli() != null);
+        if (isNotModified(encoded.eTag(coding))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        attributes.getRequest().setAttribute(EncodedArtistOfTheDayAdvice.ENCODED_RESPONSE_ATTRIBUTE, encoded);
+        var response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (coding != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, coding);
+        }
+        return response.body(encoded.response());
+    }
+
+    // The content coding of highest quality among Brotli, when available, and gzip, Brotli winning a tie,
+    // or null for none. A coding left out takes the quality of the wildcard, if any.
+    private static String negotiateCoding(Enumeration<String> acceptEncodings, boolean brotli) {
+        var qualities = new HashMap<String, Double>();
+        while (acceptEncodings.hasMoreElements()) {
+            for (var coding : acceptEncodings.nextElement().split(",")) {
+                var parameters = coding.split(";");
+                qualities.put(parameters[0].strip().toLowerCase(Locale.ROOT), quality(parameters));
+            }
+        }
+        var wildcard = qualities.getOrDefault(WILDCARD_CODING, 0.0);
+        var brotliQuality = brotli ? qualities.getOrDefault(BROTLI, wildcard) : 0.0;
+        var gzipQuality = qualities.getOrDefault(GZIP, wildcard);
+        if (brotliQuality > 0 && brotliQuality >= gzipQuality) {
+            return BROTLI;
+        }
+        return gzipQuality > 0 ? GZIP : null;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].strip();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    // Matches the entity tag against If-None-Match before anything is read or mapped for the body,
+    // and writes the ETag header for both the 304 and the full response
+    private static boolean isNotModified(String eTag) {
+        if (eTag == null) {
+            return false;
+        }
+        var attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        return new ServletWebRequest(attributes.getRequest(), attributes.getResponse()).checkNotModified(eTag);
+    }
+
+    // Strong entity tag of a response body, its JSON being the representation sent
+    private String contentETag(Object body) throws IOException {
+        return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body)) + "\"";
+    }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, Object value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
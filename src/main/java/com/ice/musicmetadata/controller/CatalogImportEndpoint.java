@@ -0,0 +1,32 @@
+package com.ice.musicmetadata.controller;
+
+import com.ice.musicmetadata.service.CatalogImportJob;
+import com.ice.musicmetadata.service.CatalogImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Actuator endpoint to start catalog imports and follow their progress, rows per second included.
+ */
+@Component
+@Endpoint(id = "catalogimport")
+@RequiredArgsConstructor
+public class CatalogImportEndpoint {
+
+    private final CatalogImportService catalogImportService;
+
+    @ReadOperation
+    public Collection<CatalogImportJob> imports() {
+        return catalogImportService.getImports();
+    }
+
+    @WriteOperation
+    public CatalogImportJob start(String file) {
+        return catalogImportService.startImport(file);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ice.musicmetadata.controller;
+
+import com.ice.musicmetadata.api.TrackApi;
+import com.ice.musicmetadata.model.CreateTrackRequest;
+import com.ice.musicmetadata.model.TrackPageResponse;
+import com.ice.musicmetadata.model.TrackResponse;
+import com.ice.musicmetadata.service.TrackService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping({"/v1"})
+public class TrackController implements TrackApi {
+
+    private final TrackService trackService;
+
+    @Override
+    public ResponseEntity<TrackResponse> addTrack(CreateTrackRequest createTrackRequest) {
+        var trackResponse = trackService.addTrack(createTrackRequest);
+        return ResponseEntity.created(ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path(String.format("/%s", trackResponse.getTrackId()))
+                .build().toUri()).body(trackResponse);
+    }
+
+    @Override
+    public ResponseEntity<TrackPageResponse> getTracksByArtistId(UUID artistId, String genre, Boolean includeSubGenres,
+                                                                 LocalDate releasedFrom, LocalDate releasedTo,
+                                                                 Integer size, String after) {
+        var trackPageResponse = trackService.getTracks(artistId, genre, includeSubGenres, releasedFrom, releasedTo,
+                size, after);
+        return ResponseEntity.ok(trackPageResponse);
+    }
+}
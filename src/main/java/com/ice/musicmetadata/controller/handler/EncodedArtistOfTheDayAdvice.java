@@ -0,0 +1,56 @@
+package com.ice.musicmetadata.controller.handler;
+
+import com.ice.musicmetadata.model.ArtistResponse;
+import com.ice.musicmetadata.service.ArtistOfTheDayResponseCache;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the whole artist of the day as the bytes encoded once per featured artist instead of serializing it.
+ * <p>
+ * The controller returns the {@link ArtistResponse} of the encoded response, with the content coding it negotiated
+ * in {@code Content-Encoding}, and leaves the encoded response in the {@link #ENCODED_RESPONSE_ATTRIBUTE} request
+ * attribute. Only that very instance is swapped for its bytes, any other body is serialized as usual.
+ */
+@ControllerAdvice
+public class EncodedArtistOfTheDayAdvice implements ResponseBodyAdvice<Object> {
+    public static final String ENCODED_RESPONSE_ATTRIBUTE = EncodedArtistOfTheDayAdvice.class.getName() + ".ENCODED";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ArtistResponse) || !(request instanceof ServletServerHttpRequest servletRequest) ||
+            !(servletRequest.getServletRequest().getAttribute(ENCODED_RESPONSE_ATTRIBUTE)
+                    instanceof ArtistOfTheDayResponseCache.EncodedResponse encoded) ||
+            encoded.response() != body) {
+            return body;
+        }
+        var bytes = encoded.body(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(bytes.length);
+        try {
+            response.getBody().write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Nothing is left for the converter to write
+        return null;
+    }
+}
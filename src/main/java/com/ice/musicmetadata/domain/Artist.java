@@ -6,10 +6,13 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 
+import java.text.Normalizer;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @ToString()
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -21,6 +24,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "artists")
 public class Artist {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
 
     @EqualsAndHashCode.Include
     @Id
@@ -34,12 +39,25 @@ public class Artist {
     @Column(nullable = false)
     private String name;
 
+    // Case-folded and accent-stripped name, unique across artists, kept in step with the name on every write
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+
     @Column(columnDefinition = "TEXT")
     private String bio;
 
     @Column(name = "featured_at")
     private Instant featuredAt;
 
+    // Maintained with atomic increments by the track write paths, never written through the entity
+    @Column(name = "track_count", nullable = false, insertable = false, updatable = false)
+    private Integer trackCount;
+
+    // Bumped with the track counter, never written through the entity
+    @Column(name = "track_listing_version", nullable = false, insertable = false, updatable = false)
+    private Long trackListingVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private Instant createdAt;
@@ -75,4 +93,22 @@ public class Artist {
                 .build();
         aliases.add(alias);
     }
-}
\ No newline at end of file
+
+    /**
+     * Normalizes an artist name into the key names are told apart by: accents stripped, case folded and runs of
+     * whitespace collapsed, so "Beyoncé", "beyonce" and " BEYONCE " share one key.
+     *
+     * @param name The artist name.
+     * @return The name key.
+     */
+    public static String toNameKey(String name) {
+        var stripped = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = toNameKey(name);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ice.musicmetadata.domain;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A field of an artist response that can be requested through a sparse fieldset.
+ */
+public enum ArtistField {
+    ARTIST_ID("artistId"),
+    NAME("name"),
+    BIO("bio"),
+    ALIASES("aliases");
+
+    private final String fieldName;
+
+    ArtistField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Resolves a requested fieldset.
+     *
+     * @param fieldNames The names of the requested fields, or null or empty for every field.
+     * @return The requested fields.
+     * @throws IllegalArgumentException if a name is not an artist field.
+     */
+    public static Set<ArtistField> of(Collection<String> fieldNames) throws IllegalArgumentException {
+        if (fieldNames == null || fieldNames.isEmpty()) {
+            return EnumSet.allOf(ArtistField.class);
+        }
+        var fields = EnumSet.noneOf(ArtistField.class);
+        for (var fieldName : fieldNames) {
+            fields.add(ofName(fieldName.strip()));
+        }
+        return fields;
+    }
+
+    private static ArtistField ofName(String fieldName) {
+        for (var field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown artist field: " + fieldName);
+    }
+}
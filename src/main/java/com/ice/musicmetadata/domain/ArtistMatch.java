@@ -0,0 +1,14 @@
+package com.ice.musicmetadata.domain;
+
+import java.util.UUID;
+
+/**
+ * An artist found by name or alias search.
+ *
+ * @param artistId The ID of the artist.
+ * @param name     The name of the artist.
+ * @param matched  The name or alias of the artist that matched.
+ * @param score    The relevance of the match, from 0 to 1.
+ */
+public record ArtistMatch(UUID artistId, String name, String matched, double score) {
+}
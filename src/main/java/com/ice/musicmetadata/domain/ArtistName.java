@@ -0,0 +1,14 @@
+package com.ice.musicmetadata.domain;
+
+import java.util.UUID;
+
+/**
+ * The name of an artist with one of its aliases, one row per alias.
+ *
+ * @param id       The internal id of the artist, for grouping its rows.
+ * @param artistId The ID of the artist.
+ * @param name     The name of the artist.
+ * @param alias    One alias of the artist, or null if it has none.
+ */
+public record ArtistName(Long id, UUID artistId, String name, String alias) {
+}
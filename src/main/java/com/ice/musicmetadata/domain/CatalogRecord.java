@@ -0,0 +1,22 @@
+package com.ice.musicmetadata.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One row of a catalog import file: a track together with the artist it belongs to.
+ *
+ * @param artist            The name of the artist, created when no artist has it yet.
+ * @param aliases           The aliases of the artist, added when missing.
+ * @param title             The title of the track.
+ * @param durationInSeconds The duration of the track in seconds.
+ * @param genre             The genre of the track, may be null.
+ * @param releaseDate       The release date of the track.
+ */
+public record CatalogRecord(String artist,
+                            List<String> aliases,
+                            String title,
+                            Integer durationInSeconds,
+                            String genre,
+                            LocalDate releaseDate) {
+}
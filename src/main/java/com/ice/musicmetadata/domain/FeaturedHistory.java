@@ -0,0 +1,37 @@
+package com.ice.musicmetadata.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The artist of the day as rotated on a date. Rows are only ever inserted, once a day by the rotation, so a past
+ * date never changes.
+ */
+@ToString()
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Immutable
+@Table(name = "featured_history")
+public class FeaturedHistory {
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(name = "feature_date")
+    private LocalDate featureDate;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "artist_id", nullable = false)
+    private Artist artist;
+
+    @Column(name = "featured_at", nullable = false)
+    private Instant featuredAt;
+}
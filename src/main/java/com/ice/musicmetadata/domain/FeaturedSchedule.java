@@ -0,0 +1,38 @@
+package com.ice.musicmetadata.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@ToString()
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "featured_schedule")
+public class FeaturedSchedule {
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(name = "feature_date")
+    private LocalDate featureDate;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "artist_id", nullable = false)
+    private Artist artist;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    // Null until persisted, which tells a new row from an existing one without a lookup, as the date is assigned
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
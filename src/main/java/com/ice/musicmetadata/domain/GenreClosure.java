@@ -0,0 +1,45 @@
+package com.ice.musicmetadata.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+@ToString()
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "genre_closure")
+@IdClass(GenreClosure.Key.class)
+public class GenreClosure {
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    // Number of levels between the two genres, 0 for the row pairing a genre with itself
+    @Column(nullable = false)
+    private int depth;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id", insertable = false, updatable = false)
+    private Genre descendant;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
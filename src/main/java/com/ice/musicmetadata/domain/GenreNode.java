@@ -0,0 +1,18 @@
+package com.ice.musicmetadata.domain;
+
+import java.util.List;
+
+/**
+ * Immutable view of a genre and its place in the genre tree, as held by the genre registry.
+ *
+ * @param id          The id of the genre.
+ * @param name        The name of the genre.
+ * @param parentId    The id of the parent genre, or null for a top-level genre.
+ * @param subGenreIds The ids of the direct sub-genres.
+ */
+public record GenreNode(Long id, String name, Long parentId, List<Long> subGenreIds) {
+
+    public GenreNode(Long id, String name, Long parentId) {
+        this(id, name, parentId, List.of());
+    }
+}
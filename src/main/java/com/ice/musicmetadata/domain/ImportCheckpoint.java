@@ -0,0 +1,50 @@
+package com.ice.musicmetadata.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+@ToString()
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "import_checkpoints")
+public class ImportCheckpoint {
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 1024, unique = true)
+    private String source;
+
+    // Size and modification time of the source, a changed file starts over
+    @Column(nullable = false, length = 100)
+    private String fingerprint;
+
+    @Column(name = "rows_committed", nullable = false)
+    private long rowsCommitted;
+
+    @Column(name = "tracks_written", nullable = false)
+    private long tracksWritten;
+
+    @Column(name = "rows_rejected", nullable = false)
+    private long rowsRejected;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
@@ -0,0 +1,52 @@
+package com.ice.musicmetadata.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of a track in a listing ordered by release date (nulls last) then id.
+ * Handed to clients as an opaque URL-safe token.
+ *
+ * @param releaseDate The release date of the last track returned, may be null.
+ * @param id          The id of the last track returned.
+ */
+public record TrackCursor(LocalDate releaseDate, Long id) {
+    private static final char SEPARATOR = '|';
+
+    public static TrackCursor of(TrackView track) {
+        return new TrackCursor(track.releaseDate(), track.id());
+    }
+
+    /**
+     * Encodes the cursor as an opaque token.
+     *
+     * @return The URL-safe token.
+     */
+    public String encode() {
+        var raw = (releaseDate == null ? "" : releaseDate.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The opaque token.
+     * @return The decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static TrackCursor decode(String token) throws IllegalArgumentException {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            var releaseDate = separator == 0 ? null : LocalDate.parse(raw.substring(0, separator));
+            return new TrackCursor(releaseDate, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ice.musicmetadata.domain;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A field of a track response that can be requested through a sparse fieldset, with the JPQL expression selecting it.
+ */
+public enum TrackField {
+    TRACK_ID("trackId", "t.trackId"),
+    TITLE("title", "t.title"),
+    DURATION_IN_SECONDS("durationInSeconds", "t.duration"),
+    GENRE("genre", "COALESCE(g.name, t.genreName)"),
+    RELEASE_DATE("releaseDate", "t.releaseDate");
+
+    private final String fieldName;
+    private final String expression;
+
+    TrackField(String fieldName, String expression) {
+        this.fieldName = fieldName;
+        this.expression = expression;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    /**
+     * Resolves a requested fieldset.
+     *
+     * @param fieldNames The names of the requested fields, or null or empty for every field.
+     * @return The requested fields.
+     * @throws IllegalArgumentException if a name is not a track field.
+     */
+    public static Set<TrackField> of(Collection<String> fieldNames) throws IllegalArgumentException {
+        if (fieldNames == null || fieldNames.isEmpty()) {
+            return EnumSet.allOf(TrackField.class);
+        }
+        var fields = EnumSet.noneOf(TrackField.class);
+        for (var fieldName : fieldNames) {
+            fields.add(ofName(fieldName.strip()));
+        }
+        return fields;
+    }
+
+    private static TrackField ofName(String fieldName) {
+        for (var field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown track field: " + fieldName);
+    }
+}
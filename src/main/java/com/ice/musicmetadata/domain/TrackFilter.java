@@ -0,0 +1,18 @@
+package com.ice.musicmetadata.domain;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Filters of the global track listing, each one optional.
+ *
+ * @param artistId     The ID of the artist the tracks belong to.
+ * @param genreId      The id of the catalogued genre the tracks reference.
+ * @param genreName    The free-text genre the tracks carry when they reference no catalogued genre.
+ * @param subGenres    Whether the catalogued genre also matches the tracks of its sub-genres, at any depth.
+ * @param releasedFrom The earliest release date, inclusive.
+ * @param releasedTo   The latest release date, inclusive.
+ */
+public record TrackFilter(UUID artistId, Long genreId, String genreName, boolean subGenres,
+                          LocalDate releasedFrom, LocalDate releasedTo) {
+}
@@ -0,0 +1,10 @@
+package com.ice.musicmetadata.domain;
+
+/**
+ * Natural key of a track: its title within an artist's catalog.
+ *
+ * @param artistId The internal id of the artist.
+ * @param title    The title of the track.
+ */
+public record TrackKey(Long artistId, String title) {
+}
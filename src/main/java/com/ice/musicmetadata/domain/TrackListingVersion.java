@@ -0,0 +1,18 @@
+package com.ice.musicmetadata.domain;
+
+/**
+ * The versions an artist's track listing is built from, both read from the artist row. Any change to the artist
+ * moves the first, and any write to its tracks the second.
+ *
+ * @param artistVersion       The version of the artist.
+ * @param trackListingVersion The version of the artist's tracks, bumped with the track counter.
+ */
+public record TrackListingVersion(Long artistVersion, Long trackListingVersion) {
+
+    /**
+     * @return The strong entity tag of the listing.
+     */
+    public String toETag() {
+        return "\"" + artistVersion + "-" + trackListingVersion + "\"";
+    }
+}
@@ -0,0 +1,18 @@
+package com.ice.musicmetadata.domain;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a track carrying only what track listings return, plus the id used for
+ * keyset cursors. Built by constructor expressions, so rows are never hydrated as managed entities.
+ *
+ * @param id          The internal id of the track.
+ * @param trackId     The public id of the track.
+ * @param title       The title of the track.
+ * @param duration    The duration of the track in seconds.
+ * @param genre       The genre name, from the genre reference or the free-text column.
+ * @param releaseDate The release date of the track.
+ */
+public record TrackView(Long id, UUID trackId, String title, Integer duration, String genre, LocalDate releaseDate) {
+}
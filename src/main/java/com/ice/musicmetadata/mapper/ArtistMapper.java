@@ -2,7 +2,12 @@ package com.ice.musicmetadata.mapper;
 
 import com.ice.musicmetadata.domain.Artist;
 import com.ice.musicmetadata.domain.ArtistAlias;
+import com.ice.musicmetadata.domain.ArtistMatch;
+import com.ice.musicmetadata.domain.FeaturedHistory;
+import com.ice.musicmetadata.domain.FeaturedSchedule;
 import com.ice.musicmetadata.model.ArtistResponse;
+import com.ice.musicmetadata.model.ArtistSearchResult;
+import com.ice.musicmetadata.model.FeaturedArtistResponse;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
@@ -10,6 +15,12 @@ public interface ArtistMapper {
 
     ArtistResponse mapToArtistResponse(Artist artist);
 
+    ArtistSearchResult mapToArtistSearchResult(ArtistMatch artistMatch);
+
+    FeaturedArtistResponse mapToFeaturedArtistResponse(FeaturedSchedule featuredSchedule);
+
+    FeaturedArtistResponse mapToFeaturedArtistResponse(FeaturedHistory featuredHistory);
+
     default String mapToArtistAliasName(ArtistAlias artistAlias) {
         return artistAlias != null ? artistAlias.getAlias() : null;
     }
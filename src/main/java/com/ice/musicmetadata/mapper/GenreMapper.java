@@ -0,0 +1,13 @@
+package com.ice.musicmetadata.mapper;
+
+import com.ice.musicmetadata.domain.Genre;
+import com.ice.musicmetadata.model.GenreResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface GenreMapper {
+
+    @Mapping(target = "parentGenre", source = "parentGenre.name")
+    GenreResponse mapToGenreResponse(Genre genre);
+}
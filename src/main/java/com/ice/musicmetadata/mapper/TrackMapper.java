@@ -1,32 +1,76 @@
 package com.ice.musicmetadata.mapper;
 
+import com.ice.musicmetadata.domain.GenreNode;
 import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackView;
+import com.ice.musicmetadata.model.CreateTrackRequest;
 import com.ice.musicmetadata.model.TrackPageResponse;
+import com.ice.musicmetadata.model.TrackRequest;
 import com.ice.musicmetadata.model.TrackResponse;
+import com.ice.musicmetadata.service.GenreRegistry;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
+import org.mapstruct.Named;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 
 import java.util.Objects;
 
+/**
+ * Genre names are resolved through the {@link GenreRegistry}, so mapping a track never loads its genre.
+ */
 @Mapper(componentModel = "spring",
         imports = {java.util.List.class, java.util.UUID.class}
 )
-public interface TrackMapper {
+public abstract class TrackMapper {
+    protected GenreRegistry genreRegistry;
+
+    @Autowired
+    public void setGenreRegistry(GenreRegistry genreRegistry) {
+        this.genreRegistry = genreRegistry;
+    }
+
     @Mapping(target = "page", source = "number")
     @Mapping(target = "pageSize", source = "size")
-    @Mapping(target = "totalItems", source = "totalElements")
-    @Mapping(target = "totalPages", source = "totalPages")
+    @Mapping(target = "totalItems", ignore = true)
+    @Mapping(target = "totalPages", ignore = true)
+    @Mapping(target = "data", source = "content", defaultExpression = "java(List.of())")
+    @Mapping(target = "hasNext", expression = "java(trackSlice.hasNext())")
+    @Mapping(target = "nextCursor", source = "trackSlice", qualifiedByName = "nextViewCursor")
+    public abstract TrackPageResponse mapToTrackSliceResponse(Slice<TrackView> trackSlice);
+
+    @Mapping(target = "page", ignore = true)
+    @Mapping(target = "pageSize", source = "size")
+    @Mapping(target = "totalItems", ignore = true)
+    @Mapping(target = "totalPages", ignore = true)
     @Mapping(target = "data", source = "content", defaultExpression = "java(List.of())")
-    TrackPageResponse mapToTrackPageResponse(Page<Track> trackPage);
+    @Mapping(target = "hasNext", expression = "java(trackSlice.hasNext())")
+    @Mapping(target = "nextCursor", source = "trackSlice", qualifiedByName = "nextViewCursor")
+    public abstract TrackPageResponse mapToTrackCursorPageResponse(Slice<TrackView> trackSlice);
 
     @Mapping(target = "durationInSeconds", source = "duration")
     @Mapping(target = "genre", expression = "java(mapToGenreName(track))")
-    TrackResponse mapToTrackResponse(Track track);
+    public abstract TrackResponse mapToTrackResponse(Track track);
 
-    default String mapToGenreName(Track track) {
+    @Mapping(target = "durationInSeconds", source = "duration")
+    @Mapping(target = "genre", expression = "java(genreRegistry.intern(trackView.genre()))")
+    public abstract TrackResponse mapToTrackResponse(TrackView trackView);
+
+    public abstract TrackRequest mapToTrackRequest(CreateTrackRequest createTrackRequest);
+
+    protected String mapToGenreName(Track track) {
         return Objects.isNull(track.getGenre()) ?
                 track.getGenreName() :
-                track.getGenre().getName();
+                genreRegistry.findById(track.getGenre().getId())
+                        .map(GenreNode::name)
+                        .orElseGet(() -> track.getGenre().getName());
+    }
+
+    @Named("nextViewCursor")
+    protected String mapToNextViewCursor(Slice<TrackView> trackSlice) {
+        return trackSlice.hasNext() && trackSlice.hasContent() ?
+                TrackCursor.of(trackSlice.getContent().getLast()).encode() :
+                null;
     }
 }
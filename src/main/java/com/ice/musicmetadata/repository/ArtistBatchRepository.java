@@ -0,0 +1,26 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.ArtistAlias;
+
+import java.util.List;
+
+public interface ArtistBatchRepository {
+
+    /**
+     * Inserts new artists in bulk with plain JDBC, bypassing the persistence context, and sets the ids the database
+     * generated on them. The artists must carry their artist id since it is not generated here, and are left
+     * unmanaged. Must run in a transaction.
+     *
+     * @param artists The artists to insert.
+     */
+    void insertAll(List<Artist> artists);
+
+    /**
+     * Inserts new aliases in bulk with plain JDBC, bypassing the persistence context.
+     * The aliases must carry an artist that has its id. Must run in a transaction.
+     *
+     * @param aliases The aliases to insert.
+     */
+    void insertAllAliases(List<ArtistAlias> aliases);
+}
@@ -0,0 +1,131 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.ArtistAlias;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Artist and alias ids are identity columns, which stop Hibernate from batching inserts, so the artists and aliases
+ * a catalog import creates are written with plain JDBC instead, like its tracks: {@code COPY} on PostgreSQL, batched
+ * inserts elsewhere. The artist UUID is assigned by the caller and the database fills the id, timestamps, version
+ * and counters; the ids of new artists are then read back by UUID in one query, for their aliases and tracks.
+ */
+public class ArtistBatchRepositoryImpl implements ArtistBatchRepository {
+    private static final int BATCH_SIZE = 500;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final String insertArtistSql;
+    private final String copyArtistsSql;
+    private final String selectArtistIdsSql;
+    private final String insertAliasSql;
+    private final String copyAliasesSql;
+    private volatile Boolean postgres;
+
+    public ArtistBatchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                     @Value("${spring.datasource.schema-name}") String schemaName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.insertArtistSql = "INSERT INTO " + schemaName + ".artists (artist_id, name, name_key, bio) " +
+                               "VALUES (?, ?, ?, ?)";
+        this.copyArtistsSql = "COPY " + schemaName + ".artists (artist_id, name, name_key, bio) " +
+                              "FROM STDIN WITH (FORMAT csv)";
+        this.selectArtistIdsSql = "SELECT id, artist_id FROM " + schemaName + ".artists " +
+                                  "WHERE artist_id IN (:artistIds)";
+        this.insertAliasSql = "INSERT INTO " + schemaName + ".artist_aliases (artist_id, alias) VALUES (?, ?)";
+        this.copyAliasesSql = "COPY " + schemaName + ".artist_aliases (artist_id, alias) FROM STDIN WITH (FORMAT csv)";
+    }
+
+    @Override
+    public void insertAll(List<Artist> artists) {
+        if (artists.isEmpty()) {
+            return;
+        }
+        if (isPostgres()) {
+            var csv = new StringBuilder(artists.size() * 96);
+            for (var artist : artists) {
+                csv.append(artist.getArtistId()).append(',')
+                        .append(quote(artist.getName())).append(',')
+                        .append(quote(Artist.toNameKey(artist.getName()))).append(',')
+                        .append(quote(artist.getBio()))
+                        .append('\n');
+            }
+            copy(copyArtistsSql, csv);
+        } else {
+            jdbcTemplate.batchUpdate(insertArtistSql, artists, BATCH_SIZE, (ps, artist) -> {
+                ps.setObject(1, artist.getArtistId());
+                ps.setString(2, artist.getName());
+                ps.setString(3, Artist.toNameKey(artist.getName()));
+                ps.setString(4, artist.getBio());
+            });
+        }
+        var artistsByArtistId = artists.stream()
+                .collect(Collectors.toMap(Artist::getArtistId, Function.identity(), (first, second) -> first, HashMap::new));
+        namedParameterJdbcTemplate.query(selectArtistIdsSql,
+                new MapSqlParameterSource("artistIds", artistsByArtistId.keySet()),
+                rs -> {
+                    var artist = artistsByArtistId.get(rs.getObject("artist_id", UUID.class));
+                    artist.setId(rs.getLong("id"));
+                    artist.setVersion(0L);
+                    artist.setTrackCount(0);
+                    artist.setTrackListingVersion(0L);
+                });
+    }
+
+    @Override
+    public void insertAllAliases(List<ArtistAlias> aliases) {
+        if (aliases.isEmpty()) {
+            return;
+        }
+        if (isPostgres()) {
+            var csv = new StringBuilder(aliases.size() * 48);
+            for (var alias : aliases) {
+                csv.append(alias.getArtist().getId()).append(',')
+                        .append(quote(alias.getAlias()))
+                        .append('\n');
+            }
+            copy(copyAliasesSql, csv);
+        } else {
+            jdbcTemplate.batchUpdate(insertAliasSql, aliases, BATCH_SIZE, (ps, alias) -> {
+                ps.setLong(1, alias.getArtist().getId());
+                ps.setString(2, alias.getAlias());
+            });
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.isWrapperFor(PGConnection.class));
+        }
+        return postgres;
+    }
+
+    private void copy(String copySql, StringBuilder csv) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Unquoted empty fields are NULL in COPY csv, so every present value is quoted
+    private static String quote(String value) {
+        return value == null ? "" : '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,31 +1,67 @@
 package com.ice.musicmetadata.repository;
 
 import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.ArtistName;
+import com.ice.musicmetadata.domain.Artist_;
+import com.ice.musicmetadata.domain.TrackListingVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ArtistRepository extends JpaRepository<Artist, Long> {
+public interface ArtistRepository extends JpaRepository<Artist, Long>, ArtistBatchRepository {
 
     Optional<Artist> findByArtistId(UUID artistId);
 
+    @EntityGraph(attributePaths = Artist_.ALIASES)
+    Optional<Artist> findWithAliasesByArtistId(UUID artistId);
+
+    List<Artist> findAllByArtistIdIn(Collection<UUID> artistIds);
+
+    @EntityGraph(attributePaths = Artist_.ALIASES)
+    List<Artist> findAllByNameKeyIn(Collection<String> nameKeys);
+
+    @EntityGraph(attributePaths = Artist_.ALIASES)
+    Optional<Artist> findByNameKey(String nameKey);
+
     boolean existsByArtistId(UUID artistId);
 
-    boolean existsByArtistIdNotAndName(UUID artistId, String name);
-
-    @Query("SELECT a FROM Artist a " +
-           "WHERE a.featuredAt IS NULL OR " +
-           "a.featuredAt < CURRENT_DATE " +
-           "ORDER BY a.featuredAt ASC NULLS FIRST, a.id ASC " +
-           "LIMIT 1")
-    Optional<Artist> findNextFeaturedArtist();
-
-    @Query("SELECT a FROM Artist a " +
-           "LEFT JOIN FETCH a.aliases aa " +
-           "WHERE aa.artist.id = a.id " +
-           "ORDER BY a.featuredAt DESC NULLS LAST, a.id ASC " +
-           "LIMIT 1")
-    Optional<Artist> findTopByOrderByFeaturedAtDesc();
+    boolean existsByArtistIdNotAndNameKey(UUID artistId, String nameKey);
+
+    @Query("SELECT a.trackCount FROM Artist a WHERE a.artistId = :artistId")
+    Optional<Integer> findTrackCountByArtistId(UUID artistId);
+
+    @Query("SELECT new com.ice.musicmetadata.domain.TrackListingVersion(a.version, a.trackListingVersion) " +
+           "FROM Artist a WHERE a.artistId = :artistId")
+    Optional<TrackListingVersion> findTrackListingVersion(UUID artistId);
+
+    // Every write to an artist's tracks goes through here, moving the listing version along with the counter
+    @Modifying
+    @Query("UPDATE Artist a SET a.trackCount = a.trackCount + :delta, " +
+           "a.trackListingVersion = a.trackListingVersion + 1 WHERE a.id = :id")
+    void incrementTrackCount(Long id, int delta);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.ice.musicmetadata.domain.ArtistName(a.id, a.artistId, a.name, aa.alias) " +
+           "FROM Artist a LEFT JOIN a.aliases aa " +
+           "ORDER BY a.id")
+    Stream<ArtistName> streamAllNames();
+
+    @Query("SELECT new com.ice.musicmetadata.domain.ArtistName(a.id, a.artistId, a.name, aa.alias) " +
+           "FROM Artist a LEFT JOIN a.aliases aa " +
+           "WHERE a.artistId IN :artistIds " +
+           "ORDER BY a.id")
+    List<ArtistName> findAllNamesByArtistIdIn(Collection<UUID> artistIds);
 }
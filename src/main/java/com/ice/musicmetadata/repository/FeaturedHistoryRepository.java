@@ -0,0 +1,18 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.FeaturedHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FeaturedHistoryRepository extends JpaRepository<FeaturedHistory, LocalDate> {
+
+    @Query("SELECT h FROM FeaturedHistory h " +
+           "JOIN FETCH h.artist a " +
+           "LEFT JOIN FETCH a.aliases " +
+           "WHERE h.featureDate BETWEEN :from AND :to " +
+           "ORDER BY h.featureDate ASC")
+    List<FeaturedHistory> findAllByFeatureDateBetween(LocalDate from, LocalDate to);
+}
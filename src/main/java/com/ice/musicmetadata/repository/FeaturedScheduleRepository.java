@@ -0,0 +1,39 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.FeaturedSchedule;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface FeaturedScheduleRepository extends JpaRepository<FeaturedSchedule, LocalDate> {
+
+    @Query("SELECT a FROM FeaturedSchedule s " +
+           "JOIN s.artist a " +
+           "LEFT JOIN FETCH a.aliases " +
+           "WHERE s.featureDate = :featureDate")
+    Optional<Artist> findArtistByFeatureDate(LocalDate featureDate);
+
+    @Query("SELECT s FROM FeaturedSchedule s " +
+           "JOIN FETCH s.artist a " +
+           "LEFT JOIN FETCH a.aliases " +
+           "WHERE s.featureDate BETWEEN :from AND :to " +
+           "ORDER BY s.featureDate ASC")
+    List<FeaturedSchedule> findAllByFeatureDateBetween(LocalDate from, LocalDate to);
+
+    @Query("SELECT s.featureDate FROM FeaturedSchedule s WHERE s.featureDate BETWEEN :from AND :to")
+    Set<LocalDate> findFeatureDatesBetween(LocalDate from, LocalDate to);
+
+    // Artists never planned come first, in the order they were last featured before the schedule existed,
+    // then the ones planned longest ago
+    @Query("SELECT a.id FROM Artist a " +
+           "LEFT JOIN FeaturedSchedule s ON s.artist = a " +
+           "GROUP BY a.id, a.featuredAt " +
+           "ORDER BY MAX(s.featureDate) ASC NULLS FIRST, a.featuredAt ASC NULLS FIRST, a.id ASC")
+    List<Long> findArtistIdsLeastRecentlyFeatured(Limit limit);
+}
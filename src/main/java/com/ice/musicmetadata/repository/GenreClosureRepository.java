@@ -0,0 +1,7 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.GenreClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface GenreClosureRepository extends JpaRepository<GenreClosure, GenreClosure.Key> {
+}
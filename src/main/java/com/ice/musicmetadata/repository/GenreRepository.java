@@ -1,10 +1,18 @@
 package com.ice.musicmetadata.repository;
 
 import com.ice.musicmetadata.domain.Genre;
+import com.ice.musicmetadata.domain.GenreNode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface GenreRepository extends JpaRepository<Genre, Long> {
 
     Optional<Genre> findByName(String name);
+
+    @Query("SELECT new com.ice.musicmetadata.domain.GenreNode(g.id, g.name, p.id) " +
+           "FROM Genre g LEFT JOIN g.parentGenre p")
+    List<GenreNode> findAllNodes();
 }
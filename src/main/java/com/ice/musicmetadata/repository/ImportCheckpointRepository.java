@@ -0,0 +1,11 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, Long> {
+
+    Optional<ImportCheckpoint> findBySource(String source);
+}
@@ -0,0 +1,19 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.Track;
+
+import java.util.List;
+
+public interface TrackBatchRepository {
+
+    /**
+     * Inserts new tracks in bulk with plain JDBC, bypassing the persistence context.
+     * The tracks must carry their artist, and their track id since it is not generated here.
+     * A track whose title a concurrent transaction committed for the same artist since the caller checked is left
+     * out rather than failing the others. Must run in a transaction.
+     *
+     * @param tracks The tracks to insert.
+     * @return The tracks inserted, in the given order.
+     */
+    List<Track> insertAll(List<Track> tracks);
+}
@@ -0,0 +1,146 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackKey;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.sql.Types;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Track ids are identity columns, which stop Hibernate from batching inserts, so new tracks
+ * are written with plain JDBC instead: {@code COPY} on PostgreSQL, batched inserts elsewhere.
+ * The track UUID is assigned by the caller and the database fills the id, timestamps and version.
+ * <p>
+ * The callers check titles before inserting, so the unique constraint on (artist_id, title) only trips on a title
+ * committed by a concurrent transaction in between. The batch is then rolled back to a savepoint, the titles that now
+ * exist are read back, and the rest of the batch inserted again without them.
+ */
+public class TrackBatchRepositoryImpl implements TrackBatchRepository {
+    private static final int BATCH_SIZE = 500;
+    private static final String TRACK_TITLE_CONSTRAINT = "uk_tracks_artist_id_title";
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final String insertSql;
+    private final String copySql;
+    private final String selectTrackKeysSql;
+    private volatile Boolean postgres;
+
+    public TrackBatchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${spring.datasource.schema-name}") String schemaName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.insertSql = "INSERT INTO " + schemaName + ".tracks " +
+                         "(track_id, title, artist_id, genre_id, genre, duration, release_date) " +
+                         "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        this.copySql = "COPY " + schemaName + ".tracks " +
+                       "(track_id, title, artist_id, genre_id, genre, duration, release_date) " +
+                       "FROM STDIN WITH (FORMAT csv)";
+        this.selectTrackKeysSql = "SELECT artist_id, title FROM " + schemaName + ".tracks " +
+                                  "WHERE artist_id IN (:artistIds) AND title IN (:titles)";
+    }
+
+    @Override
+    public List<Track> insertAll(List<Track> tracks) {
+        var remaining = new ArrayList<>(tracks);
+        while (!remaining.isEmpty()) {
+            var savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+            try {
+                if (isPostgres()) {
+                    copyAll(remaining);
+                } else {
+                    batchInsertAll(remaining);
+                }
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    connection.releaseSavepoint(savepoint);
+                    return null;
+                });
+                return remaining;
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    connection.rollback(savepoint);
+                    return null;
+                });
+                var message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                if (message == null || !message.toLowerCase(Locale.ROOT).contains(TRACK_TITLE_CONSTRAINT)) {
+                    throw e;
+                }
+                var existing = findTrackKeys(remaining);
+                if (!remaining.removeIf(track ->
+                        existing.contains(new TrackKey(track.getArtist().getId(), track.getTitle())))) {
+                    throw e;
+                }
+            }
+        }
+        return remaining;
+    }
+
+    private Set<TrackKey> findTrackKeys(List<Track> tracks) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("artistIds", tracks.stream()
+                        .map(track -> track.getArtist().getId())
+                        .collect(Collectors.toSet()))
+                .addValue("titles", tracks.stream().map(Track::getTitle).collect(Collectors.toSet()));
+        return new HashSet<>(namedParameterJdbcTemplate.query(selectTrackKeysSql, parameters, (rs, rowNum) ->
+                new TrackKey(rs.getLong("artist_id"), rs.getString("title"))));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.isWrapperFor(PGConnection.class));
+        }
+        return postgres;
+    }
+
+    private void copyAll(List<Track> tracks) {
+        var csv = new StringBuilder(tracks.size() * 96);
+        for (var track : tracks) {
+            csv.append(track.getTrackId()).append(',')
+                    .append(quote(track.getTitle())).append(',')
+                    .append(track.getArtist().getId()).append(',')
+                    .append(Objects.isNull(track.getGenre()) ? "" : track.getGenre().getId()).append(',')
+                    .append(quote(track.getGenreName())).append(',')
+                    .append(track.getDuration()).append(',')
+                    .append(Objects.toString(track.getReleaseDate(), ""))
+                    .append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Unquoted empty fields are NULL in COPY csv, so every present value is quoted
+    private static String quote(String value) {
+        return value == null ? "" : '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void batchInsertAll(List<Track> tracks) {
+        jdbcTemplate.batchUpdate(insertSql, tracks, BATCH_SIZE, (ps, track) -> {
+            ps.setObject(1, track.getTrackId());
+            ps.setString(2, track.getTitle());
+            ps.setLong(3, track.getArtist().getId());
+            ps.setObject(4, Objects.isNull(track.getGenre()) ? null : track.getGenre().getId(), Types.BIGINT);
+            ps.setString(5, track.getGenreName());
+            ps.setInt(6, track.getDuration());
+            ps.setObject(7, track.getReleaseDate(), Types.DATE);
+        });
+    }
+}
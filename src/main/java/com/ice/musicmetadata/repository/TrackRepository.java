@@ -1,15 +1,35 @@
 package com.ice.musicmetadata.repository;
 
 import com.ice.musicmetadata.domain.Track;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.ice.musicmetadata.domain.TrackKey;
+import com.ice.musicmetadata.domain.TrackView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TrackRepository extends JpaRepository<Track, Long> {
+public interface TrackRepository extends JpaRepository<Track, Long>, TrackBatchRepository, TrackViewRepository {
 
-    Page<Track> findByArtist_ArtistId(UUID artistId, Pageable pageable);
+    String TRACK_VIEW_SELECT = "SELECT new com.ice.musicmetadata.domain.TrackView(" +
+                               "t.id, t.trackId, t.title, t.duration, COALESCE(g.name, t.genreName), t.releaseDate) " +
+                               "FROM Track t LEFT JOIN t.genre g ";
 
-    boolean existsByArtist_ArtistIdAndTitle(UUID artistId, String title);
-}
\ No newline at end of file
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(TRACK_VIEW_SELECT +
+           "WHERE t.artist.artistId = :artistId " +
+           "ORDER BY t.releaseDate ASC NULLS LAST, t.id ASC")
+    Stream<TrackView> streamByArtistId(UUID artistId);
+
+    @Query("SELECT new com.ice.musicmetadata.domain.TrackKey(t.artist.id, t.title) FROM Track t " +
+           "WHERE t.artist.id IN :artistIds AND t.title IN :titles")
+    List<TrackKey> findTrackKeys(Collection<Long> artistIds, Collection<String> titles);
+}
@@ -0,0 +1,47 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackField;
+import com.ice.musicmetadata.domain.TrackFilter;
+import com.ice.musicmetadata.domain.TrackView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface TrackViewRepository {
+
+    /**
+     * Reads a page of an artist's tracks by offset, ordered by release date then id, selecting only the requested
+     * fields. The id and release date are always selected since the next cursor is built from them.
+     *
+     * @param artistId The ID of the artist.
+     * @param fields   The fields to select, the others are left null.
+     * @param pageable The page to read.
+     * @return The page of tracks.
+     */
+    Slice<TrackView> findViewsByArtistId(UUID artistId, Set<TrackField> fields, Pageable pageable);
+
+    /**
+     * Reads the tracks of an artist that follow a cursor, ordered by release date then id, selecting only the
+     * requested fields. The id and release date are always selected since the next cursor is built from them.
+     *
+     * @param artistId The ID of the artist.
+     * @param cursor   The position to seek past.
+     * @param fields   The fields to select, the others are left null.
+     * @param size     The number of tracks per page.
+     * @return The page of tracks.
+     */
+    Slice<TrackView> findViewsByArtistIdAfter(UUID artistId, TrackCursor cursor, Set<TrackField> fields, int size);
+
+    /**
+     * Reads the tracks matching every given filter that follow a cursor, ordered by release date then id.
+     *
+     * @param filter The filters, any of them null to leave it out.
+     * @param cursor The position to seek past, or null for the first page.
+     * @param size   The number of tracks per page.
+     * @return The page of tracks.
+     */
+    Slice<TrackView> findViews(TrackFilter filter, TrackCursor cursor, int size);
+}
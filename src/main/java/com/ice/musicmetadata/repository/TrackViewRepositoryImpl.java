@@ -0,0 +1,202 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackField;
+import com.ice.musicmetadata.domain.TrackFilter;
+import com.ice.musicmetadata.domain.TrackView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Track listings select only the columns of the requested fields, and join the genre only when it is requested,
+ * so a sparse fieldset is narrowed in the database rather than at serialization. Filters and the cursor are
+ * appended as predicates only when present, so each combination seeks one of the (filter, release_date, id) indexes.
+ * A genre subtree is matched by a semi-join on the genre closure.
+ * <p>
+ * Past a dated cursor, the dated tracks are sought by a row-value comparison on (release_date, id), which the index
+ * can start at, and the undated tracks that sort last are sought on their own once the dated ones run out, so every
+ * page costs the same however deep it is.
+ */
+public class TrackViewRepositoryImpl implements TrackViewRepository {
+    private static final String ARTIST = "t.artist.artistId = :artistId";
+    private static final String GENRE_ID = "t.genre.id = :genreId";
+    private static final String GENRE_NAME = "t.genreName = :genreName";
+    // Sub-genres go through the genre closure, a single indexed lookup of the whole subtree
+    private static final String GENRE_TREE_ID = "t.genre.id IN " +
+                                                "(SELECT c.descendantId FROM GenreClosure c WHERE c.ancestorId = :genreId)";
+    private static final String GENRE_TREE_NAME = "t.genreName IN " +
+                                                  "(SELECT d.name FROM GenreClosure c JOIN c.descendant d " +
+                                                  "WHERE c.ancestorId = :genreId)";
+    private static final String RELEASED_FROM = "t.releaseDate >= :releasedFrom";
+    private static final String RELEASED_TO = "t.releaseDate <= :releasedTo";
+    // Leaves out the undated tracks, a comparison with null being unknown
+    private static final String AFTER_CURSOR = "(t.releaseDate, t.id) > (:releaseDate, :id)";
+    private static final String UNDATED = "t.releaseDate IS NULL";
+    private static final String UNDATED_AFTER_CURSOR = "t.releaseDate IS NULL AND t.id > :id";
+    private static final String RELEASE_ORDER = " ORDER BY t.releaseDate ASC NULLS LAST, t.id ASC";
+    private static final String ID_ORDER = " ORDER BY t.id ASC";
+    private static final Comparator<TrackView> RELEASE_ORDER_COMPARATOR = Comparator
+            .comparing(TrackView::releaseDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TrackView::id);
+    private static final Set<TrackField> ALL_FIELDS = EnumSet.allOf(TrackField.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TrackView> findViewsByArtistId(UUID artistId, Set<TrackField> fields, Pageable pageable) {
+        var tracks = query(fields, List.of(ARTIST), RELEASE_ORDER)
+                .setParameter("artistId", artistId)
+                .setFirstResult((int) pageable.getOffset())
+                // Fetch one extra row to learn whether a next page exists without counting
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        return toSlice(tracks.stream().map(tuple -> toTrackView(tuple, fields)).toList(), pageable);
+    }
+
+    @Override
+    public Slice<TrackView> findViewsByArtistIdAfter(UUID artistId, TrackCursor cursor, Set<TrackField> fields, int size) {
+        return findViews(new TrackFilter(artistId, null, null, false, null, null), cursor, fields, size);
+    }
+
+    @Override
+    public Slice<TrackView> findViews(TrackFilter filter, TrackCursor cursor, int size) {
+        return findViews(filter, cursor, ALL_FIELDS, size);
+    }
+
+    private Slice<TrackView> findViews(TrackFilter filter, TrackCursor cursor, Set<TrackField> fields, int size) {
+        List<TrackView> tracks;
+        // Only a catalogued genre has sub-genres
+        var subGenres = filter.subGenres() && filter.genreId() != null;
+        if (filter.genreId() != null && filter.genreName() != null) {
+            // A genre is either referenced or carried as free text, an OR over both columns would rule out
+            // seeking either index in release order, so each one is sought on its own and the two merged
+            tracks = Stream.concat(
+                            seek(filter, subGenres ? GENRE_TREE_ID : GENRE_ID, cursor, fields, size).stream(),
+                            seek(filter, subGenres ? GENRE_TREE_NAME : GENRE_NAME, cursor, fields, size).stream())
+                    .sorted(RELEASE_ORDER_COMPARATOR)
+                    .distinct()
+                    .limit(size + 1)
+                    .toList();
+        } else {
+            var genre = subGenres ? GENRE_TREE_ID :
+                    filter.genreId() != null ? GENRE_ID :
+                    filter.genreName() != null ? GENRE_NAME : null;
+            tracks = seek(filter, genre, cursor, fields, size);
+        }
+        return toSlice(tracks, PageRequest.ofSize(size));
+    }
+
+    // Fetches one extra row to learn whether a next page exists without counting
+    private List<TrackView> seek(TrackFilter filter, String genre, TrackCursor cursor, Set<TrackField> fields, int size) {
+        if (cursor == null) {
+            return seek(filter, genre, null, null, fields, size + 1);
+        }
+        if (cursor.releaseDate() == null) {
+            return seek(filter, genre, UNDATED_AFTER_CURSOR, cursor, fields, size + 1);
+        }
+        // An OR reaching the undated tracks too would rule out seeking the index from the cursor
+        var dated = seek(filter, genre, AFTER_CURSOR, cursor, fields, size + 1);
+        var datesFiltered = filter.releasedFrom() != null || filter.releasedTo() != null;
+        if (dated.size() > size || datesFiltered) {
+            return dated;
+        }
+        return Stream.concat(dated.stream(),
+                        seek(filter, genre, UNDATED, null, fields, size + 1 - dated.size()).stream())
+                .toList();
+    }
+
+    // Fetches up to the given number of tracks past the cursor predicate, if any
+    private List<TrackView> seek(TrackFilter filter, String genre, String after, TrackCursor cursor,
+                                 Set<TrackField> fields, int limit) {
+        var predicates = new ArrayList<String>();
+        if (filter.artistId() != null) {
+            predicates.add(ARTIST);
+        }
+        if (genre != null) {
+            predicates.add(genre);
+        }
+        if (filter.releasedFrom() != null) {
+            predicates.add(RELEASED_FROM);
+        }
+        if (filter.releasedTo() != null) {
+            predicates.add(RELEASED_TO);
+        }
+        if (after != null) {
+            predicates.add(after);
+        }
+        // Undated tracks all sort last, by id alone
+        var undated = UNDATED.equals(after) || UNDATED_AFTER_CURSOR.equals(after);
+        var query = query(fields, predicates, undated ? ID_ORDER : RELEASE_ORDER);
+        if (filter.artistId() != null) {
+            query.setParameter("artistId", filter.artistId());
+        }
+        if (GENRE_ID.equals(genre) || GENRE_TREE_ID.equals(genre) || GENRE_TREE_NAME.equals(genre)) {
+            query.setParameter("genreId", filter.genreId());
+        } else if (GENRE_NAME.equals(genre)) {
+            query.setParameter("genreName", filter.genreName());
+        }
+        if (filter.releasedFrom() != null) {
+            query.setParameter("releasedFrom", filter.releasedFrom());
+        }
+        if (filter.releasedTo() != null) {
+            query.setParameter("releasedTo", filter.releasedTo());
+        }
+        if (AFTER_CURSOR.equals(after)) {
+            query.setParameter("releaseDate", cursor.releaseDate());
+        }
+        if (AFTER_CURSOR.equals(after) || UNDATED_AFTER_CURSOR.equals(after)) {
+            query.setParameter("id", cursor.id());
+        }
+        return query.setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> toTrackView(tuple, fields))
+                .toList();
+    }
+
+    private TypedQuery<Tuple> query(Set<TrackField> fields, List<String> predicates, String order) {
+        var jpql = new StringBuilder("SELECT t.id AS id, t.releaseDate AS releaseDate");
+        for (var field : fields) {
+            if (field != TrackField.RELEASE_DATE) {
+                jpql.append(", ").append(field.expression()).append(" AS ").append(field.fieldName());
+            }
+        }
+        jpql.append(" FROM Track t");
+        if (fields.contains(TrackField.GENRE)) {
+            jpql.append(" LEFT JOIN t.genre g");
+        }
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        return entityManager.createQuery(jpql.append(order).toString(), Tuple.class);
+    }
+
+    private static Slice<TrackView> toSlice(List<TrackView> tracks, Pageable pageable) {
+        var hasNext = tracks.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? tracks.subList(0, pageable.getPageSize()) : tracks, pageable, hasNext);
+    }
+
+    private static TrackView toTrackView(Tuple tuple, Set<TrackField> fields) {
+        return new TrackView(
+                tuple.get("id", Long.class),
+                get(tuple, fields, TrackField.TRACK_ID, UUID.class),
+                get(tuple, fields, TrackField.TITLE, String.class),
+                get(tuple, fields, TrackField.DURATION_IN_SECONDS, Integer.class),
+                get(tuple, fields, TrackField.GENRE, String.class),
+                tuple.get("releaseDate", LocalDate.class));
+    }
+
+    private static <T> T get(Tuple tuple, Set<TrackField> fields, TrackField field, Class<T> type) {
+        return fields.contains(field) ? tuple.get(field.fieldName(), type) : null;
+    }
+}
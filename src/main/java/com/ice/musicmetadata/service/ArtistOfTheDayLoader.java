@@ -0,0 +1,35 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.repository.FeaturedScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Loads the artist of the day into the featured artist cache from today's row of the schedule. Caffeine calls it
+ * to refresh the cached artist in the background once {@code refreshAfterWrite} has passed, readers being served
+ * the cached artist meanwhile, which bounds how long a node can miss a rotation or a rename it was not told about.
+ * A day that is not planned loads nothing, which removes the entry.
+ * <p>
+ * It is not a {@code CacheLoader} bean, which Spring Boot would hand to every cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArtistOfTheDayLoader {
+    public static final String ARTIST_OF_THE_DAY_CACHE_NAME = "featured-artist";
+
+    private final FeaturedScheduleRepository featuredScheduleRepository;
+    private final Clock clock;
+
+    /**
+     * Loads today's artist of the day.
+     *
+     * @return The artist scheduled for today, with its aliases, or null if today is not planned.
+     */
+    public Artist load() {
+        return featuredScheduleRepository.findArtistByFeatureDate(LocalDate.now(clock)).orElse(null);
+    }
+}
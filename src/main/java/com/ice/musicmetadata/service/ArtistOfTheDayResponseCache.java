@@ -0,0 +1,174 @@
+package com.ice.musicmetadata.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.mapper.ArtistMapper;
+import com.ice.musicmetadata.model.ArtistResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds the artist of the day response as ready-made JSON bytes and their gzip and Brotli encodings, so the hottest
+ * endpoint writes the same bytes to every caller instead of mapping, serializing and compressing the artist per
+ * request. Brotli is left out on platforms brotli4j has no native library for.
+ * <p>
+ * The bytes are tied to the cached artist instance they were encoded from: the rotation encodes the new artist
+ * once it commits, before swapping it into the featured artist cache, and any other artist found in the featured
+ * artist cache, after a restart or an eviction, is encoded on its first request. Two requests racing on that first
+ * one may both encode it, which is harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArtistOfTheDayResponseCache {
+    private static final boolean BROTLI_AVAILABLE = loadBrotli();
+    private static final String GZIP = "gzip";
+    private static final String BROTLI = "br";
+
+    private final ArtistMapper artistMapper;
+    private final ObjectMapper objectMapper;
+    private volatile EncodedResponse current;
+
+    /**
+     * The artist of the day response, encoded.
+     *
+     * @param artist     The artist the response was encoded from.
+     * @param response   The response the JSON was serialized from, which the controller returns in its place.
+     * @param eTag       The strong entity tag of the JSON.
+     * @param gzipETag   The strong entity tag of the gzip encoding, which is a different representation.
+     * @param brotliETag The strong entity tag of the Brotli encoding, or null without Brotli.
+     * @param json       The response as JSON.
+     * @param gzip       The JSON compressed with gzip.
+     * @param brotli     The JSON compressed with Brotli, or null without Brotli.
+     */
+    public record EncodedResponse(Artist artist, ArtistResponse response, String eTag, String gzipETag,
+                                  String brotliETag, byte[] json, byte[] gzip, byte[] brotli) {
+
+        /**
+         * Retrieves the entity tag of the response in a content coding.
+         *
+         * @param coding {@code br}, {@code gzip}, or null for none.
+         * @return The entity tag.
+         */
+        public String eTag(String coding) {
+            return coding == null ? eTag : coding.equals(BROTLI) ? brotliETag : gzipETag;
+        }
+
+        /**
+         * Retrieves the bytes of the response in a content coding.
+         *
+         * @param coding {@code br}, {@code gzip}, or null for none.
+         * @return The bytes.
+         * @throws IllegalArgumentException if the coding is neither.
+         */
+        public byte[] body(String coding) throws IllegalArgumentException {
+            if (coding == null) {
+                return json;
+            }
+            return switch (coding) {
+                case BROTLI -> brotli;
+                case GZIP -> gzip;
+                default -> throw new IllegalArgumentException("Unsupported content coding " + coding);
+            };
+        }
+    }
+
+    /**
+     * Retrieves the encoded response of an artist, encoding it unless it is the artist last encoded.
+     *
+     * @param artist The artist of the day, as cached.
+     * @return The encoded response.
+     */
+    public EncodedResponse get(Artist artist) {
+        var encoded = current;
+        if (encoded == null || encoded.artist() != artist) {
+            encoded = encode(artist);
+            current = encoded;
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes the response of a new artist of the day ahead of its first request.
+     * Inside a transaction the encoding waits for the commit, which also brings the version in the entity tag
+     * up to date.
+     *
+     * @param artist The new artist of the day, as cached.
+     */
+    public void prepare(Artist artist) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    get(artist);
+                }
+            });
+        } else {
+            get(artist);
+        }
+    }
+
+    /**
+     * Encodes the response of an artist, without holding on to it.
+     *
+     * @param artist The artist.
+     * @return The encoded response.
+     */
+    EncodedResponse encode(Artist artist) {
+        try {
+            var response = artistMapper.mapToArtistResponse(artist);
+            var json = objectMapper.writeValueAsBytes(response);
+            var tag = artist.getArtistId() + "-" + artist.getVersion();
+            var brotli = BROTLI_AVAILABLE ? brotli(json) : null;
+            return new EncodedResponse(artist, response, "\"" + tag + "\"", "\"" + tag + "-gzip\"",
+                    BROTLI_AVAILABLE ? "\"" + tag + "-br\"" : null, json, gzip(json), brotli);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Compressed once per artist, so the smallest output is worth the slowest level
+    static byte[] gzip(byte[] bytes) {
+        var compressed = new ByteArrayOutputStream(bytes.length);
+        try (var gzip = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    // Compressed once per artist too, at the highest quality
+    static byte[] brotli(byte[] bytes) {
+        try {
+            return Encoder.compress(bytes, new Encoder.Parameters().setQuality(11));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean loadBrotli() {
+        if (!Brotli4jLoader.isAvailable()) {
+            log.warn("Brotli is not available on this platform, the artist of the day is compressed with gzip only",
+                    Brotli4jLoader.getUnavailabilityCause());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,356 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.ArtistMatch;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory search index over artist names and aliases, answering autocomplete and typo-tolerant lookups
+ * without touching the database.
+ * <p>
+ * Every name and alias is normalized (accents folded, case and punctuation dropped) and indexed twice. A sorted map
+ * holds it under the whole name and under each of its word suffixes, so a prefix of any word is a range scan.
+ * A hash map holds each of its words under the word itself and under every spelling with one letter deleted,
+ * so a query word one typo away from an indexed word shares one of those spellings with it: the deletion
+ * neighbourhood lookup of SymSpell, which costs a few hash lookups per query word however many names are indexed.
+ * <p>
+ * Reads are lock-free. Writes are serialized since names change rarely, and only ever append: a renamed artist
+ * leaves its old terms behind as tombstones, which searches skip without counting them against their budgets. Once
+ * tombstones outnumber the live terms, the live terms are copied into a fresh index swapped in for the old one, so
+ * however often artists are renamed the index stays within twice its live size.
+ */
+@Component
+public class ArtistSearchIndex {
+    // Shorter words are too close to each other for a typo to tell them apart, they must be typed right
+    static final int MIN_FUZZY_LENGTH = 4;
+    // Prefix matches read per result requested, the rest of a vague prefix is left to more typing
+    static final int PREFIX_SCAN_FACTOR = 4;
+    // Candidates checked for typos per query, bounding the work of the vaguest queries
+    static final int MAX_TYPO_CANDIDATES = 500;
+    private static final double EXACT_SCORE = 1.0;
+    private static final double PREFIX_SCORE = 0.9;
+    private static final double WORD_PREFIX_SCORE = 0.8;
+    private static final double TYPO_PENALTY = 0.1;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Postings EMPTY = new Postings();
+
+    private volatile Index index = new Index();
+
+    /**
+     * A searchable name or alias of an artist.
+     *
+     * @param artistId The ID of the artist.
+     * @param name     The name of the artist.
+     * @param text     The name or alias as written.
+     * @param key      The normalized name or alias.
+     */
+    private record Term(UUID artistId, String name, String text, String key) {
+    }
+
+    /**
+     * Indexes an artist under its name and aliases, replacing whatever it was indexed under before.
+     * Inside a transaction the index is updated after the commit, so a rollback leaves it untouched.
+     *
+     * @param artistId The ID of the artist.
+     * @param name     The name of the artist.
+     * @param aliases  The aliases of the artist.
+     */
+    public void put(UUID artistId, String name, Collection<String> aliases) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putNow(artistId, name, aliases);
+                }
+            });
+        } else {
+            putNow(artistId, name, aliases);
+        }
+    }
+
+    /**
+     * Looks artists up by a prefix of any word of their name or aliases, then, when too few match, by words
+     * at most one typo away. Each artist is returned once, under its best matching name or alias.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of artists to return.
+     * @return The matching artists, best match first.
+     */
+    public List<ArtistMatch> search(String query, int limit) {
+        var key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        var index = this.index;
+        var matches = new HashMap<UUID, ArtistMatch>();
+        index.matchPrefix(key, limit * PREFIX_SCAN_FACTOR, matches);
+        if (matches.size() < limit) {
+            index.matchTypos(key, matches);
+        }
+        return matches.values().stream()
+                .sorted(Comparator.comparingDouble(ArtistMatch::score).reversed()
+                        .thenComparing(ArtistMatch::name)
+                        .thenComparing(ArtistMatch::artistId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * @return The number of artists indexed.
+     */
+    public int size() {
+        return index.termIdsByArtist.size();
+    }
+
+    /**
+     * @return The number of terms indexed, counting the tombstones not compacted yet.
+     */
+    int termCount() {
+        return index.termCount;
+    }
+
+    /**
+     * @return The number of prefix and spelling keys indexed, counting those left to tombstones only.
+     */
+    int keyCount() {
+        var index = this.index;
+        return index.prefixes.size() + index.spellings.size();
+    }
+
+    private synchronized void putNow(UUID artistId, String name, Collection<String> aliases) {
+        var index = this.index;
+        var previous = index.termIdsByArtist.get(artistId);
+        if (previous != null) {
+            for (var id : previous) {
+                index.terms[id] = null;
+            }
+            index.tombstones += previous.length;
+        }
+        // The name wins over an alias normalizing to the same key
+        var texts = new LinkedHashMap<String, String>();
+        Stream.concat(Stream.of(name), aliases.stream())
+                .filter(Objects::nonNull)
+                .forEach(text -> texts.putIfAbsent(normalize(text), text));
+        texts.remove("");
+        var ids = texts.entrySet().stream()
+                .mapToInt(text -> index.add(new Term(artistId, name, text.getValue(), text.getKey())))
+                .toArray();
+        index.termIdsByArtist.put(artistId, ids);
+        if (index.tombstones > index.termCount - index.tombstones) {
+            this.index = index.compact();
+        }
+    }
+
+    /**
+     * One generation of the index. The single writer appends to it, until it compacts it into the next one.
+     */
+    private static final class Index {
+        private final ConcurrentSkipListMap<String, Postings> prefixes = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<String, Postings> spellings = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<UUID, int[]> termIdsByArtist = new ConcurrentHashMap<>();
+        private volatile Term[] terms = new Term[1024];
+        private volatile int termCount;
+        private int tombstones;
+
+        private int add(Term term) {
+            var id = termCount;
+            var array = terms;
+            if (id == array.length) {
+                array = Arrays.copyOf(array, id * 2);
+            }
+            array[id] = term;
+            terms = array;
+            termCount = id + 1;
+            // Ids only grow, so appending keeps every posting list sorted
+            var key = term.key();
+            prefixes.computeIfAbsent(key, k -> new Postings()).add(id);
+            for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+                prefixes.computeIfAbsent(key.substring(i + 1), k -> new Postings()).add(id);
+            }
+            var words = new HashSet<String>();
+            for (var word : key.split(" ")) {
+                words.addAll(spellingsOf(word));
+            }
+            words.forEach(spelling -> spellings.computeIfAbsent(spelling, k -> new Postings()).add(id));
+            return id;
+        }
+
+        // Copies the live terms into a new generation, leaving this one intact for the searches still reading it
+        private Index compact() {
+            var compacted = new Index();
+            termIdsByArtist.forEach((artistId, ids) -> compacted.termIdsByArtist.put(artistId, Arrays.stream(ids)
+                    .map(id -> compacted.add(terms[id]))
+                    .toArray()));
+            return compacted;
+        }
+
+        private void matchPrefix(String key, int maxScan, Map<UUID, ArtistMatch> matches) {
+            var scanned = 0;
+            // Keys sort right after their prefix, so the exact match comes first and the scan stops at the last key
+            // starting with the query
+            for (var entry : prefixes.subMap(key, true, key + Character.MAX_VALUE, false).entrySet()) {
+                var postings = entry.getValue();
+                var size = postings.size();
+                var ids = postings.ids;
+                // Terms are published before their postings, so every id read above is in the term array read now
+                var snapshot = terms;
+                for (int i = 0; i < size && scanned < maxScan; i++) {
+                    var term = snapshot[ids[i]];
+                    if (term != null) {
+                        keepBest(matches, term, !term.key().startsWith(key) ? WORD_PREFIX_SCORE :
+                                term.key().length() == key.length() ? EXACT_SCORE :
+                                        PREFIX_SCORE);
+                        scanned++;
+                    }
+                }
+                if (scanned >= maxScan) {
+                    return;
+                }
+            }
+        }
+
+        private void matchTypos(String key, Map<UUID, ArtistMatch> matches) {
+            var words = key.split(" ");
+            // Drive the lookup by the query word with the fewest candidates, and check the other words on each
+            // candidate
+            List<Postings> driver = null;
+            var driverSize = Integer.MAX_VALUE;
+            for (var word : words) {
+                if (word.length() < MIN_FUZZY_LENGTH) {
+                    continue;
+                }
+                var postings = spellingsOf(word).stream()
+                        .map(spelling -> spellings.getOrDefault(spelling, EMPTY))
+                        .toList();
+                var size = postings.stream().mapToInt(Postings::size).sum();
+                if (size < driverSize) {
+                    driver = postings;
+                    driverSize = size;
+                }
+            }
+            if (driver == null) {
+                return;
+            }
+            var candidates = new HashMap<Integer, Term>();
+            for (var postings : driver) {
+                var size = postings.size();
+                var ids = postings.ids;
+                var snapshot = terms;
+                for (int i = 0; i < size && candidates.size() < MAX_TYPO_CANDIDATES; i++) {
+                    var term = snapshot[ids[i]];
+                    if (term != null) {
+                        candidates.put(ids[i], term);
+                    }
+                }
+            }
+            for (var term : candidates.values()) {
+                var typos = typos(words, term.key().split(" "));
+                if (typos >= 0) {
+                    // A match with typos never outranks a prefix match
+                    keepBest(matches, term, WORD_PREFIX_SCORE - TYPO_PENALTY * Math.max(typos, 1));
+                }
+            }
+        }
+    }
+
+    // Counts the query words matched only with a typo, or -1 if a query word matches no word of the term.
+    // The last query word may still be being typed, so a prefix of a term word matches it too.
+    private static int typos(String[] query, String[] term) {
+        var typos = 0;
+        for (int q = 0; q < query.length; q++) {
+            var last = q == query.length - 1;
+            var exact = false;
+            var close = false;
+            for (var word : term) {
+                if (word.equals(query[q]) || last && word.startsWith(query[q])) {
+                    exact = true;
+                    break;
+                }
+                close |= query[q].length() >= MIN_FUZZY_LENGTH && isOneEditAway(query[q], word);
+            }
+            if (!exact && !close) {
+                return -1;
+            }
+            typos += exact ? 0 : 1;
+        }
+        return typos;
+    }
+
+    // Whether one substitution, insertion, deletion or swap of adjacent letters turns one word into the other
+    private static boolean isOneEditAway(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        var start = 0;
+        while (start < a.length() && start < b.length() && a.charAt(start) == b.charAt(start)) {
+            start++;
+        }
+        var endA = a.length();
+        var endB = b.length();
+        while (endA > start && endB > start && a.charAt(endA - 1) == b.charAt(endB - 1)) {
+            endA--;
+            endB--;
+        }
+        var diffA = endA - start;
+        var diffB = endB - start;
+        return diffA <= 1 && diffB <= 1 ||
+               diffA == 2 && diffB == 2 && a.charAt(start) == b.charAt(start + 1) && a.charAt(start + 1) == b.charAt(start);
+    }
+
+    private static void keepBest(Map<UUID, ArtistMatch> matches, Term term, double score) {
+        matches.merge(term.artistId(), new ArtistMatch(term.artistId(), term.name(), term.text(), score),
+                (current, candidate) -> candidate.score() > current.score() ? candidate : current);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        var folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    // A word and, when long enough to tolerate a typo, every spelling of it with one letter deleted
+    private static Set<String> spellingsOf(String word) {
+        var spellings = new HashSet<String>();
+        spellings.add(word);
+        if (word.length() >= MIN_FUZZY_LENGTH) {
+            for (int i = 0; i < word.length(); i++) {
+                spellings.add(word.substring(0, i) + word.substring(i + 1));
+            }
+        }
+        return spellings;
+    }
+
+    /**
+     * Sorted, append-only list of term ids. The single writer fills the array slot before publishing the new
+     * size, and readers read the size before the array, so they never see an id that is not there yet.
+     */
+    private static final class Postings {
+        private volatile int[] ids = new int[1];
+        private volatile int size;
+
+        void add(int id) {
+            var array = ids;
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            array[size] = id;
+            ids = array;
+            size = size + 1;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
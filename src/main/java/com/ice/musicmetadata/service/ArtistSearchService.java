@@ -0,0 +1,93 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.ArtistName;
+import com.ice.musicmetadata.mapper.ArtistMapper;
+import com.ice.musicmetadata.model.ArtistSearchResponse;
+import com.ice.musicmetadata.repository.ArtistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArtistSearchService {
+    private final ArtistRepository artistRepository;
+    private final ArtistSearchIndex artistSearchIndex;
+    private final ArtistMapper artistMapper;
+
+    /**
+     * Builds the artist search index from the database once the application is up, streaming every artist name
+     * and alias rather than loading the artists. Later changes reach the index through the write paths, and those of
+     * other nodes through {@link #onCacheInvalidation(CacheInvalidation)}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        var start = System.nanoTime();
+        try (var names = artistRepository.streamAllNames()) {
+            // Rows come ordered by artist, one per alias, so an artist is complete when the next one starts
+            var artist = new ArrayList<ArtistName>();
+            names.forEach(name -> {
+                if (!artist.isEmpty() && !artist.getFirst().id().equals(name.id())) {
+                    index(artist);
+                    artist.clear();
+                }
+                artist.add(name);
+            });
+            if (!artist.isEmpty()) {
+                index(artist);
+            }
+        }
+        log.info("Artist search index built with {} artists in {} ms",
+                artistSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reindexes the artists whose name or aliases another node changed, reading them back from the database.
+     *
+     * @param invalidation The invalidation received from the other node.
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.artists().isEmpty()) {
+            return;
+        }
+        artistRepository.findAllNamesByArtistIdIn(invalidation.artists()).stream()
+                .collect(Collectors.groupingBy(ArtistName::id, LinkedHashMap::new, Collectors.toList()))
+                .values()
+                .forEach(this::index);
+    }
+
+    /**
+     * Searches artists by a prefix of any word of their name or aliases, tolerating typos when too few match.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of artists to return.
+     * @return The matching artists, best match first.
+     * @throws IllegalArgumentException if the query is blank.
+     */
+    public ArtistSearchResponse searchArtists(String query, Integer limit) throws IllegalArgumentException {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be null or empty");
+        }
+        return new ArtistSearchResponse().data(artistSearchIndex.search(query, limit).stream()
+                .map(artistMapper::mapToArtistSearchResult)
+                .toList());
+    }
+
+    private void index(List<ArtistName> rows) {
+        var first = rows.getFirst();
+        artistSearchIndex.put(first.artistId(), first.name(), rows.stream()
+                .map(ArtistName::alias)
+                .toList());
+    }
+}
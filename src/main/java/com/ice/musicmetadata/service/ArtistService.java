@@ -1,86 +1,341 @@
 package com.ice.musicmetadata.service;
 
 import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.ArtistField;
 import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackField;
+import com.ice.musicmetadata.domain.TrackListingVersion;
+import com.ice.musicmetadata.domain.TrackView;
 import com.ice.musicmetadata.exception.NoEligibleArtistsException;
 import com.ice.musicmetadata.mapper.ArtistMapper;
 import com.ice.musicmetadata.mapper.TrackMapper;
 import com.ice.musicmetadata.model.*;
 import com.ice.musicmetadata.repository.ArtistRepository;
-import com.ice.musicmetadata.repository.GenreRepository;
 import com.ice.musicmetadata.repository.TrackRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ArtistService {
+    private static final String TRACK_TITLE_CONSTRAINT = "uk_tracks_artist_id_title";
+    private static final String ARTIST_NAME_CONSTRAINT = "uk_artists_name_key";
+
     private final ArtistRepository artistRepository;
     private final TrackRepository trackRepository;
-    private final GenreRepository genreRepository;
+    private final GenreRegistry genreRegistry;
     private final TrackMapper trackMapper;
     private final ArtistMapper artistMapper;
     private final FeaturedArtistService featuredArtistService;
+    private final ArtistTracksCache artistTracksCache;
+    private final ArtistSearchIndex artistSearchIndex;
+    private final ArtistOfTheDayResponseCache artistOfTheDayResponseCache;
+    private final ZonedArtistOfTheDaySnapshot zonedArtistOfTheDaySnapshot;
+    private final CacheInvalidator cacheInvalidator;
 
     /**
      * Retrieves the artist of the day.
+     * The featured artist is served from its cache, so a sparse fieldset only leaves the unrequested
+     * fields out of the response, and the aliases are not mapped unless requested.
      *
+     * @param fields The artist fields to return, or null for every field.
      * @return The artist of the day response.
      * @throws NoEligibleArtistsException if no artist of the day is found.
+     * @throws IllegalArgumentException   if a field is unknown.
      */
-    public ArtistResponse getArtistOfTheDay() throws NoEligibleArtistsException {
+    public ArtistResponse getArtistOfTheDay(List<String> fields) throws NoEligibleArtistsException {
+        var artistFields = ArtistField.of(fields);
         var artist = featuredArtistService.getArtistOfTheDay();
         if (artist == null) {
             throw new NoEligibleArtistsException("No artist of the day found");
         }
-        return artistMapper.mapToArtistResponse(artist);
+        return mapToArtistOfTheDayResponse(artist, artistFields);
+    }
+
+    /**
+     * Retrieves the artist of the day of a time zone, with a sparse fieldset, from the zoned snapshot.
+     *
+     * @param fields The artist fields to return, or null for every field.
+     * @param zone   The time zone, a region or an offset.
+     * @return The artist of the day response.
+     * @throws NoEligibleArtistsException if the zone's date is not planned.
+     * @throws IllegalArgumentException   if a field or the zone is unknown.
+     */
+    public ArtistResponse getArtistOfTheDay(List<String> fields, String zone) throws NoEligibleArtistsException {
+        var artistFields = ArtistField.of(fields);
+        return mapToArtistOfTheDayResponse(getEncodedArtistOfTheDay(zone).artist(), artistFields);
+    }
+
+    /**
+     * Retrieves the whole artist of the day response of a time zone, encoded ahead for the zone's date, with no
+     * database access.
+     *
+     * @param zone The time zone, a region such as {@code Asia/Tokyo} or an offset such as {@code +09:00}.
+     * @return The encoded artist of the day response.
+     * @throws NoEligibleArtistsException if the zone's date is not planned.
+     * @throws IllegalArgumentException   if the zone is unknown.
+     */
+    public ArtistOfTheDayResponseCache.EncodedResponse getEncodedArtistOfTheDay(String zone)
+            throws NoEligibleArtistsException {
+        return zonedArtistOfTheDaySnapshot.get(parseZone(zone))
+                .orElseThrow(() -> new NoEligibleArtistsException("No artist of the day found"));
+    }
+
+    private ArtistResponse mapToArtistOfTheDayResponse(Artist artist, Set<ArtistField> artistFields) {
+        if (artistFields.size() == ArtistField.values().length) {
+            return artistMapper.mapToArtistResponse(artist);
+        }
+        var artistResponse = new ArtistResponse();
+        if (artistFields.contains(ArtistField.ARTIST_ID)) {
+            artistResponse.setArtistId(artist.getArtistId());
+        }
+        if (artistFields.contains(ArtistField.NAME)) {
+            artistResponse.setName(artist.getName());
+        }
+        if (artistFields.contains(ArtistField.BIO)) {
+            artistResponse.setBio(artist.getBio());
+        }
+        artistResponse.setAliases(artistFields.contains(ArtistField.ALIASES) ?
+                artist.getAliases().stream().map(artistMapper::mapToArtistAliasName).toList() :
+                null);
+        return artistResponse;
     }
 
     /**
-     * Retrieves a paginated list of tracks for a given artist.
+     * Retrieves the whole artist of the day response as ready-made JSON and gzip bytes, encoded once per featured
+     * artist rather than per request.
      *
-     * @param artistId The ID of the artist to retrieve tracks for.
-     * @param page     The page number to retrieve.
-     * @param size     The number of tracks per page.
+     * @return The encoded artist of the day response.
+     * @throws NoEligibleArtistsException if no artist of the day is found.
+     */
+    public ArtistOfTheDayResponseCache.EncodedResponse getEncodedArtistOfTheDay() throws NoEligibleArtistsException {
+        var artist = featuredArtistService.getArtistOfTheDay();
+        if (artist == null) {
+            throw new NoEligibleArtistsException("No artist of the day found");
+        }
+        return artistOfTheDayResponseCache.get(artist);
+    }
+
+    /**
+     * Retrieves the artists featured on each day of a date range, past or upcoming, as far as the schedule is planned.
+     *
+     * @param from The first date, inclusive.
+     * @param to   The last date, inclusive.
+     * @return The featured artists, in date order.
+     * @throws IllegalArgumentException if a date is missing, or the range is reversed or longer than a year.
+     */
+    public FeaturedArtistScheduleResponse getFeaturedArtists(LocalDate from, LocalDate to) throws IllegalArgumentException {
+        validateFeaturedDateRange(from, to);
+        return new FeaturedArtistScheduleResponse().data(featuredArtistService.getSchedule(from, to).stream()
+                .map(artistMapper::mapToFeaturedArtistResponse)
+                .toList());
+    }
+
+    /**
+     * Retrieves the artists rotated in on each day of a date range, from the featured history.
+     * A range wholly in the past never changes, so it is cached for good once read, by a single read however many
+     * requests miss it at once.
+     *
+     * @param from The first date, inclusive.
+     * @param to   The last date, inclusive.
+     * @return The featured artists, in date order.
+     * @throws IllegalArgumentException if a date is missing, or the range is reversed or longer than a year.
+     */
+    @Cacheable(cacheNames = FeaturedArtistService.FEATURED_HISTORY_CACHE_NAME, key = "{#from, #to}", sync = true,
+            condition = "#to != null && @featuredArtistService.isHistoryFinal(#to)")
+    public FeaturedArtistScheduleResponse getFeaturedHistory(LocalDate from, LocalDate to) throws IllegalArgumentException {
+        validateFeaturedDateRange(from, to);
+        return new FeaturedArtistScheduleResponse().data(featuredArtistService.getHistory(from, to).stream()
+                .map(artistMapper::mapToFeaturedArtistResponse)
+                .toList());
+    }
+
+    /**
+     * Tells whether the featured history up to a date is final, so its response can be stored by shared caches.
+     * The artists of a final day never change, but their names and aliases do, so it is still revalidated.
+     *
+     * @param to The last date of the range.
+     * @return True if the date has passed.
+     */
+    public boolean isFeaturedHistoryFinal(LocalDate to) {
+        return featuredArtistService.isHistoryFinal(to);
+    }
+
+    /**
+     * Computes the entity tag of the artist of the day from the cached featured artist, so revalidating
+     * it costs no database access.
+     *
+     * @return The strong entity tag, or null if there is no artist of the day.
+     */
+    public String getArtistOfTheDayETag() {
+        var artist = featuredArtistService.getArtistOfTheDay();
+        return artist == null ? null : "\"" + artist.getArtistId() + "-" + artist.getVersion() + "\"";
+    }
+
+    /**
+     * Computes the entity tag of an artist's track listing from the artist version and the listing version the
+     * track write paths bump, both read from the artist row. It is cached with the artist's track pages and evicted
+     * with them, so revalidating a cached listing costs no database access.
+     *
+     * @param artistId The ID of the artist.
+     * @return The strong entity tag.
+     * @throws EntityNotFoundException if the artist is not found.
+     */
+    @Cacheable(cacheNames = ArtistTracksCache.ARTIST_TRACKS_CACHE_NAME, sync = true,
+            key = "new com.ice.musicmetadata.service.ArtistTracksCache.ETagKey(#artistId)")
+    public String getArtistTracksETag(UUID artistId) throws EntityNotFoundException {
+        return artistRepository.findTrackListingVersion(artistId)
+                .map(TrackListingVersion::toETag)
+                .orElseThrow(() -> new EntityNotFoundException("Artist not found"));
+    }
+
+    /**
+     * Retrieves a paginated list of tracks for a given artist, ordered by release date then id.
+     * When a cursor is given the page is read by seeking past it instead of by offset, so it costs
+     * the same however deep it is. Totals come from the artist's maintained track counter rather
+     * than a count query over the tracks. Rows are read as {@link TrackView} projections selecting
+     * only the requested fields, with the genre joined in the same query when it is requested, so
+     * no entity is hydrated and no genre is lazily loaded.
+     * Pages are cached per artist until a track of that artist is added or the artist is renamed, and
+     * concurrent requests missing the same page wait for a single read of it.
+     *
+     * @param artistId      The ID of the artist to retrieve tracks for.
+     * @param page          The page number to retrieve, ignored when {@code after} is given.
+     * @param size          The number of tracks per page.
+     * @param after         The opaque cursor of the previous page, or null to page by offset.
+     * @param includeTotals Whether to fill the total items and pages, defaults to true.
+     * @param fields        The track fields to return, or null for every field.
      * @return A paginated response containing the tracks for the artist.
+     * @throws EntityNotFoundException  if the artist is not found.
+     * @throws IllegalArgumentException if the cursor is malformed or a field is unknown.
+     */
+    @Cacheable(cacheNames = ArtistTracksCache.ARTIST_TRACKS_CACHE_NAME, sync = true,
+            key = "T(com.ice.musicmetadata.service.ArtistTracksCache.Key).of(#artistId, #page, #size, #after, #includeTotals, #fields)")
+    public TrackPageResponse getArtistTracks(UUID artistId, Integer page, Integer size, String after, Boolean includeTotals,
+                                             List<String> fields) {
+        var cursor = after == null ? null : TrackCursor.decode(after);
+        var trackFields = TrackField.of(fields);
+        var trackCount = getArtistTrackCount(artistId);
+        var trackPageResponse = cursor == null ?
+                trackMapper.mapToTrackSliceResponse(trackRepository.findViewsByArtistId(artistId, trackFields, PageRequest.of(page, size))) :
+                trackMapper.mapToTrackCursorPageResponse(trackRepository.findViewsByArtistIdAfter(artistId, cursor, trackFields, size));
+        if (!trackFields.contains(TrackField.RELEASE_DATE)) {
+            // Selected anyway for the next cursor
+            trackPageResponse.getData().forEach(track -> track.setReleaseDate(null));
+        }
+        if (!Boolean.FALSE.equals(includeTotals)) {
+            trackPageResponse.totalItems(trackCount)
+                    .totalPages(Math.ceilDiv(trackCount, size));
+        }
+        return trackPageResponse;
+    }
+
+    /**
+     * Retrieves the number of tracks of an artist from its maintained track counter.
+     *
+     * @param artistId The ID of the artist.
+     * @return The number of tracks of the artist.
      * @throws EntityNotFoundException if the artist is not found.
      */
-    public TrackPageResponse getArtistTracks(UUID artistId, Integer page, Integer size) {
-        if (!artistRepository.existsByArtistId(artistId)) {
-            throw new EntityNotFoundException("Artist not found");
+    public int getArtistTrackCount(UUID artistId) throws EntityNotFoundException {
+        return artistRepository.findTrackCountByArtistId(artistId)
+                .orElseThrow(() -> new EntityNotFoundException("Artist not found"));
+    }
+
+    /**
+     * Streams every track of an artist, ordered by release date then id, to the given consumer.
+     * Rows are read through a forward-only cursor in fetch-size chunks and never enter the
+     * persistence context, so memory stays flat however large the discography is. The consumer
+     * runs on the reading thread, so a slow consumer slows the read instead of rows piling up,
+     * and an exception thrown by it, such as a client disconnect, stops the read and releases
+     * the cursor.
+     *
+     * @param artistId The ID of the artist to stream tracks for.
+     * @param consumer The consumer receiving each track in order.
+     */
+    @Transactional(readOnly = true)
+    public void streamArtistTracks(UUID artistId, Consumer<TrackResponse> consumer) {
+        try (var tracks = trackRepository.streamByArtistId(artistId)) {
+            tracks.map(trackMapper::mapToTrackResponse).forEach(consumer);
         }
-        var trackPage = trackRepository.findByArtist_ArtistId(artistId, PageRequest.of(page, size));
-        return trackMapper.mapToTrackPageResponse(trackPage);
+    }
+
+    /**
+     * Looks an artist up by their exact name, ignoring case and accents, through the unique name key index.
+     *
+     * @param name The name of the artist.
+     * @return The artist response.
+     * @throws IllegalArgumentException if the name is null or empty.
+     * @throws EntityNotFoundException  if no artist has the name.
+     */
+    public ArtistResponse getArtistByName(String name) throws IllegalArgumentException, EntityNotFoundException {
+        if (Objects.isNull(name) || name.isBlank()) {
+            throw new IllegalArgumentException("Artist name cannot be null or empty");
+        }
+        return artistRepository.findByNameKey(Artist.toNameKey(name))
+                .map(artistMapper::mapToArtistResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Artist not found"));
     }
 
     /**
      * Updates the name of an artist and their aliases.
+     * Only the aliases that differ are written: the ones no longer requested are deleted and the new ones inserted,
+     * while the aliases kept are left untouched, rows, versions and index entries alike.
      *
      * @param artistId                The ID of the artist to update.
      * @param updateArtistNameRequest The request containing the new name and aliases.
      * @return The updated artist response.
-     * @throws IllegalArgumentException if the name is null or empty, or if the name already exists for another artist.
+     * @throws IllegalArgumentException if the name is null or empty, or if another artist has the same name,
+     *                                  ignoring case and accents, including one renamed concurrently.
      */
+    @Transactional
     public ArtistResponse updateArtistName(UUID artistId, UpdateArtistNameRequest updateArtistNameRequest) throws IllegalArgumentException {
-        var artist = findByArtistId(artistId);
+        var artist = artistRepository.findWithAliasesByArtistId(artistId)
+                .orElseThrow(() -> new EntityNotFoundException("Artist not found"));
         // Validate the request //updateArtistNameRequest.getName IS MANDATORY
         if (updateArtistNameRequest.getName().isEmpty()) {
             throw new IllegalArgumentException("Artist name cannot be null or empty");
         }
-        if (artistRepository.existsByArtistIdNotAndName(artistId, updateArtistNameRequest.getName())) {
+        if (artistRepository.existsByArtistIdNotAndNameKey(artistId, Artist.toNameKey(updateArtistNameRequest.getName()))) {
             throw new IllegalArgumentException("Artist name already exists");
         }
-        // Update the artist name and aliases
+        // Update the artist name and apply the alias difference: every kept alias is struck off the requested ones,
+        // leaving the ones to insert
         artist.setName(updateArtistNameRequest.getName());
-        artist.setAliases(new ArrayList<>());
-        updateArtistNameRequest.getAliases().forEach(artist::addAlias);
-        artist = artistRepository.save(artist);
+        var requestedAliases = new LinkedHashSet<>(updateArtistNameRequest.getAliases());
+        artist.getAliases().removeIf(alias -> !requestedAliases.remove(alias.getAlias()));
+        requestedAliases.forEach(artist::addAlias);
+        // Flushed here so the unique name key rejects a concurrent rename to the same name before the commit does
+        try {
+            artist = artistRepository.saveAndFlush(artist);
+        } catch (DataIntegrityViolationException e) {
+            if (isConstraintViolated(e, ARTIST_NAME_CONSTRAINT)) {
+                throw new IllegalArgumentException("Artist name already exists", e);
+            }
+            throw e;
+        }
+        artistTracksCache.evictArtist(artistId);
+        artistSearchIndex.put(artistId, artist.getName(), updateArtistNameRequest.getAliases());
+        featuredArtistService.refreshFeaturedArtists(Set.of(artistId));
+        cacheInvalidator.invalidateArtist(artistId);
         // Map the updated artist to the response model
         return artistMapper.mapToArtistResponse(artist);
     }
@@ -93,6 +348,7 @@ public class ArtistService {
      * @return The added track response.
      * @throws IllegalArgumentException if the title, duration, or release date is invalid, or if the title already exists for the artist.
      */
+    @Transactional
     public TrackResponse addTrack(UUID artistId, TrackRequest trackRequest) throws IllegalArgumentException {
         var artist = findByArtistId(artistId);
         // Validate the request
@@ -105,9 +361,6 @@ public class ArtistService {
         if (trackRequest.getReleaseDate() == null) {
             throw new IllegalArgumentException("Track release date cannot be null");
         }
-        if (trackRepository.existsByArtist_ArtistIdAndTitle(artistId, trackRequest.getTitle())) {
-            throw new IllegalArgumentException("Track title already exists for this artist");
-        }
 
         var track = Track.builder().artist(artist)
                 .title(trackRequest.getTitle())
@@ -115,18 +368,57 @@ public class ArtistService {
                 .releaseDate(trackRequest.getReleaseDate())
                 .build();
         if (Objects.nonNull(trackRequest.getGenre()) && !trackRequest.getGenre().isBlank()) {
-            genreRepository.findByName(trackRequest.getGenre())
+            genreRegistry.findReference(trackRequest.getGenre())
                     .ifPresentOrElse(
                             track::setGenre,
                             () -> track.setGenreName(trackRequest.getGenre())
                     );
         }
-        var savedTrack = trackRepository.save(track);
+        // The unique index on (artist_id, title) rejects a duplicate title in the same round trip as the insert,
+        // and unlike a check before it, also when concurrent requests add the same title
+        Track savedTrack;
+        try {
+            savedTrack = trackRepository.save(track);
+        } catch (DataIntegrityViolationException e) {
+            if (isConstraintViolated(e, TRACK_TITLE_CONSTRAINT)) {
+                throw new IllegalArgumentException("Track title already exists for this artist", e);
+            }
+            throw e;
+        }
+        artistRepository.incrementTrackCount(artist.getId(), 1);
+        artistTracksCache.evictArtist(artistId);
         return trackMapper.mapToTrackResponse(savedTrack);
     }
 
+    private static boolean isConstraintViolated(DataIntegrityViolationException e, String constraint) {
+        return e.getCause() instanceof ConstraintViolationException cause &&
+               Objects.nonNull(cause.getConstraintName()) &&
+               cause.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint);
+    }
+
     private Artist findByArtistId(UUID artistId) {
         return artistRepository.findByArtistId(artistId)
                 .orElseThrow(() -> new EntityNotFoundException("Artist not found"));
     }
+
+    private static void validateFeaturedDateRange(LocalDate from, LocalDate to) throws IllegalArgumentException {
+        if (Objects.isNull(from) || Objects.isNull(to)) {
+            throw new IllegalArgumentException("Featured date range cannot be null");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Featured date range cannot end before it starts");
+        }
+        if (to.isAfter(from.plusYears(1))) {
+            throw new IllegalArgumentException("Featured date range cannot be longer than a year");
+        }
+    }
+
+    // A '+' left unencoded in the query string arrives as a space, and no zone ID has one
+    private static ZoneId parseZone(String zone) throws IllegalArgumentException {
+        try {
+            return ZoneId.of(zone.replace(' ', '+'));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + zone, e);
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package com.ice.musicmetadata.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.ice.musicmetadata.domain.TrackField;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ArtistTracksCache {
+    public static final String ARTIST_TRACKS_CACHE_NAME = "artist-tracks";
+    private final CacheManager cacheManager;
+    private final CacheInvalidator cacheInvalidator;
+
+    /**
+     * Key of a cached track page.
+     *
+     * @param artistId      The ID of the artist the page belongs to.
+     * @param page          The page number, null when the page was read by cursor.
+     * @param size          The number of tracks per page.
+     * @param after         The cursor the page was read after, or null.
+     * @param includeTotals Whether the page carries totals.
+     * @param fields        The track fields the page carries.
+     */
+    public record Key(UUID artistId, Integer page, Integer size, String after, Boolean includeTotals,
+                      Set<TrackField> fields) {
+        public static Key of(UUID artistId, Integer page, Integer size, String after, Boolean includeTotals,
+                             List<String> fields) {
+            return new Key(artistId, after == null ? page : null, size, after, !Boolean.FALSE.equals(includeTotals),
+                    TrackField.of(fields));
+        }
+    }
+
+    /**
+     * Key of the cached entity tag of an artist's track listing, evicted with its pages.
+     *
+     * @param artistId The ID of the artist.
+     */
+    public record ETagKey(UUID artistId) {
+    }
+
+    /**
+     * Evicts every cached track page of an artist, and the entity tag of its listing, leaving other artists' pages in place, on this node and then on
+     * the others through the {@link CacheInvalidator}. Inside a transaction the eviction waits for the commit, so
+     * a concurrent read cannot put the pre-commit page back.
+     *
+     * @param artistId The ID of the artist whose pages to evict.
+     */
+    public void evictArtist(UUID artistId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(artistId);
+                }
+            });
+        } else {
+            evictNow(artistId);
+        }
+        cacheInvalidator.invalidateArtistTracks(artistId);
+    }
+
+    /**
+     * Evicts the track pages of the artists whose tracks another node changed.
+     *
+     * @param invalidation The invalidation received from the other node.
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidation invalidation) {
+        invalidation.artistTracks().forEach(this::evictNow);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictNow(UUID artistId) {
+        var cache = cacheManager.getCache(ARTIST_TRACKS_CACHE_NAME);
+        if (cache != null && cache.getNativeCache() instanceof Cache<?, ?> nativeCache) {
+            ((Cache<Object, Object>) nativeCache).asMap().keySet()
+                    .removeIf(key -> key instanceof Key pageKey && pageKey.artistId().equals(artistId) ||
+                                     key instanceof ETagKey eTagKey && eTagKey.artistId().equals(artistId));
+        }
+    }
+}
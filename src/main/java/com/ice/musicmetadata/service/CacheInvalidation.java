@@ -0,0 +1,91 @@
+package com.ice.musicmetadata.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * What a committed write made stale in the caches of every node, sent over the {@link CacheInvalidationBus}.
+ * Invalidations merge, so the writes of a transaction, or of several, travel as one message.
+ *
+ * @param artists      The IDs of the artists whose name or aliases changed.
+ * @param artistTracks The IDs of the artists whose tracks changed.
+ * @param featured     Whether the artist of the day was rotated.
+ */
+public record CacheInvalidation(Set<UUID> artists, Set<UUID> artistTracks, boolean featured) {
+    public static final CacheInvalidation NONE = new CacheInvalidation(Set.of(), Set.of(), false);
+
+    public CacheInvalidation {
+        artists = Set.copyOf(artists);
+        artistTracks = Set.copyOf(artistTracks);
+    }
+
+    public static CacheInvalidation ofArtist(UUID artistId) {
+        return new CacheInvalidation(Set.of(artistId), Set.of(), false);
+    }
+
+    public static CacheInvalidation ofArtistTracks(UUID artistId) {
+        return new CacheInvalidation(Set.of(), Set.of(artistId), false);
+    }
+
+    public static CacheInvalidation ofFeatured() {
+        return new CacheInvalidation(Set.of(), Set.of(), true);
+    }
+
+    /**
+     * Merges this invalidation with another.
+     *
+     * @param other The other invalidation.
+     * @return An invalidation covering both.
+     */
+    public CacheInvalidation merge(CacheInvalidation other) {
+        return new CacheInvalidation(union(artists, other.artists), union(artistTracks, other.artistTracks),
+                featured || other.featured);
+    }
+
+    /**
+     * Splits this invalidation into parts naming a bounded number of artists each, for transports that limit the
+     * size of a message. The featured flag goes with the first part.
+     *
+     * @param maximumArtists The maximum number of artist IDs, of both sets together, per part.
+     * @return The parts, at least one.
+     */
+    public List<CacheInvalidation> split(int maximumArtists) {
+        if (artists.size() + artistTracks.size() <= maximumArtists) {
+            return List.of(this);
+        }
+        var parts = new ArrayList<CacheInvalidation>();
+        var artistIds = new ArrayList<>(artists);
+        var artistTracksIds = new ArrayList<>(artistTracks);
+        for (int start = 0; start < artistIds.size() + artistTracksIds.size(); start += maximumArtists) {
+            var end = start + maximumArtists;
+            parts.add(new CacheInvalidation(
+                    Set.copyOf(slice(artistIds, start, end)),
+                    Set.copyOf(slice(artistTracksIds, start - artistIds.size(), end - artistIds.size())),
+                    parts.isEmpty() && featured));
+        }
+        return parts;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return artists.isEmpty() && artistTracks.isEmpty() && !featured;
+    }
+
+    private static List<UUID> slice(List<UUID> ids, int from, int to) {
+        return ids.subList(Math.clamp(from, 0, ids.size()), Math.clamp(to, 0, ids.size()));
+    }
+
+    private static Set<UUID> union(Set<UUID> first, Set<UUID> second) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        return Stream.concat(first.stream(), second.stream()).collect(Collectors.toCollection(HashSet::new));
+    }
+}
@@ -0,0 +1,28 @@
+package com.ice.musicmetadata.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between the nodes of the cluster, each node evicting what another one's committed
+ * writes made stale in its local caches. A node does not receive its own invalidations, as it evicts its own caches
+ * as it writes.
+ * <p>
+ * Delivery is at most once and asynchronous, on a thread of the bus rather than the writer's, outside any transaction.
+ * The caches' expiry remains the bound on staleness should a message be lost.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Sends an invalidation to the other nodes, without waiting for it to be delivered.
+     *
+     * @param invalidation The invalidation, typically what one transaction committed.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Registers a subscriber to the invalidations published by the other nodes.
+     *
+     * @param subscriber The subscriber, called on a thread of the bus.
+     */
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+}
@@ -0,0 +1,89 @@
+package com.ice.musicmetadata.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tells the other nodes of the cluster what the writes of this one made stale, over the {@link CacheInvalidationBus}.
+ * The invalidations of a transaction are collected and published as one message once it commits, and dropped if it
+ * rolls back. Outside a transaction they are published right away.
+ * <p>
+ * The invalidations of the other nodes come back as {@link CacheInvalidation} application events, which the caches
+ * listen to. They are published on a thread of the bus, outside any transaction, so the caches apply them at once.
+ */
+@Component
+public class CacheInvalidator {
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public CacheInvalidator(CacheInvalidationBus cacheInvalidationBus, ApplicationEventPublisher eventPublisher) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.subscribe(eventPublisher::publishEvent);
+    }
+
+    /**
+     * Invalidates what other nodes cache about an artist itself: its name and aliases.
+     *
+     * @param artistId The ID of the artist.
+     */
+    public void invalidateArtist(UUID artistId) {
+        pending().ifPresentOrElse(pending -> pending.artists.add(artistId),
+                () -> cacheInvalidationBus.publish(CacheInvalidation.ofArtist(artistId)));
+    }
+
+    /**
+     * Invalidates the track pages other nodes cache for an artist.
+     *
+     * @param artistId The ID of the artist.
+     */
+    public void invalidateArtistTracks(UUID artistId) {
+        pending().ifPresentOrElse(pending -> pending.artistTracks.add(artistId),
+                () -> cacheInvalidationBus.publish(CacheInvalidation.ofArtistTracks(artistId)));
+    }
+
+    /**
+     * Invalidates the artist of the day other nodes cache, after a rotation.
+     */
+    public void invalidateFeatured() {
+        pending().ifPresentOrElse(pending -> pending.featured = true,
+                () -> cacheInvalidationBus.publish(CacheInvalidation.ofFeatured()));
+    }
+
+    // The invalidations collected so far in the current transaction, registered with it on the first one. Looked up
+    // among its synchronizations, which a nested transaction of its own suspends.
+    private Optional<Pending> pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.empty();
+        }
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(synchronization -> synchronization instanceof Pending pending && pending.owner() == this)
+                .map(Pending.class::cast)
+                .findFirst()
+                .or(() -> {
+                    var pending = new Pending();
+                    TransactionSynchronizationManager.registerSynchronization(pending);
+                    return Optional.of(pending);
+                });
+    }
+
+    private class Pending implements TransactionSynchronization {
+        private final Set<UUID> artists = new HashSet<>();
+        private final Set<UUID> artistTracks = new HashSet<>();
+        private boolean featured;
+
+        private CacheInvalidator owner() {
+            return CacheInvalidator.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            cacheInvalidationBus.publish(new CacheInvalidation(artists, artistTracks, featured));
+        }
+    }
+}
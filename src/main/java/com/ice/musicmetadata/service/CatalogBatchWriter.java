@@ -0,0 +1,146 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.*;
+import com.ice.musicmetadata.repository.ArtistRepository;
+import com.ice.musicmetadata.repository.ImportCheckpointRepository;
+import com.ice.musicmetadata.repository.TrackRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogBatchWriter {
+    private final ArtistRepository artistRepository;
+    private final TrackRepository trackRepository;
+    private final GenreRegistry genreRegistry;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final ArtistTracksCache artistTracksCache;
+    private final ArtistSearchIndex artistSearchIndex;
+    private final FeaturedArtistService featuredArtistService;
+    private final CacheInvalidator cacheInvalidator;
+
+    /**
+     * Writes one batch of validated catalog records and advances the import checkpoint in the same transaction,
+     * so a resumed import starts right after the last batch that reached the database, and the last batch marks the
+     * import completed along with it.
+     * Artists and existing titles are resolved for the whole batch at once and genres come from the genre registry;
+     * missing artists are created and missing aliases added in bulk, like the tracks, both reaching the artist search
+     * index on commit.
+     * A record whose title already exists for its artist is skipped and counted as rejected, also when a concurrent
+     * writer commits the title after the batch checked it.
+     *
+     * @param checkpointId  The ID of the import checkpoint to advance.
+     * @param records       The validated records of the batch, in file order.
+     * @param rowsConsumed  The number of file rows the batch covers, rejected rows included.
+     * @param rowsRejected  The number of rows of the batch rejected before reaching the writer.
+     * @param last          Whether the batch is the last one of the file, which completes the import.
+     * @return The number of tracks written.
+     */
+    @Transactional
+    public int write(Long checkpointId, List<CatalogRecord> records, int rowsConsumed, int rowsRejected, boolean last) {
+        var tracks = records.isEmpty() ? List.<Track>of() : writeTracks(records);
+        var checkpoint = importCheckpointRepository.findById(checkpointId)
+                .orElseThrow(() -> new IllegalStateException("Import checkpoint not found"));
+        checkpoint.setRowsCommitted(checkpoint.getRowsCommitted() + rowsConsumed);
+        checkpoint.setTracksWritten(checkpoint.getTracksWritten() + tracks.size());
+        checkpoint.setRowsRejected(checkpoint.getRowsRejected() + rowsRejected + records.size() - tracks.size());
+        if (last) {
+            checkpoint.setCompletedAt(Instant.now());
+        }
+        return tracks.size();
+    }
+
+    private List<Track> writeTracks(List<CatalogRecord> records) {
+        var artists = resolveArtists(records);
+        var trackKeys = new HashSet<>(trackRepository.findTrackKeys(
+                artists.values().stream().map(Artist::getId).toList(),
+                records.stream().map(CatalogRecord::title).collect(Collectors.toSet())));
+
+        var tracks = new ArrayList<Track>(records.size());
+        for (var catalogRecord : records) {
+            var artist = artists.get(catalogRecord.artist());
+            if (!trackKeys.add(new TrackKey(artist.getId(), catalogRecord.title()))) {
+                continue;
+            }
+            var track = Track.builder().artist(artist)
+                    .trackId(UUID.randomUUID())
+                    .title(catalogRecord.title())
+                    .duration(catalogRecord.durationInSeconds())
+                    .releaseDate(catalogRecord.releaseDate())
+                    .build();
+            if (Objects.nonNull(catalogRecord.genre()) && !catalogRecord.genre().isBlank()) {
+                genreRegistry.findReference(catalogRecord.genre())
+                        .ifPresentOrElse(
+                                track::setGenre,
+                                () -> track.setGenreName(catalogRecord.genre())
+                        );
+            }
+            tracks.add(track);
+        }
+
+        if (tracks.isEmpty()) {
+            return tracks;
+        }
+        var inserted = trackRepository.insertAll(tracks);
+        inserted.stream()
+                .collect(Collectors.groupingBy(Track::getArtist, Collectors.counting()))
+                .forEach((artist, count) -> {
+                    artistRepository.incrementTrackCount(artist.getId(), count.intValue());
+                    artistTracksCache.evictArtist(artist.getArtistId());
+                });
+        return inserted;
+    }
+
+    // Records naming an artist differently only in case or accents resolve to the same artist, as the name key is unique
+    private Map<String, Artist> resolveArtists(List<CatalogRecord> records) {
+        var artistsByNameKey = artistRepository.findAllByNameKeyIn(records.stream()
+                        .map(catalogRecord -> Artist.toNameKey(catalogRecord.artist()))
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Artist::getNameKey, Function.identity(), (first, second) -> first, HashMap::new));
+        var artists = new HashMap<String, Artist>();
+        var newArtists = new ArrayList<Artist>();
+        // New artists have no id yet, so they are told apart by identity, as are their alias names
+        var aliasNames = new IdentityHashMap<Artist, Set<String>>();
+        var newAliases = new ArrayList<ArtistAlias>();
+        var changedArtists = Collections.newSetFromMap(new IdentityHashMap<Artist, Boolean>());
+        for (var catalogRecord : records) {
+            var artist = artists.computeIfAbsent(catalogRecord.artist(), name ->
+                    artistsByNameKey.computeIfAbsent(Artist.toNameKey(name), nameKey -> {
+                        var newArtist = Artist.builder().artistId(UUID.randomUUID()).name(name).build();
+                        newArtists.add(newArtist);
+                        return newArtist;
+                    }));
+            if (catalogRecord.aliases() != null) {
+                var names = aliasNames.computeIfAbsent(artist, known -> known.getAliases().stream()
+                        .map(ArtistAlias::getAlias)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)));
+                catalogRecord.aliases().stream()
+                        .filter(alias -> !alias.isBlank())
+                        .filter(names::add)
+                        .forEach(alias -> {
+                            // Left out of the artist's aliases, which would cascade one insert per alias
+                            newAliases.add(ArtistAlias.builder().artist(artist).alias(alias).build());
+                            changedArtists.add(artist);
+                        });
+            }
+        }
+        // New artists need their ids before the aliases and tracks referencing them are inserted
+        artistRepository.insertAll(newArtists);
+        artistRepository.insertAllAliases(newAliases);
+        changedArtists.addAll(newArtists);
+        changedArtists.forEach(artist -> {
+            artistSearchIndex.put(artist.getArtistId(), artist.getName(),
+                    List.copyOf(aliasNames.getOrDefault(artist, Set.of())));
+            cacheInvalidator.invalidateArtist(artist.getArtistId());
+        });
+        featuredArtistService.refreshFeaturedArtists(changedArtists.stream().map(Artist::getArtistId).toList());
+        return artists;
+    }
+}
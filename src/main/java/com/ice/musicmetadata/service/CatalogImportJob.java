@@ -0,0 +1,56 @@
+package com.ice.musicmetadata.service;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of one run of a catalog import, updated by the pipeline stages and read by the actuator endpoint.
+ */
+@Getter
+public class CatalogImportJob {
+    public enum State {RUNNING, COMPLETED, FAILED}
+
+    private final String source;
+    private final long resumedFrom;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsCommitted = new AtomicLong();
+    private final AtomicLong tracksWritten = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public CatalogImportJob(String source, long resumedFrom) {
+        this.source = source;
+        this.resumedFrom = resumedFrom;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(Throwable cause) {
+        finishedAt = Instant.now();
+        error = cause.getMessage();
+        state = State.FAILED;
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    /**
+     * The committed throughput of this run, rows skipped on resume excluded.
+     *
+     * @return The rows committed per second since the run started.
+     */
+    public double getRowsPerSecond() {
+        var elapsed = Duration.between(startedAt, finishedAt == null ? Instant.now() : finishedAt).toMillis();
+        return elapsed == 0 ? 0 : rowsCommitted.get() * 1000.0 / elapsed;
+    }
+}
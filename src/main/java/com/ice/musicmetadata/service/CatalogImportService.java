@@ -0,0 +1,255 @@
+package com.ice.musicmetadata.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ice.musicmetadata.domain.CatalogRecord;
+import com.ice.musicmetadata.domain.ImportCheckpoint;
+import com.ice.musicmetadata.repository.ImportCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+public class CatalogImportService {
+    // Marks the end of a stream of rows between two stages
+    private static final Row END = new Row(null, null);
+
+    private final CatalogBatchWriter catalogBatchWriter;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Map<String, CatalogImportJob> jobs = new ConcurrentHashMap<>();
+
+    public CatalogImportService(CatalogBatchWriter catalogBatchWriter,
+                                ImportCheckpointRepository importCheckpointRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${app.catalog-import.directory}") Path directory,
+                                @Value("${app.catalog-import.batch-size}") int batchSize,
+                                @Value("${app.catalog-import.queue-capacity}") int queueCapacity) {
+        this.catalogBatchWriter = catalogBatchWriter;
+        this.importCheckpointRepository = importCheckpointRepository;
+        this.objectMapper = objectMapper;
+        this.directory = directory.toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Starts importing a catalog file in the background and returns its progress.
+     * The file is either CSV with a header row ({@code .csv}) or newline-delimited JSON ({@code .ndjson}, {@code .jsonl}),
+     * one {@link CatalogRecord} per row, with aliases separated by {@code |} in CSV.
+     * Rows flow through parse, validate and write stages connected by bounded queues, so a slow database holds the
+     * reader back instead of rows piling up in memory. An import of a file that was interrupted resumes after its
+     * last committed batch; a file that changed since starts over.
+     *
+     * @param file The path of the file, relative to the import directory.
+     * @return The progress of the started import.
+     * @throws IllegalArgumentException if the file is outside the import directory, missing or of an unknown format,
+     *                                  or if an import of it is already running.
+     */
+    public CatalogImportJob startImport(String file) throws IllegalArgumentException {
+        var path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory) || !Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Catalog file not found");
+        }
+        var format = Format.of(path);
+        var source = path.toString();
+        var checkpoint = findCheckpoint(source, fingerprint(path));
+        var job = new CatalogImportJob(source, checkpoint.getRowsCommitted());
+        if (jobs.compute(source, (key, running) -> running != null && running.isRunning() ? running : job) != job) {
+            throw new IllegalArgumentException("Catalog import already running");
+        }
+        Thread.ofPlatform().name("catalog-import-write").start(() -> run(job, checkpoint, path, format));
+        return job;
+    }
+
+    /**
+     * Retrieves the progress of the imports started since the application started.
+     *
+     * @return The imports, by source file.
+     */
+    public Collection<CatalogImportJob> getImports() {
+        return jobs.values();
+    }
+
+    private void run(CatalogImportJob job, ImportCheckpoint checkpoint, Path path, Format format) {
+        var parsed = new ArrayBlockingQueue<Row>(queueCapacity);
+        var validated = new ArrayBlockingQueue<Row>(queueCapacity);
+        var failure = new AtomicReference<Throwable>();
+        try (var stages = Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name("catalog-import-", 0).factory())) {
+            stages.submit(() -> parse(path, format, job, parsed, failure));
+            stages.submit(() -> validate(parsed, validated, failure));
+            try {
+                write(job, checkpoint.getId(), validated, failure);
+                if (failure.get() != null) {
+                    throw failure.get();
+                }
+                job.complete();
+                log.info("Catalog import of {} completed: {} tracks written, {} rows rejected, {} rows/s",
+                        job.getSource(), job.getTracksWritten(), job.getRowsRejected(), job.getRowsPerSecond());
+            } catch (Throwable e) {
+                // Stop the upstream stages, which may be blocked on a full queue
+                stages.shutdownNow();
+                job.fail(e);
+                log.error("Catalog import of {} failed after {} rows", job.getSource(), job.getRowsCommitted(), e);
+            }
+        }
+    }
+
+    private void parse(Path path, Format format, CatalogImportJob job, BlockingQueue<Row> parsed,
+                       AtomicReference<Throwable> failure) {
+        try (var reader = Files.newBufferedReader(path);
+             var records = format.reader(objectMapper).<CatalogRecord>readValues(reader)) {
+            // Rows up to the checkpoint were committed by a previous run
+            for (long row = 0; row < job.getResumedFrom() && records.hasNextValue(); row++) {
+                records.nextValue();
+            }
+            while (records.hasNextValue()) {
+                parsed.put(new Row(records.nextValue(), null));
+                job.getRowsRead().incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            putEnd(parsed);
+        }
+    }
+
+    private void validate(BlockingQueue<Row> parsed, BlockingQueue<Row> validated, AtomicReference<Throwable> failure) {
+        try {
+            for (var row = parsed.take(); row != END; row = parsed.take()) {
+                validated.put(new Row(row.catalogRecord(), validate(row.catalogRecord())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            putEnd(validated);
+        }
+    }
+
+    private void write(CatalogImportJob job, Long checkpointId, BlockingQueue<Row> validated,
+                       AtomicReference<Throwable> failure) throws InterruptedException {
+        var batch = new ArrayList<CatalogRecord>(batchSize);
+        var rows = 0;
+        var rejected = 0;
+        for (var row = validated.take(); ; row = validated.take()) {
+            if (row != END) {
+                rows++;
+                if (row.error() == null) {
+                    batch.add(row.catalogRecord());
+                } else {
+                    rejected++;
+                }
+            }
+            // The end comes after any failure upstream, and the last batch completes the import only without one.
+            // It is written even when empty, for a file with nothing left to import to complete too.
+            if (rows == batchSize || row == END) {
+                var written = catalogBatchWriter.write(checkpointId, batch, rows, rejected,
+                        row == END && failure.get() == null);
+                job.getRowsCommitted().addAndGet(rows);
+                job.getTracksWritten().addAndGet(written);
+                job.getRowsRejected().addAndGet(rows - written);
+                batch.clear();
+                rows = 0;
+                rejected = 0;
+            }
+            if (row == END) {
+                return;
+            }
+        }
+    }
+
+    private static String validate(CatalogRecord catalogRecord) {
+        if (catalogRecord.artist() == null || catalogRecord.artist().isBlank()) {
+            return "Artist name cannot be null or empty";
+        }
+        if (catalogRecord.title() == null || catalogRecord.title().isBlank()) {
+            return "Track title cannot be null or empty";
+        }
+        if (catalogRecord.durationInSeconds() == null || catalogRecord.durationInSeconds() <= 0) {
+            return "Track duration must be greater than 0";
+        }
+        if (catalogRecord.releaseDate() == null) {
+            return "Track release date cannot be null";
+        }
+        return null;
+    }
+
+    private ImportCheckpoint findCheckpoint(String source, String fingerprint) {
+        var checkpoint = importCheckpointRepository.findBySource(source)
+                .orElseGet(() -> ImportCheckpoint.builder().source(source).fingerprint(fingerprint).build());
+        if (!fingerprint.equals(checkpoint.getFingerprint()) || checkpoint.getCompletedAt() != null) {
+            checkpoint.setFingerprint(fingerprint);
+            checkpoint.setRowsCommitted(0);
+            checkpoint.setTracksWritten(0);
+            checkpoint.setRowsRejected(0);
+            checkpoint.setCompletedAt(null);
+        }
+        return importCheckpointRepository.save(checkpoint);
+    }
+
+    private static String fingerprint(Path path) {
+        try {
+            return Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Catalog file not readable", e);
+        }
+    }
+
+    private static void putEnd(BlockingQueue<Row> queue) {
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Row(CatalogRecord catalogRecord, String error) {
+    }
+
+    private enum Format {
+        CSV, NDJSON;
+
+        static Format of(Path path) {
+            var name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported catalog file format");
+        }
+
+        private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        ObjectReader reader(ObjectMapper objectMapper) {
+            if (this == NDJSON) {
+                return objectMapper.readerFor(CatalogRecord.class);
+            }
+            return CSV_MAPPER.readerFor(CatalogRecord.class)
+                    .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator("|"));
+        }
+    }
+}
@@ -1,59 +1,293 @@
 package com.ice.musicmetadata.service;
 
 import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.FeaturedHistory;
+import com.ice.musicmetadata.domain.FeaturedSchedule;
 import com.ice.musicmetadata.exception.NoEligibleArtistsException;
 import com.ice.musicmetadata.repository.ArtistRepository;
-import lombok.RequiredArgsConstructor;
+import com.ice.musicmetadata.repository.FeaturedHistoryRepository;
+import com.ice.musicmetadata.repository.FeaturedScheduleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
+/**
+ * The artist of the day comes from the featured schedule, planned days ahead in the background, so rotating at
+ * midnight is a primary key lookup of today's row however many artists there are, and who is featured on any past
+ * or upcoming date can be looked up.
+ * <p>
+ * The cached artist of the day is never cleared ahead of a change: a new artist is swapped in once it is committed,
+ * the previous one serving every request until then, and the few misses left, after a restart or an expiry, are
+ * loaded once however many requests are waiting on them.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class FeaturedArtistService {
-    private static final String ARTIST_OF_THE_DAY_CACHE_NAME = "featured-artist";
-    private static final String ARTIST_OF_THE_DAY_CACHE_KEY = "'artist-of-the-day'";
+    public static final String FEATURED_HISTORY_CACHE_NAME = "featured-history";
+    private static final String ARTIST_OF_THE_DAY_CACHE_NAME = ArtistOfTheDayLoader.ARTIST_OF_THE_DAY_CACHE_NAME;
+    private static final String ARTIST_OF_THE_DAY_CACHE_KEY = "artist-of-the-day";
     private final ArtistRepository artistRepository;
+    private final FeaturedScheduleRepository featuredScheduleRepository;
+    private final FeaturedHistoryRepository featuredHistoryRepository;
     private final CacheManager cacheManager;
+    private final ArtistOfTheDayResponseCache artistOfTheDayResponseCache;
+    private final ZonedArtistOfTheDaySnapshot zonedArtistOfTheDaySnapshot;
+    private final CacheInvalidator cacheInvalidator;
+    private final Clock clock;
+    private final int scheduleDays;
+
+    public FeaturedArtistService(ArtistRepository artistRepository,
+                                 FeaturedScheduleRepository featuredScheduleRepository,
+                                 FeaturedHistoryRepository featuredHistoryRepository,
+                                 CacheManager cacheManager,
+                                 ArtistOfTheDayResponseCache artistOfTheDayResponseCache,
+                                 ZonedArtistOfTheDaySnapshot zonedArtistOfTheDaySnapshot,
+                                 CacheInvalidator cacheInvalidator,
+                                 Clock clock,
+                                 @Value("${app.artist-of-the-day.schedule-days}") int scheduleDays) {
+        this.artistRepository = artistRepository;
+        this.featuredScheduleRepository = featuredScheduleRepository;
+        this.featuredHistoryRepository = featuredHistoryRepository;
+        this.cacheManager = cacheManager;
+        this.artistOfTheDayResponseCache = artistOfTheDayResponseCache;
+        this.zonedArtistOfTheDaySnapshot = zonedArtistOfTheDaySnapshot;
+        this.cacheInvalidator = cacheInvalidator;
+        this.clock = clock;
+        this.scheduleDays = scheduleDays;
+    }
 
     /**
-     * Rotates the artist of the day by selecting a new artist and updating the cache.
-     * This method is scheduled to run daily at midnight.
+     * Rotates the artist of the day to the artist scheduled for today. Its response is encoded and the transaction-aware
+     * cache swaps it in once the transaction commits, the previous artist staying if it rolls back.
+     * Run daily at midnight by {@link RotateArtistOfTheDayJob} on one node of the cluster, the other nodes pick
+     * the result up in {@link #refreshArtistOfTheDay()}. Today is planned first if the schedule has not reached it.
+     * The day is recorded in the featured history in the same transaction, the first rotation of a day being kept if
+     * it runs again, and the {@link ZonedArtistOfTheDaySnapshot} is rebuilt after the commit, when the other nodes
+     * are told to refresh theirs too.
      *
      * @return The new artist of the day.
+     * @throws NoEligibleArtistsException if there are no artists to feature.
      */
-    @Scheduled(cron = "${app.artist-of-the-day.cron}") // Runs daily at midnight
     @Transactional
-    @CachePut(value = ARTIST_OF_THE_DAY_CACHE_NAME, key = ARTIST_OF_THE_DAY_CACHE_KEY)
-    public Artist rotateArtistOfTheDay() {
-        // Clear the previous day's cache
-        var cache = cacheManager.getCache(ARTIST_OF_THE_DAY_CACHE_NAME);
-        if (cache != null) {
-            cache.clear();
-        }
-
-        // Find the least recently featured artist
-        Artist artist = artistRepository.findNextFeaturedArtist()
+    public Artist rotateArtistOfTheDay() throws NoEligibleArtistsException {
+        var today = LocalDate.now(clock);
+        var artist = featuredScheduleRepository.findArtistByFeatureDate(today)
+                .or(() -> {
+                    planSchedule();
+                    return featuredScheduleRepository.findArtistByFeatureDate(today);
+                })
                 .orElseThrow(() -> new NoEligibleArtistsException("No eligible artists found for rotation"));
 
         // Update artist's featured info
-        artist.setFeaturedAt(Instant.now());
-        return artistRepository.save(artist);
+        artist.setFeaturedAt(Instant.now(clock));
+        var featuredArtist = artistRepository.save(artist);
+        if (!featuredHistoryRepository.existsById(today)) {
+            featuredHistoryRepository.save(FeaturedHistory.builder()
+                    .featureDate(today)
+                    .artist(featuredArtist)
+                    .featuredAt(featuredArtist.getFeaturedAt())
+                    .build());
+        }
+        publish(featuredArtist);
+        rebuildZonedSnapshotAfterCommit();
+        cacheInvalidator.invalidateFeatured();
+        return featuredArtist;
+    }
+
+    /**
+     * Plans the artists of the days from today up to the configured number of days ahead, in one batch.
+     * Days already planned are kept, so a plan is never changed once made, and each new day goes to the artist
+     * featured least recently. With fewer artists than days, the artists take turns in that order.
+     * Runs at startup on every node, and then daily, well before midnight, by {@link PlanFeaturedScheduleJob} on one
+     * node of the cluster, both through {@link FeaturedSchedulePlanner}, which plans again if nodes starting together
+     * insert the same days. The {@link ZonedArtistOfTheDaySnapshot} is rebuilt once it commits, for the first time
+     * at startup.
+     */
+    @Transactional
+    public void planSchedule() {
+        rebuildZonedSnapshotAfterCommit();
+        var today = LocalDate.now(clock);
+        var until = today.plusDays(scheduleDays - 1L);
+        var planned = featuredScheduleRepository.findFeatureDatesBetween(today, until);
+        var days = today.datesUntil(until.plusDays(1))
+                .filter(date -> !planned.contains(date))
+                .toList();
+        if (days.isEmpty()) {
+            return;
+        }
+        var artistIds = featuredScheduleRepository.findArtistIdsLeastRecentlyFeatured(Limit.of(days.size()));
+        if (artistIds.isEmpty()) {
+            return;
+        }
+        featuredScheduleRepository.saveAll(IntStream.range(0, days.size())
+                .mapToObj(day -> FeaturedSchedule.builder()
+                        .featureDate(days.get(day))
+                        .artist(artistRepository.getReferenceById(artistIds.get(day % artistIds.size())))
+                        .build())
+                .toList());
+        log.info("Featured schedule planned for {} days up to {}", days.size(), until);
+    }
+
+    /**
+     * Reloads this node's artist of the day from today's row of the schedule, which the rotation has updated on
+     * whichever node it ran. Every node runs it daily, shortly after the rotation, so all of them serve the same
+     * artist with the same entity tag. A node refreshing before the rotation commits still serves the right artist.
+     * The previous artist keeps serving while today's is read, and is only evicted if today is not planned.
+     * The {@link ZonedArtistOfTheDaySnapshot} moves on a day with it.
+     *
+     * @return The artist of the day, or null if today is not planned.
+     */
+    @Scheduled(cron = "${app.artist-of-the-day.refresh-cron}")
+    public Artist refreshArtistOfTheDay() {
+        var artist = featuredScheduleRepository.findArtistByFeatureDate(LocalDate.now(clock)).orElse(null);
+        if (artist != null) {
+            publish(artist);
+        } else {
+            artistOfTheDayCache().evict(ARTIST_OF_THE_DAY_CACHE_KEY);
+        }
+        zonedArtistOfTheDaySnapshot.rebuild();
+        return artist;
+    }
+
+    /**
+     * Catches up with artists whose name or aliases changed: the artist of the day is reloaded if it is one of them,
+     * or the zoned snapshot features one, and the cached featured history is dropped. Inside a transaction, the new
+     * values are swapped in once it commits.
+     *
+     * @param artistIds The IDs of the changed artists.
+     */
+    public void refreshFeaturedArtists(Collection<UUID> artistIds) {
+        if (artistIds.isEmpty()) {
+            return;
+        }
+        featuredHistoryCache().clear();
+        var artist = cachedArtistOfTheDay();
+        if (artist != null && artistIds.contains(artist.getArtistId()) || zonedArtistOfTheDaySnapshot.features(artistIds)) {
+            featuredScheduleRepository.findArtistByFeatureDate(LocalDate.now(clock)).ifPresent(this::publish);
+            rebuildZonedSnapshotAfterCommit();
+        }
+    }
+
+    /**
+     * Catches up with another node's writes: a rotation there is picked up as in {@link #refreshArtistOfTheDay()},
+     * and changed artists as in {@link #refreshFeaturedArtists(Collection)}.
+     *
+     * @param invalidation The invalidation received from the other node.
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.featured()) {
+            refreshArtistOfTheDay();
+        }
+        refreshFeaturedArtists(invalidation.artists());
     }
 
+    /**
+     * Retrieves the artists featured on each day of a date range, past or upcoming, as far as it is planned.
+     *
+     * @param from The first date, inclusive.
+     * @param to   The last date, inclusive.
+     * @return The planned days of the range, in date order, with their artists and aliases loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<FeaturedSchedule> getSchedule(LocalDate from, LocalDate to) {
+        return featuredScheduleRepository.findAllByFeatureDateBetween(from, to);
+    }
 
     /**
-     * Retrieves the artist of the day from the cache or database.
+     * Retrieves the artists rotated in on each day of a date range, as recorded by the rotation.
      *
-     * @return The artist of the day, or null if not found.
+     * @param from The first date, inclusive.
+     * @param to   The last date, inclusive.
+     * @return The recorded days of the range, in date order, with their artists and aliases loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<FeaturedHistory> getHistory(LocalDate from, LocalDate to) {
+        return featuredHistoryRepository.findAllByFeatureDateBetween(from, to);
+    }
+
+    /**
+     * Tells whether the featured history of a date is final, which it is once the date has passed, as only today's
+     * row is ever written.
+     *
+     * @param date The date.
+     * @return True if the date is before today.
+     */
+    public boolean isHistoryFinal(LocalDate date) {
+        return date.isBefore(LocalDate.now(clock));
+    }
+
+    /**
+     * Retrieves the artist of the day from the cache or from today's row of the schedule. On a miss the first
+     * request loads it and concurrent requests wait for that load rather than each running their own query.
+     * A day that is not planned is not cached, so the artist shows up as soon as it is.
+     *
+     * @return The artist of the day, or null if today is not planned.
      */
-    @Cacheable(value = ARTIST_OF_THE_DAY_CACHE_NAME, key = ARTIST_OF_THE_DAY_CACHE_KEY, unless = "#result == null")
     public Artist getArtistOfTheDay() {
-        return artistRepository.findTopByOrderByFeaturedAtDesc().orElse(null);
+        var cache = artistOfTheDayCache();
+        var artist = cache.get(ARTIST_OF_THE_DAY_CACHE_KEY,
+                () -> featuredScheduleRepository.findArtistByFeatureDate(LocalDate.now(clock)).orElse(null));
+        if (artist == null) {
+            cache.evict(ARTIST_OF_THE_DAY_CACHE_KEY);
+        }
+        return artist;
+    }
+
+    // After the commit, for the snapshot to read the committed schedule and versions
+    private void rebuildZonedSnapshotAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    zonedArtistOfTheDaySnapshot.rebuild();
+                }
+            });
+        } else {
+            zonedArtistOfTheDaySnapshot.rebuild();
+        }
+    }
+
+    // Encoded first, so the first request to find the new artist finds its response ready too. Inside a transaction
+    // both wait for the commit, in this order.
+    private void publish(Artist artist) {
+        artistOfTheDayResponseCache.prepare(artist);
+        artistOfTheDayCache().put(ARTIST_OF_THE_DAY_CACHE_KEY, artist);
+    }
+
+    // Looked up without loading it, which a plain get does once the cache has a loader
+    @SuppressWarnings("unchecked")
+    private Artist cachedArtistOfTheDay() {
+        var cache = artistOfTheDayCache();
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return (Artist) ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache)
+                    .getIfPresent(ARTIST_OF_THE_DAY_CACHE_KEY);
+        }
+        return cache.get(ARTIST_OF_THE_DAY_CACHE_KEY, Artist.class);
+    }
+
+    private Cache artistOfTheDayCache() {
+        return Objects.requireNonNull(cacheManager.getCache(ARTIST_OF_THE_DAY_CACHE_NAME));
+    }
+
+    private Cache featuredHistoryCache() {
+        return Objects.requireNonNull(cacheManager.getCache(FEATURED_HISTORY_CACHE_NAME));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.ice.musicmetadata.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plans the featured schedule through {@link FeaturedArtistService#planSchedule()}, as each node starts and daily
+ * from {@link PlanFeaturedScheduleJob}. Nodes starting together plan the same missing days, and all but the first
+ * to commit have their inserts rejected by the primary key on the date. Such a node plans again, finding the days
+ * the other one committed already there, rather than failing to start. The zoned snapshot is built either way, once
+ * the planning that succeeded commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeaturedSchedulePlanner {
+    private final FeaturedArtistService featuredArtistService;
+
+    /**
+     * Plans the featured schedule, planning again once if another node planned the same days meanwhile.
+     *
+     * @throws DataIntegrityViolationException if the second planning is rejected too.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void planSchedule() throws DataIntegrityViolationException {
+        try {
+            featuredArtistService.planSchedule();
+        } catch (DataIntegrityViolationException e) {
+            log.info("Featured schedule planned concurrently by another node, planning the days left", e);
+            featuredArtistService.planSchedule();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Genre;
+import com.ice.musicmetadata.domain.GenreNode;
+import com.ice.musicmetadata.repository.GenreRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory dictionary of the genre tree. Genres are small, rarely changing reference data, so the whole tree is
+ * loaded at startup into an immutable snapshot and reloaded on a schedule, the new snapshot replacing the old one
+ * atomically when it differs. Readers never query the database and never see a half-built snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GenreRegistry {
+    private final GenreRepository genreRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Loads the genre tree and swaps it in if it changed since the last load.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.genre-registry.refresh-interval}",
+            initialDelayString = "${app.genre-registry.refresh-interval}")
+    public void refresh() {
+        var loaded = Snapshot.of(genreRepository.findAllNodes());
+        var previous = snapshot.getAndUpdate(current -> current.byId().equals(loaded.byId()) ? current : loaded);
+        if (!previous.byId().equals(loaded.byId())) {
+            log.info("Genre registry loaded {} genres", loaded.byId().size());
+        }
+    }
+
+    /**
+     * Looks a genre up by name, ignoring case.
+     *
+     * @param name The name of the genre.
+     * @return The genre, or empty if the name is not catalogued.
+     */
+    public Optional<GenreNode> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot.get().byName().get(key(name)));
+    }
+
+    /**
+     * Looks a genre up by id.
+     *
+     * @param id The id of the genre.
+     * @return The genre, or empty if the id is not catalogued.
+     */
+    public Optional<GenreNode> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot.get().byId().get(id));
+    }
+
+    /**
+     * Resolves a genre name to a reference to the catalogued genre, for tracks to point at without loading it.
+     *
+     * @param name The name of the genre, matched ignoring case.
+     * @return The uninitialized genre reference, or empty if the name is not catalogued.
+     */
+    public Optional<Genre> findReference(String name) {
+        return findByName(name).map(genre -> genreRepository.getReferenceById(genre.id()));
+    }
+
+    /**
+     * Returns the catalogued spelling of a genre name, as one shared instance, so responses do not carry
+     * a copy of the same name per track.
+     *
+     * @param name The genre name.
+     * @return The catalogued name, or the given name if it is not catalogued.
+     */
+    public String intern(String name) {
+        return findByName(name).map(GenreNode::name).orElse(name);
+    }
+
+    private static String key(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<Long, GenreNode> byId, Map<String, GenreNode> byName) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        static Snapshot of(List<GenreNode> genres) {
+            var subGenreIds = genres.stream()
+                    .filter(genre -> genre.parentId() != null)
+                    .collect(Collectors.groupingBy(GenreNode::parentId,
+                            Collectors.mapping(GenreNode::id, Collectors.toList())));
+            var byId = genres.stream()
+                    .map(genre -> new GenreNode(genre.id(), genre.name().intern(), genre.parentId(),
+                            List.copyOf(subGenreIds.getOrDefault(genre.id(), List.of()))))
+                    .collect(Collectors.toUnmodifiableMap(GenreNode::id, Function.identity()));
+            // Names are unique as written, the first one wins should two differ only by case
+            var byName = byId.values().stream()
+                    .sorted(Comparator.comparing(GenreNode::id))
+                    .collect(Collectors.toMap(genre -> key(genre.name()), Function.identity(), (first, second) -> first));
+            return new Snapshot(byId, Map.copyOf(byName));
+        }
+    }
+}
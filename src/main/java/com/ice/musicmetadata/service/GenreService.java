@@ -0,0 +1,122 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Genre;
+import com.ice.musicmetadata.domain.GenreClosure;
+import com.ice.musicmetadata.domain.GenreNode;
+import com.ice.musicmetadata.mapper.GenreMapper;
+import com.ice.musicmetadata.model.CreateGenreRequest;
+import com.ice.musicmetadata.model.GenreResponse;
+import com.ice.musicmetadata.repository.GenreClosureRepository;
+import com.ice.musicmetadata.repository.GenreRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GenreService {
+    private final GenreRepository genreRepository;
+    private final GenreClosureRepository genreClosureRepository;
+    private final GenreRegistry genreRegistry;
+    private final GenreMapper genreMapper;
+
+    /**
+     * Adds a genre to the genre tree, under the parent genre named in the request if any.
+     *
+     * @param createGenreRequest The request containing the genre details.
+     * @return The created genre.
+     * @throws IllegalArgumentException if the parent genre is not found or the genre name is already taken.
+     */
+    @Transactional
+    public GenreResponse addGenre(CreateGenreRequest createGenreRequest) throws IllegalArgumentException {
+        if (genreRepository.findByName(createGenreRequest.getName()).isPresent()) {
+            throw new IllegalArgumentException("Genre name already exists");
+        }
+        var parentGenre = Objects.isNull(createGenreRequest.getParentGenre()) ? null :
+                genreRepository.findByName(createGenreRequest.getParentGenre())
+                        .orElseThrow(() -> new IllegalArgumentException("Parent genre not found"));
+        var genre = Genre.builder()
+                .name(createGenreRequest.getName())
+                .description(createGenreRequest.getDescription())
+                .parentGenre(parentGenre)
+                .build();
+        try {
+            return genreMapper.mapToGenreResponse(saveGenre(genre));
+        } catch (DataIntegrityViolationException e) {
+            // The name is the only unique key of a genre, taken meanwhile by a concurrent request
+            throw new IllegalArgumentException("Genre name already exists", e);
+        }
+    }
+
+    /**
+     * Creates or updates a genre, moving it with its whole subtree when its parent changes, and rebuilds the genre
+     * closure in the same transaction so subtree queries never see the tree and its closure disagree.
+     * Deleted genres drop out of the closure by cascade. The genre registry of this node reloads once the transaction
+     * commits, so tracks can name the genre straight away; the other nodes reload on their schedule.
+     *
+     * @param genre The genre to save.
+     * @return The saved genre.
+     * @throws IllegalArgumentException if the genre would become its own ancestor.
+     */
+    @Transactional
+    public Genre saveGenre(Genre genre) throws IllegalArgumentException {
+        var saved = genreRepository.saveAndFlush(genre);
+        rebuildClosure();
+        refreshRegistryAfterCommit();
+        return saved;
+    }
+
+    /**
+     * Rebuilds the genre closure from the genre tree. The tree holds a few hundred genres at most,
+     * so rewriting every pair is cheaper to reason about than patching the subtree that moved.
+     *
+     * @throws IllegalArgumentException if the genre tree has a cycle.
+     */
+    @Transactional
+    public void rebuildClosure() throws IllegalArgumentException {
+        var genres = genreRepository.findAllNodes().stream()
+                .collect(Collectors.toMap(GenreNode::id, Function.identity()));
+        var closure = new ArrayList<GenreClosure>();
+        for (var genre : genres.values()) {
+            var seen = new HashSet<Long>();
+            var depth = 0;
+            for (var ancestor = genre; ancestor != null; ancestor = genres.get(ancestor.parentId()), depth++) {
+                if (!seen.add(ancestor.id())) {
+                    throw new IllegalArgumentException("Genre cannot be its own ancestor");
+                }
+                closure.add(GenreClosure.builder()
+                        .ancestorId(ancestor.id())
+                        .descendantId(genre.id())
+                        .depth(depth)
+                        .build());
+            }
+        }
+        genreClosureRepository.deleteAllInBatch();
+        genreClosureRepository.saveAll(closure);
+        log.debug("Genre closure rebuilt with {} pairs for {} genres", closure.size(), genres.size());
+    }
+
+    private void refreshRegistryAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    genreRegistry.refresh();
+                }
+            });
+        } else {
+            genreRegistry.refresh();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ice.musicmetadata.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Cache invalidation bus between the nodes running in one JVM, for a single node deployment and for tests.
+ * Every instance is a node of its own: an invalidation published by one reaches the subscribers of every other
+ * instance, in publishing order, on a single thread of the publishing instance.
+ */
+@Slf4j
+public class InJvmCacheInvalidationBus implements CacheInvalidationBus, AutoCloseable {
+    private static final Set<InJvmCacheInvalidationBus> NODES = ConcurrentHashMap.newKeySet();
+
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("cache-invalidation-in-jvm").daemon().factory());
+
+    public InJvmCacheInvalidationBus() {
+        NODES.add(this);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        if (invalidation.isEmpty()) {
+            return;
+        }
+        sender.execute(() -> NODES.stream()
+                .filter(node -> node != this)
+                .forEach(node -> node.deliver(invalidation)));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Leaves the JVM's nodes and stops sending, typically as the application context closes.
+     */
+    @Override
+    public void close() {
+        NODES.remove(this);
+        sender.shutdown();
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (var subscriber : subscribers) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation {} failed on a subscriber", invalidation, e);
+            }
+        }
+    }
+}
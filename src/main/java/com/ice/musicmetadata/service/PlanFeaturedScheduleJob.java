@@ -0,0 +1,21 @@
+package com.ice.musicmetadata.service;
+
+import lombok.RequiredArgsConstructor;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * Quartz job planning the featured schedule ahead, on one node of the cluster so the nodes do not race to insert
+ * the same days.
+ */
+@DisallowConcurrentExecution
+@RequiredArgsConstructor
+public class PlanFeaturedScheduleJob extends QuartzJobBean {
+    private final FeaturedSchedulePlanner featuredSchedulePlanner;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        featuredSchedulePlanner.planSchedule();
+    }
+}
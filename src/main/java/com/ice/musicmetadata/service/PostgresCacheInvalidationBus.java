@@ -0,0 +1,174 @@
+package com.ice.musicmetadata.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Cache invalidation bus over PostgreSQL {@code LISTEN}/{@code NOTIFY}, reaching every node connected to the same
+ * database with no broker to run. Notifications are delivered only once their transaction commits, and within
+ * milliseconds.
+ * <p>
+ * Invalidations are queued and sent by a thread of their own, which merges whatever queued up while it was sending
+ * into one notification, split to stay under the 8000 byte payload limit. Another thread holds a pooled connection
+ * listening on the channel and passes on the notifications of the other nodes, each tagged with the id of the node
+ * that sent it. Should that connection be lost, it listens again on a new one, and what was sent meanwhile is missed.
+ */
+@Slf4j
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    // About 40 bytes of JSON each, keeping the payload well under 8000 bytes
+    private static final int MAXIMUM_ARTISTS_PER_NOTIFICATION = 150;
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<CacheInvalidation> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread sender;
+    private Thread listener;
+
+    /**
+     * A notification on the channel.
+     *
+     * @param node         The id of the node that sent it.
+     * @param invalidation The invalidation.
+     */
+    record Notification(String node, CacheInvalidation invalidation) {
+    }
+
+    public PostgresCacheInvalidationBus(DataSource dataSource, ObjectMapper objectMapper, String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        if (!invalidation.isEmpty()) {
+            queue.add(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        sender = Thread.ofPlatform().name("cache-invalidation-sender").daemon().start(this::send);
+        listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        sender.interrupt();
+        try {
+            listener.join(2L * POLL_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void send() {
+        while (running) {
+            try {
+                var batch = new ArrayList<CacheInvalidation>();
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                sendNotifications(batch.stream().reduce(CacheInvalidation.NONE, CacheInvalidation::merge));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void sendNotifications(CacheInvalidation invalidation) {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            connection.setAutoCommit(true);
+            for (var part : invalidation.split(MAXIMUM_ARTISTS_PER_NOTIFICATION)) {
+                statement.setString(1, channel);
+                statement.setString(2, objectMapper.writeValueAsString(new Notification(nodeId, part)));
+                statement.execute();
+            }
+        } catch (SQLException | JsonProcessingException e) {
+            log.warn("Cache invalidation {} could not be sent to the other nodes", invalidation, e);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (var connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel {}", channel);
+                var pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    var notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (var notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, listening again in {} ms",
+                            RECONNECT_DELAY_MILLIS, e);
+                    try {
+                        Thread.sleep(RECONNECT_DELAY_MILLIS);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            var notification = objectMapper.readValue(payload, Notification.class);
+            if (nodeId.equals(notification.node())) {
+                return;
+            }
+            for (var subscriber : subscribers) {
+                subscriber.accept(notification.invalidation());
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Cache invalidation {} failed", payload, e);
+        }
+    }
+}
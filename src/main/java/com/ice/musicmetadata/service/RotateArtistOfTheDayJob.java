@@ -0,0 +1,30 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.exception.NoEligibleArtistsException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * Quartz job rotating the artist of the day. The job store is shared by the cluster, so each midnight trigger
+ * fires on exactly one node, and a trigger missed while every node was down fires once when one comes back.
+ */
+@Slf4j
+@DisallowConcurrentExecution
+@RequiredArgsConstructor
+public class RotateArtistOfTheDayJob extends QuartzJobBean {
+    private final FeaturedArtistService featuredArtistService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        try {
+            var artist = featuredArtistService.rotateArtistOfTheDay();
+            log.info("Artist of the day rotated to {}", artist.getArtistId());
+        } catch (NoEligibleArtistsException e) {
+            throw new JobExecutionException(e, false);
+        }
+    }
+}
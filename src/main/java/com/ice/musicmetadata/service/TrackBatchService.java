@@ -0,0 +1,135 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackKey;
+import com.ice.musicmetadata.mapper.TrackMapper;
+import com.ice.musicmetadata.model.BulkCreateTracksRequest;
+import com.ice.musicmetadata.model.BulkCreateTracksResponse;
+import com.ice.musicmetadata.model.BulkTrackResult;
+import com.ice.musicmetadata.model.CreateTrackRequest;
+import com.ice.musicmetadata.repository.ArtistRepository;
+import com.ice.musicmetadata.repository.TrackRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TrackBatchService {
+    private final ArtistRepository artistRepository;
+    private final TrackRepository trackRepository;
+    private final GenreRegistry genreRegistry;
+    private final TrackMapper trackMapper;
+    private final ArtistTracksCache artistTracksCache;
+
+    /**
+     * Adds a batch of tracks, accepting or rejecting each one on its own.
+     * The artists and existing titles of the whole batch are resolved up front with one query each, genres
+     * come from the genre registry, and the accepted tracks are inserted with batched statements, so the
+     * number of round trips does not grow with the batch. Items are checked with the same rules as a single track, and a title repeated
+     * within the batch is rejected after its first occurrence. A title a concurrent request commits between the check
+     * and the insert is rejected on its own, as if it had been there at the check.
+     *
+     * @param bulkCreateTracksRequest The request containing the tracks to add.
+     * @return The outcome of every item, in request order.
+     */
+    @Transactional
+    public BulkCreateTracksResponse addTracks(BulkCreateTracksRequest bulkCreateTracksRequest) {
+        var trackRequests = bulkCreateTracksRequest.getTracks();
+        var artists = artistRepository.findAllByArtistIdIn(trackRequests.stream()
+                        .map(CreateTrackRequest::getArtistId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Artist::getArtistId, Function.identity()));
+        var trackKeys = findTrackKeys(trackRequests, artists.values());
+
+        var results = new ArrayList<BulkTrackResult>(trackRequests.size());
+        var tracks = new ArrayList<Track>();
+        var trackIndexes = new HashMap<UUID, Integer>();
+        for (int i = 0; i < trackRequests.size(); i++) {
+            var trackRequest = trackRequests.get(i);
+            var artist = artists.get(trackRequest.getArtistId());
+            var error = validate(trackRequest, artist, trackKeys);
+            if (error != null) {
+                results.add(new BulkTrackResult().index(i).status(BulkTrackResult.StatusEnum.FAILED).error(error));
+                continue;
+            }
+            trackKeys.add(new TrackKey(artist.getId(), trackRequest.getTitle()));
+            var track = buildTrack(trackRequest, artist);
+            tracks.add(track);
+            trackIndexes.put(track.getTrackId(), i);
+            results.add(new BulkTrackResult().index(i).status(BulkTrackResult.StatusEnum.CREATED)
+                    .track(trackMapper.mapToTrackResponse(track)));
+        }
+
+        var inserted = tracks.isEmpty() ? List.<Track>of() : trackRepository.insertAll(tracks);
+        if (inserted.size() < tracks.size()) {
+            inserted.forEach(track -> trackIndexes.remove(track.getTrackId()));
+            trackIndexes.values().forEach(index -> results.set(index, new BulkTrackResult().index(index)
+                    .status(BulkTrackResult.StatusEnum.FAILED)
+                    .error("Track title already exists for this artist")));
+        }
+        inserted.stream()
+                .collect(Collectors.groupingBy(Track::getArtist, Collectors.counting()))
+                .forEach((artist, count) -> {
+                    artistRepository.incrementTrackCount(artist.getId(), count.intValue());
+                    artistTracksCache.evictArtist(artist.getArtistId());
+                });
+        return new BulkCreateTracksResponse()
+                .created(inserted.size())
+                .failed(trackRequests.size() - inserted.size())
+                .results(results);
+    }
+
+    private Set<TrackKey> findTrackKeys(List<CreateTrackRequest> trackRequests, Collection<Artist> artists) {
+        if (artists.isEmpty()) {
+            return new HashSet<>();
+        }
+        var titles = trackRequests.stream()
+                .map(CreateTrackRequest::getTitle)
+                .collect(Collectors.toSet());
+        var artistIds = artists.stream().map(Artist::getId).toList();
+        return new HashSet<>(trackRepository.findTrackKeys(artistIds, titles));
+    }
+
+    private static String validate(CreateTrackRequest trackRequest, Artist artist, Set<TrackKey> trackKeys) {
+        if (artist == null) {
+            return "Artist not found";
+        }
+        if (trackRequest.getTitle().isEmpty()) {
+            return "Track title cannot be null or empty";
+        }
+        if (trackRequest.getDurationInSeconds() <= 0) {
+            return "Track duration must be greater than 0";
+        }
+        if (trackRequest.getReleaseDate() == null) {
+            return "Track release date cannot be null";
+        }
+        if (trackKeys.contains(new TrackKey(artist.getId(), trackRequest.getTitle()))) {
+            return "Track title already exists for this artist";
+        }
+        return null;
+    }
+
+    private Track buildTrack(CreateTrackRequest trackRequest, Artist artist) {
+        var track = Track.builder().artist(artist)
+                .trackId(UUID.randomUUID())
+                .title(trackRequest.getTitle())
+                .duration(trackRequest.getDurationInSeconds())
+                .releaseDate(trackRequest.getReleaseDate())
+                .build();
+        if (Objects.nonNull(trackRequest.getGenre()) && !trackRequest.getGenre().isBlank()) {
+            genreRegistry.findReference(trackRequest.getGenre())
+                    .ifPresentOrElse(
+                            track::setGenre,
+                            () -> track.setGenreName(trackRequest.getGenre())
+                    );
+        }
+        return track;
+    }
+}
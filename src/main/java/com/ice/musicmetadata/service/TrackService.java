@@ -0,0 +1,73 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.GenreNode;
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackFilter;
+import com.ice.musicmetadata.mapper.TrackMapper;
+import com.ice.musicmetadata.model.CreateTrackRequest;
+import com.ice.musicmetadata.model.TrackPageResponse;
+import com.ice.musicmetadata.model.TrackResponse;
+import com.ice.musicmetadata.repository.ArtistRepository;
+import com.ice.musicmetadata.repository.TrackRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class TrackService {
+    private final ArtistRepository artistRepository;
+    private final TrackRepository trackRepository;
+    private final GenreRegistry genreRegistry;
+    private final TrackMapper trackMapper;
+    private final ArtistService artistService;
+
+    /**
+     * Retrieves a page of tracks across the catalogue, ordered by release date then id, matching every given filter.
+     * Pages are read by seeking past the cursor on the (filter, release date, id) index matching the filters,
+     * so a page costs the same however deep it is and however large the catalogue grows. A genre matches both
+     * tracks referencing the catalogued genre and tracks carrying its name as free text, and with sub-genres
+     * included, the tracks of every genre below it, found through the genre closure. No totals are returned.
+     *
+     * @param artistId     The ID of the artist to filter by, or null.
+     * @param genre        The genre name to filter by, or null.
+     * @param subGenres    Whether the genre also matches the tracks of its sub-genres, at any depth, or null for false.
+     * @param releasedFrom The earliest release date, inclusive, or null.
+     * @param releasedTo   The latest release date, inclusive, or null.
+     * @param size         The number of tracks per page.
+     * @param after        The opaque cursor of the previous page, or null for the first page.
+     * @return A page of tracks with the cursor of the next one.
+     * @throws EntityNotFoundException  if the artist is not found.
+     * @throws IllegalArgumentException if the cursor is malformed or the release date range is inverted.
+     */
+    public TrackPageResponse getTracks(UUID artistId, String genre, Boolean subGenres, LocalDate releasedFrom,
+                                       LocalDate releasedTo, Integer size, String after) throws EntityNotFoundException, IllegalArgumentException {
+        var cursor = after == null ? null : TrackCursor.decode(after);
+        if (releasedFrom != null && releasedTo != null && releasedFrom.isAfter(releasedTo)) {
+            throw new IllegalArgumentException("Release date range start must not be after its end");
+        }
+        if (artistId != null && !artistRepository.existsByArtistId(artistId)) {
+            throw new EntityNotFoundException("Artist not found");
+        }
+        var genreName = genre == null || genre.isBlank() ? null : genre;
+        var genreId = genreName == null ? null : genreRegistry.findByName(genreName).map(GenreNode::id).orElse(null);
+        var filter = new TrackFilter(artistId, genreId, genreName, Boolean.TRUE.equals(subGenres),
+                releasedFrom, releasedTo);
+        return trackMapper.mapToTrackCursorPageResponse(trackRepository.findViews(filter, cursor, size));
+    }
+
+    /**
+     * Adds a new track to the artist named in the request, with the same rules as adding it through the artist.
+     *
+     * @param createTrackRequest The request containing the artist and the track details.
+     * @return The added track response.
+     * @throws EntityNotFoundException  if the artist is not found.
+     * @throws IllegalArgumentException if the title, duration, or release date is invalid, or if the title already exists for the artist.
+     */
+    public TrackResponse addTrack(CreateTrackRequest createTrackRequest) throws EntityNotFoundException, IllegalArgumentException {
+        return artistService.addTrack(createTrackRequest.getArtistId(), trackMapper.mapToTrackRequest(createTrackRequest));
+    }
+}
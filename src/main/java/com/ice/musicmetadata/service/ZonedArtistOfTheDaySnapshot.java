@@ -0,0 +1,75 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.FeaturedSchedule;
+import com.ice.musicmetadata.repository.FeaturedScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the artist of the day of any time zone, whose day turns at its own midnight rather than the server's.
+ * <p>
+ * Every offset in use, from -12:00 to +14:00, is within a day of UTC, so the days of all zones at any instant are
+ * among a few dates around the server's today. The artists scheduled for those dates are encoded ahead into an
+ * immutable snapshot, keyed by date, that replaces the previous one whole. A request only works out its zone's
+ * date and looks it up, with no database access, and zones on the same date share the same entry.
+ * The snapshot is rebuilt whenever the schedule or the artist of the day may have changed, and at least daily.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ZonedArtistOfTheDaySnapshot {
+    // Wide enough for zones a day either side of the server's, until the next daily rebuild
+    private static final int DAYS_AROUND_TODAY = 2;
+
+    private final FeaturedScheduleRepository featuredScheduleRepository;
+    private final ArtistOfTheDayResponseCache artistOfTheDayResponseCache;
+    private final Clock clock;
+    private volatile Map<LocalDate, ArtistOfTheDayResponseCache.EncodedResponse> byDate = Map.of();
+
+    /**
+     * Retrieves the encoded artist of the day of a time zone from the snapshot.
+     *
+     * @param zone The time zone.
+     * @return The encoded response of the artist scheduled for the zone's current date, or empty if that date is not
+     * planned.
+     */
+    public Optional<ArtistOfTheDayResponseCache.EncodedResponse> get(ZoneId zone) {
+        return Optional.ofNullable(byDate.get(LocalDate.ofInstant(clock.instant(), zone)));
+    }
+
+    /**
+     * Tells whether the snapshot features any of the given artists on any of its dates.
+     *
+     * @param artistIds The IDs of the artists.
+     * @return True if one of them is the artist of the day of some zone around today.
+     */
+    public boolean features(Collection<UUID> artistIds) {
+        return byDate.values().stream().anyMatch(encoded -> artistIds.contains(encoded.artist().getArtistId()));
+    }
+
+    /**
+     * Rebuilds the snapshot from the schedule around today. Runs in a transaction of its own, so it can be called
+     * after another one commits and read what it committed.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void rebuild() {
+        var today = LocalDate.now(clock);
+        byDate = featuredScheduleRepository.findAllByFeatureDateBetween(
+                        today.minusDays(DAYS_AROUND_TODAY), today.plusDays(DAYS_AROUND_TODAY)).stream()
+                .collect(Collectors.toUnmodifiableMap(FeaturedSchedule::getFeatureDate,
+                        featured -> artistOfTheDayResponseCache.encode(featured.getArtist())));
+        log.debug("Zoned artist of the day snapshot rebuilt for {}", byDate.keySet());
+    }
+}
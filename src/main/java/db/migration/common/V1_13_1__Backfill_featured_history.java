@@ -0,0 +1,57 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Records the last rotation in the featured history V1.13 creates. Only the featured time of the artist rotated
+ * last was kept before, the earlier days are lost, and the featured time of any other artist is at best an older
+ * rotation and at worst the column default of its insert, so none of them is backfilled.
+ * <p>
+ * The date of the rotation is taken in the time zone of the application clock, the system default zone, rather
+ * than the session zone of the database. A rotation of today is left for the rotation to record, or it would keep
+ * today's real entry out. Nor is anything recorded when no artist was ever rotated: an artist never featured has
+ * the time of its insert, and artists inserted together share it.
+ */
+public class V1_13_1__Backfill_featured_history extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        long artistId;
+        Instant featuredAt;
+        try (var select = connection.createStatement();
+             var artists = select.executeQuery("SELECT a.id, a.featured_at FROM artists a " +
+                                               "WHERE a.featured_at IS NOT NULL " +
+                                               "AND (a.created_at IS NULL OR a.featured_at <> a.created_at) " +
+                                               "ORDER BY a.featured_at DESC, a.id DESC " +
+                                               "FETCH FIRST 2 ROWS ONLY")) {
+            if (!artists.next()) {
+                return;
+            }
+            artistId = artists.getLong("id");
+            featuredAt = artists.getTimestamp("featured_at").toInstant();
+            if (artists.next() && artists.getTimestamp("featured_at").toInstant().equals(featuredAt)) {
+                return;
+            }
+        }
+        var zone = ZoneId.systemDefault();
+        var featureDate = LocalDate.ofInstant(featuredAt, zone);
+        if (!featureDate.isBefore(LocalDate.now(zone))) {
+            return;
+        }
+        try (var insert = connection.prepareStatement(
+                "INSERT INTO featured_history (feature_date, artist_id, featured_at) VALUES (?, ?, ?)")) {
+            insert.setObject(1, featureDate);
+            insert.setLong(2, artistId);
+            insert.setTimestamp(3, Timestamp.from(featuredAt));
+            insert.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * Looks for tracks that V1.7 would fail to make unique by artist and title, before it runs. Catalogs loaded while
+ * titles were only checked by the application may hold the same title twice for an artist.
+ * <p>
+ * The migration does not pick a copy to keep: track IDs are public, handed out in the Location of every created
+ * track, so deleting one breaks the clients holding it. The clashing tracks are listed instead, for them to be
+ * renamed or merged by hand before migrating again.
+ */
+public class V1_6_1__Check_tracks_titles_unique extends BaseJavaMigration {
+    private static final int MAXIMUM_REPORTED_TRACKS = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var clashes = new ArrayList<String>();
+        try (var select = context.getConnection().createStatement();
+             var tracks = select.executeQuery("SELECT a.artist_id, a.name, t.title, t.track_id FROM tracks t " +
+                                              "JOIN artists a ON a.id = t.artist_id " +
+                                              "WHERE EXISTS (SELECT 1 FROM tracks other " +
+                                              "WHERE other.artist_id = t.artist_id AND other.title = t.title " +
+                                              "AND other.id <> t.id) " +
+                                              "ORDER BY a.id, t.title, t.id")) {
+            while (tracks.next() && clashes.size() < MAXIMUM_REPORTED_TRACKS) {
+                clashes.add("  artist " + tracks.getString("artist_id") + " '" + tracks.getString("name") +
+                            "', title '" + tracks.getString("title") + "': track " + tracks.getString("track_id"));
+            }
+        }
+        if (!clashes.isEmpty()) {
+            throw new FlywayException("Track titles must be unique per artist before V1.7 makes them so. Rename or " +
+                                      "merge these tracks and migrate again (at most " + MAXIMUM_REPORTED_TRACKS +
+                                      " shown):\n" + String.join("\n", clashes));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Fills the name key of every existing artist. Accents cannot be stripped the same way in SQL on every database,
+ * so the key is computed here and written back in batches. The normalization is the one the entity applied when
+ * this migration was written, copied rather than called, so the keys it writes never change with the entity.
+ * <p>
+ * Artists whose names differ only in case or accents get the same key, which V1.10 then fails to make unique. They
+ * are looked for once the keys are written, and the migration stops listing them, for them to be renamed or merged
+ * by hand: which artist to keep, and where its tracks and aliases go, is not for a migration to guess.
+ */
+public class V1_9__Backfill_artists_name_key extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 1_000;
+    private static final int MAXIMUM_REPORTED_ARTISTS = 50;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        try (var select = connection.createStatement();
+             var update = connection.prepareStatement("UPDATE artists SET name_key = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (var artists = select.executeQuery("SELECT id, name FROM artists")) {
+                var batched = 0;
+                while (artists.next()) {
+                    update.setString(1, toNameKey(artists.getString("name")));
+                    update.setLong(2, artists.getLong("id"));
+                    update.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        update.executeBatch();
+                    }
+                }
+                update.executeBatch();
+            }
+        }
+        checkNameKeysUnique(connection);
+    }
+
+    private static void checkNameKeysUnique(Connection connection) throws SQLException {
+        var clashes = new ArrayList<String>();
+        try (var select = connection.createStatement();
+             var artists = select.executeQuery("SELECT a.id, a.name, a.name_key FROM artists a " +
+                                               "WHERE a.name_key IN (SELECT name_key FROM artists " +
+                                               "GROUP BY name_key HAVING COUNT(*) > 1) " +
+                                               "ORDER BY a.name_key, a.id")) {
+            while (artists.next() && clashes.size() < MAXIMUM_REPORTED_ARTISTS) {
+                clashes.add("  key '" + artists.getString("name_key") + "': artist " + artists.getLong("id") +
+                            " '" + artists.getString("name") + "'");
+            }
+        }
+        if (!clashes.isEmpty()) {
+            throw new FlywayException("Artist names must differ by more than case or accents before V1.10 makes " +
+                                      "their name keys unique. Rename or merge these artists and migrate again " +
+                                      "(at most " + MAXIMUM_REPORTED_ARTISTS + " shown):\n" + String.join("\n", clashes));
+        }
+    }
+
+    // As Artist.toNameKey was in V1.9: accents stripped, case folded and runs of whitespace collapsed
+    private static String toNameKey(String name) {
+        var stripped = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+}
@@ -0,0 +1,13 @@
+SET SCHEMA "MUSIC_METADATA";
+
+-- The artist of the day planned ahead, one row per date, kept after the date passes
+CREATE TABLE featured_schedule (
+                                   feature_date DATE PRIMARY KEY,
+                                   artist_id BIGINT NOT NULL,
+                                   created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                   version BIGINT NOT NULL DEFAULT 0,
+                                   CONSTRAINT fk_featured_schedule_artist_id FOREIGN KEY (artist_id) REFERENCES artists (id) ON DELETE CASCADE
+);
+
+-- Supports finding the last date each artist was planned for when the next days are planned
+CREATE INDEX idx_featured_schedule_artist_id_feature_date ON featured_schedule (artist_id, feature_date);
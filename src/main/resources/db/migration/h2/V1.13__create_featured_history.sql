@@ -0,0 +1,11 @@
+SET SCHEMA "MUSIC_METADATA";
+
+-- The artist of the day as actually rotated, one row per date, only ever inserted
+CREATE TABLE featured_history (
+                                  feature_date DATE PRIMARY KEY,
+                                  artist_id BIGINT NOT NULL,
+                                  featured_at TIMESTAMP NOT NULL,
+                                  CONSTRAINT fk_featured_history_artist_id FOREIGN KEY (artist_id) REFERENCES artists (id) ON DELETE CASCADE
+);
+
+-- Only the last rotation was kept before, V1.13.1 backfills it in the application's time zone
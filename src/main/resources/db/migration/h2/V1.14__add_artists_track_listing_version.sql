@@ -0,0 +1,5 @@
+SET SCHEMA "MUSIC_METADATA";
+
+-- Bumped with the track counter by every write to an artist's tracks, so the entity tag of the track listing is
+-- read from the artist row rather than aggregated over the tracks
+ALTER TABLE artists ADD COLUMN track_listing_version BIGINT NOT NULL DEFAULT 0;
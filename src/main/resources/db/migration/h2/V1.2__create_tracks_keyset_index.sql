@@ -0,0 +1,4 @@
+SET SCHEMA "MUSIC_METADATA";
+
+-- Supports keyset pagination of an artist's tracks ordered by (release_date, id)
+CREATE INDEX idx_tracks_artist_id_release_date_id ON tracks (artist_id, release_date, id);
@@ -0,0 +1,15 @@
+SET SCHEMA "MUSIC_METADATA";
+
+-- Progress of catalog imports, committed with each written batch so an import can resume after a failure
+CREATE TABLE import_checkpoints (
+                                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                    source VARCHAR(1024) NOT NULL,
+                                    fingerprint VARCHAR(100) NOT NULL,
+                                    rows_committed BIGINT NOT NULL DEFAULT 0,
+                                    tracks_written BIGINT NOT NULL DEFAULT 0,
+                                    rows_rejected BIGINT NOT NULL DEFAULT 0,
+                                    completed_at TIMESTAMP,
+                                    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                                    version BIGINT NOT NULL DEFAULT 0,
+                                    CONSTRAINT uk_import_checkpoints_source UNIQUE (source)
+);
@@ -0,0 +1,22 @@
+SET SCHEMA "MUSIC_METADATA";
+
+-- Every (ancestor, descendant) pair of the genre tree, each genre being its own ancestor at depth 0,
+-- so a genre subtree is one indexed lookup rather than a recursive walk
+CREATE TABLE genre_closure (
+                               ancestor_id BIGINT NOT NULL,
+                               descendant_id BIGINT NOT NULL,
+                               depth INTEGER NOT NULL,
+                               PRIMARY KEY (ancestor_id, descendant_id),
+                               CONSTRAINT fk_genre_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES genres (id) ON DELETE CASCADE,
+                               CONSTRAINT fk_genre_closure_descendant FOREIGN KEY (descendant_id) REFERENCES genres (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_genre_closure_descendant_id ON genre_closure (descendant_id);
+
+INSERT INTO genre_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS (
+    SELECT id, id, 0 FROM genres
+    UNION ALL
+    SELECT tree.ancestor_id, g.id, tree.depth + 1 FROM tree JOIN genres g ON g.parent_genre_id = tree.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth FROM tree;
@@ -0,0 +1,4 @@
+SET SCHEMA "MUSIC_METADATA";
+
+-- Case-folded, accent-stripped artist name, filled by the V1.9 Java migration and made unique by V1.10
+ALTER TABLE artists ADD COLUMN name_key VARCHAR(255);
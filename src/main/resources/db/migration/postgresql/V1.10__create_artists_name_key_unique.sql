@@ -0,0 +1,6 @@
+SET
+search_path TO music_metadata;
+
+-- Serves the rename uniqueness check and the exact-name lookup, and keeps names differing only in case or accents apart
+ALTER TABLE artists ALTER COLUMN name_key SET NOT NULL;
+ALTER TABLE artists ADD CONSTRAINT uk_artists_name_key UNIQUE (name_key);
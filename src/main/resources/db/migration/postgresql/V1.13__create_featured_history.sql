@@ -0,0 +1,13 @@
+SET
+search_path TO music_metadata;
+
+-- The artist of the day as actually rotated, one row per date, only ever inserted
+CREATE TABLE featured_history
+(
+    feature_date DATE PRIMARY KEY,
+    artist_id    BIGINT                   NOT NULL,
+    featured_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_featured_history_artist_id FOREIGN KEY (artist_id) REFERENCES artists (id) ON DELETE CASCADE
+);
+
+-- Only the last rotation was kept before, V1.13.1 backfills it in the application's time zone
@@ -0,0 +1,5 @@
+SET
+search_path TO music_metadata;
+
+-- Supports keyset pagination of an artist's tracks ordered by (release_date, id)
+CREATE INDEX idx_tracks_artist_id_release_date_id ON tracks (artist_id, release_date, id);
@@ -0,0 +1,8 @@
+SET
+search_path TO music_metadata;
+
+-- Denormalized per-artist track counter so track page totals are a single-row lookup
+ALTER TABLE artists ADD COLUMN track_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE artists a
+SET track_count = (SELECT COUNT(*) FROM tracks t WHERE t.artist_id = a.id);
@@ -0,0 +1,17 @@
+SET
+search_path TO music_metadata;
+
+-- Progress of catalog imports, committed with each written batch so an import can resume after a failure
+CREATE TABLE import_checkpoints
+(
+    id             BIGSERIAL PRIMARY KEY,
+    source         VARCHAR(1024)            NOT NULL,
+    fingerprint    VARCHAR(100)             NOT NULL,
+    rows_committed BIGINT                   NOT NULL DEFAULT 0,
+    tracks_written BIGINT                   NOT NULL DEFAULT 0,
+    rows_rejected  BIGINT                   NOT NULL DEFAULT 0,
+    completed_at   TIMESTAMP WITH TIME ZONE,
+    updated_at     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    version        BIGINT                   NOT NULL DEFAULT 0,
+    CONSTRAINT uk_import_checkpoints_source UNIQUE (source)
+);
@@ -0,0 +1,7 @@
+SET
+search_path TO music_metadata;
+
+-- Support keyset pagination of the global track listing ordered by (release_date, id), filtered by genre or not
+CREATE INDEX idx_tracks_genre_id_release_date_id ON tracks (genre_id, release_date, id);
+CREATE INDEX idx_tracks_genre_release_date_id ON tracks (genre, release_date, id);
+CREATE INDEX idx_tracks_release_date_id ON tracks (release_date, id);
@@ -0,0 +1,7 @@
+SET
+search_path TO music_metadata;
+
+-- An artist's track titles are unique, enforced by the insert itself so concurrent submissions cannot race past a check.
+-- The unique index leads with artist_id, so it also serves the lookups of the plain artist_id index it replaces.
+ALTER TABLE tracks ADD CONSTRAINT uk_tracks_artist_id_title UNIQUE (artist_id, title);
+DROP INDEX idx_tracks_artist_id;
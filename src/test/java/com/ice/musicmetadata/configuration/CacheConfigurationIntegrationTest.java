@@ -0,0 +1,101 @@
+package com.ice.musicmetadata.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.ice.musicmetadata.model.TrackPageResponse;
+import com.ice.musicmetadata.service.ArtistTracksCache;
+import com.ice.musicmetadata.service.FeaturedArtistService;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CacheConfigurationIntegrationTest {
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DisplayName("Caches - Each cache is built from its own spec and records statistics")
+    @Test
+    void cacheSpecs() {
+        // Act
+        var artistTracks = nativeCache(ArtistTracksCache.ARTIST_TRACKS_CACHE_NAME);
+        var featuredArtist = nativeCache("featured-artist");
+        var featuredHistory = nativeCache(FeaturedArtistService.FEATURED_HISTORY_CACHE_NAME);
+
+        // Assert
+        assertThat(artistTracks.policy().eviction()).hasValueSatisfying(eviction -> {
+            assertThat(eviction.isWeighted()).isTrue();
+            assertThat(eviction.getMaximum()).isEqualTo(32L * 1024 * 1024);
+        });
+        assertThat(artistTracks.policy().expireAfterAccess()).isPresent();
+        assertThat(artistTracks.policy().expireAfterWrite()).isEmpty();
+        assertThat(featuredArtist).isInstanceOf(LoadingCache.class);
+        assertThat(featuredArtist.policy().refreshAfterWrite()).hasValueSatisfying(refresh ->
+                assertThat(refresh.getRefreshesAfter()).isEqualTo(Duration.ofHours(1)));
+        assertThat(featuredHistory.policy().eviction()).hasValueSatisfying(eviction ->
+                assertThat(eviction.isWeighted()).isFalse());
+        assertThat(featuredHistory.policy().expireAfterWrite()).isEmpty();
+        assertThat(cacheManager.getCacheNames()).allSatisfy(name ->
+                assertThat(nativeCache(name).policy().isRecordingStats()).isTrue());
+    }
+
+    @DisplayName("Caches - A track page weighs the bytes of its JSON and its hit ratio and load time show in actuator")
+    @Test
+    void artistTracksWeightAndMetrics() throws Exception {
+        // Arrange
+        var uri = "/v1/artists/{artistId}/tracks?page=0&size=5";
+        var artistTracks = nativeCache(ArtistTracksCache.ARTIST_TRACKS_CACHE_NAME);
+
+        // Act
+        // A miss, then a hit
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get()
+                    .uri(uri, TestUtils.MICHAEL_JACKSON_ARTIST_ID)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // Assert
+        var key = artistTracks.asMap().keySet().stream()
+                // The cache also holds the track listing entity tags, under keys of their own
+                .filter(cached -> cached instanceof ArtistTracksCache.Key pageKey &&
+                                  pageKey.artistId().equals(TestUtils.MICHAEL_JACKSON_ARTIST_ID))
+                .findFirst()
+                .orElseThrow();
+        var page = (TrackPageResponse) artistTracks.getIfPresent(key);
+        assertThat(artistTracks.policy().eviction().orElseThrow().weightOf(key))
+                .hasValue(objectMapper.writeValueAsBytes(page).length);
+        webTestClient.get()
+                .uri("/actuator/metrics/cache.hit.ratio?tag=cache:{cache}", ArtistTracksCache.ARTIST_TRACKS_CACHE_NAME)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.measurements[0].value").value(greaterThan(0.0));
+        for (var metric : new String[]{"cache.gets", "cache.evictions", "cache.eviction.weight", "cache.load.average"}) {
+            webTestClient.get()
+                    .uri("/actuator/metrics/{metric}?tag=cache:{cache}", metric, ArtistTracksCache.ARTIST_TRACKS_CACHE_NAME)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache(String name) {
+        return (Cache<Object, Object>) Objects.requireNonNull(cacheManager.getCache(name)).getNativeCache();
+    }
+}
@@ -0,0 +1,147 @@
+package com.ice.musicmetadata.controller;
+
+import com.ice.musicmetadata.model.BulkCreateTracksRequest;
+import com.ice.musicmetadata.model.BulkCreateTracksResponse;
+import com.ice.musicmetadata.model.BulkTrackResult;
+import com.ice.musicmetadata.model.CreateGenreRequest;
+import com.ice.musicmetadata.model.GenreResponse;
+import com.ice.musicmetadata.model.TrackPageResponse;
+import com.ice.musicmetadata.model.TrackResponse;
+import com.ice.musicmetadata.service.GenreRegistry;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AdminControllerIntegrationTest {
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private GenreRegistry genreRegistry;
+
+    @DisplayName("Add Tracks - Success Case with per-item results")
+    @Test
+    void addTracks_Success() {
+        // Arrange
+        var artistId = TestUtils.THE_BEATLES_ARTIST_ID;
+        var album = "Album " + UUID.randomUUID();
+        var trackRequests = new ArrayList<>(IntStream.range(0, 12)
+                .mapToObj(i -> TestUtils.createTrackRequest(artistId, album + " Track " + i))
+                .toList());
+        trackRequests.add(TestUtils.createTrackRequest(artistId, TestUtils.THE_BEATLES_TRACK_TITLE));
+        var totalItems = getArtistTracks(artistId).getTotalItems();
+
+        // Act
+        var response = webTestClient.post()
+                .uri("/v1/admin/tracks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(new BulkCreateTracksRequest().tracks(trackRequests)))
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody(BulkCreateTracksResponse.class)
+                .returnResult().getResponseBody();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getCreated()).isEqualTo(12);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().getLast().getStatus()).isEqualTo(BulkTrackResult.StatusEnum.FAILED);
+        var createdTrackIds = response.getResults().stream()
+                .filter(result -> result.getStatus() == BulkTrackResult.StatusEnum.CREATED)
+                .map(result -> result.getTrack().getTrackId())
+                .toList();
+
+        var trackPage = getArtistTracks(artistId);
+        assertThat(trackPage.getTotalItems()).isEqualTo(totalItems + 12);
+        assertThat(trackPage.getData()).extracting(TrackResponse::getTrackId).containsAll(createdTrackIds);
+    }
+
+    @DisplayName("Add Tracks - Bad Request when Batch Empty")
+    @Test
+    void addTracks_BadRequest_EmptyBatch() {
+        webTestClient.post()
+                .uri("/v1/admin/tracks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(new BulkCreateTracksRequest().tracks(List.of())))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @DisplayName("Add Genre - Success Case, known to the genre registry once committed")
+    @Test
+    void addGenre_Success() {
+        // Arrange
+        var name = "Genre " + UUID.randomUUID();
+
+        // Act
+        var response = webTestClient.post()
+                .uri("/v1/admin/genres")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(new CreateGenreRequest().name(name).parentGenre("Rock")))
+                .exchange()
+                // Assert
+                .expectStatus().isCreated()
+                .expectBody(GenreResponse.class)
+                .returnResult().getResponseBody();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getName()).isEqualTo(name);
+        assertThat(response.getParentGenre()).isEqualTo("Rock");
+        assertThat(genreRegistry.findByName(name)).hasValueSatisfying(genre ->
+                assertThat(genre.parentId()).isEqualTo(genreRegistry.findByName("Rock").orElseThrow().id()));
+    }
+
+    @DisplayName("Add Genre - Bad Request when Parent Genre Unknown")
+    @Test
+    void addGenre_BadRequest_UnknownParent() {
+        webTestClient.post()
+                .uri("/v1/admin/genres")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(new CreateGenreRequest().name("Genre " + UUID.randomUUID())
+                        .parentGenre("Unknown " + UUID.randomUUID())))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Parent genre not found");
+    }
+
+    @DisplayName("Add Genre - Bad Request when Name Taken")
+    @Test
+    void addGenre_BadRequest_NameTaken() {
+        webTestClient.post()
+                .uri("/v1/admin/genres")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(new CreateGenreRequest().name("Rock")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Genre name already exists");
+    }
+
+    private TrackPageResponse getArtistTracks(UUID artistId) {
+        return webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?size=100", artistId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TrackPageResponse.class)
+                .returnResult().getResponseBody();
+    }
+}
@@ -1,18 +1,26 @@
 package com.ice.musicmetadata.controller;
 
+import com.ice.musicmetadata.model.TrackPageResponse;
+import com.ice.musicmetadata.model.TrackResponse;
 import com.ice.musicmetadata.model.UpdateArtistNameRequest;
 import com.ice.musicmetadata.utils.TestUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.BodyInserters;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.matchesPattern;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -46,6 +54,119 @@ class ArtistControllerIntegrationTest {
 
     }
 
+    @DisplayName("Add Track - Track count totals follow new tracks")
+    @Test
+    void addTrack_IncrementsTotals() {
+        // Arrange
+        var artistId = TestUtils.MICHAEL_JACKSON_ARTIST_ID;
+        var trackRequest = TestUtils.createTrackRequest().title("Counted Track " + UUID.randomUUID());
+        var totalItems = getTotalItems(artistId);
+
+        // Act
+        webTestClient.post()
+                .uri("/v1/artists/{artistId}/tracks", artistId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(trackRequest))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // Assert
+        assertThat(getTotalItems(artistId)).isEqualTo(totalItems + 1);
+    }
+
+    @DisplayName("Get Artist Tracks - Revalidate with ETag until a track is added")
+    @Test
+    void getArtistTracks_NotModified() {
+        // Arrange
+        var artistId = TestUtils.THE_BEATLES_ARTIST_ID;
+        var eTag = webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks", artistId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TrackPageResponse.class)
+                .getResponseHeaders().getETag();
+        assertThat(eTag).isNotBlank();
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks", artistId)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", eTag)
+                .expectBody().isEmpty();
+
+        webTestClient.post()
+                .uri("/v1/artists/{artistId}/tracks", artistId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(TestUtils.createTrackRequest().title("Revalidated Track " + UUID.randomUUID())))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks", artistId)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value("ETag", newETag -> assertThat(newETag).isNotEqualTo(eTag));
+    }
+
+    @DisplayName("Export Artist Tracks - Success Case")
+    @Test
+    void exportArtistTracks_Success() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        var trackPage = webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?size=100", artistId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TrackPageResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(trackPage).isNotNull();
+
+        // Act
+        var result = webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks/export", artistId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals("X-Total-Count", String.valueOf(trackPage.getTotalItems()))
+                .returnResult(TrackResponse.class);
+        var tracks = result.getResponseBody().collectList().block();
+        assertThat(tracks).extracting(TrackResponse::getTrackId)
+                .containsExactlyElementsOf(trackPage.getData().stream().map(TrackResponse::getTrackId).toList());
+    }
+
+    @DisplayName("Export Artist Tracks - Not Found when Artist Does Not Exist")
+    @Test
+    void exportArtistTracks_ArtistNotFound() {
+        webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks/export", UUID.randomUUID())
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Artist not found");
+    }
+
+    private Integer getTotalItems(UUID artistId) {
+        var trackPage = webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?size=1", artistId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TrackPageResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(trackPage).isNotNull();
+        return trackPage.getTotalItems();
+    }
+
     @DisplayName("Add Track - Artist Not Found")
     @Test
     void addTrack_ArtistNotFound() {
@@ -89,6 +210,28 @@ class ArtistControllerIntegrationTest {
     }
 
 
+    @DisplayName("Add Track - Bad Request when the Artist Already Has the Title")
+    @Test
+    void addTrack_BadRequest_DuplicateTitle() {
+        // Arrange
+        var artistId = TestUtils.MICHAEL_JACKSON_ARTIST_ID;
+        var trackRequest = TestUtils.createTrackRequest().title(TestUtils.MICHAEL_JACKSON_TRACK_TITLE);
+        var totalItems = getTotalItems(artistId);
+
+        // Act
+        webTestClient.post()
+                .uri("/v1/artists/{artistId}/tracks", artistId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(trackRequest))
+                .exchange()
+                // Assert
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Track title already exists for this artist");
+        assertThat(getTotalItems(artistId)).isEqualTo(totalItems);
+    }
+
     @DisplayName("Get Artist Tracks - Success Case with Pagination")
     @Test
     void getArtistTracks_Success_Pagination() {
@@ -113,6 +256,121 @@ class ArtistControllerIntegrationTest {
                 .jsonPath("$.data[*].title").isNotEmpty();
     }
 
+    @DisplayName("Get Artist Tracks - Cursor pagination walks every track once")
+    @Test
+    void getArtistTracks_Success_Cursor() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        var firstPage = webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?size={size}", artistId, 1)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TrackPageResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(firstPage).isNotNull();
+        var trackIds = new ArrayList<>(firstPage.getData().stream().map(TrackResponse::getTrackId).toList());
+
+        // Act
+        var cursor = firstPage.getNextCursor();
+        while (cursor != null) {
+            var page = webTestClient.get()
+                    .uri("/v1/artists/{artistId}/tracks?size={size}&after={after}&includeTotals=false", artistId, 1, cursor)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(TrackPageResponse.class)
+                    .returnResult().getResponseBody();
+            assertThat(page).isNotNull();
+            assertThat(page.getTotalItems()).isNull();
+            assertThat(page.getHasNext()).isEqualTo(page.getNextCursor() != null);
+            page.getData().forEach(track -> trackIds.add(track.getTrackId()));
+            cursor = page.getNextCursor();
+        }
+
+        // Assert
+        assertThat(trackIds).doesNotHaveDuplicates().hasSize(firstPage.getTotalItems());
+    }
+
+    @DisplayName("Get Artist Tracks - Sparse fieldset returns only the requested fields")
+    @Test
+    void getArtistTracks_Success_Fields() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        var allTracks = webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?size={size}", artistId, 2)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectBody(TrackPageResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(allTracks).isNotNull();
+
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?size={size}&fields={fields}", artistId, 1, "trackId,title")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].trackId").isEqualTo(allTracks.getData().get(0).getTrackId().toString())
+                .jsonPath("$.data[0].title").isEqualTo(allTracks.getData().get(0).getTitle())
+                .jsonPath("$.data[0].durationInSeconds").doesNotExist()
+                .jsonPath("$.data[0].genre").doesNotExist()
+                .jsonPath("$.data[0].releaseDate").doesNotExist()
+                .jsonPath("$.nextCursor").isNotEmpty();
+
+        // The cursor still seeks by release date although it is not returned
+        var nextCursor = webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?size={size}&fields={fields}", artistId, 1, "title")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectBody(TrackPageResponse.class)
+                .returnResult().getResponseBody().getNextCursor();
+        webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?size={size}&after={after}&fields={fields}", artistId, 1, nextCursor, "title")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].title").isEqualTo(allTracks.getData().get(1).getTitle())
+                .jsonPath("$.data[0].trackId").doesNotExist();
+    }
+
+    @DisplayName("Get Artist Tracks - Bad Request when a field is unknown")
+    @Test
+    void getArtistTracks_BadRequest_UnknownField() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?fields={fields}", artistId, "title,lyrics")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown track field: lyrics");
+    }
+
+    @DisplayName("Get Artist Tracks - Bad Request when cursor is malformed")
+    @Test
+    void getArtistTracks_BadRequest_InvalidCursor() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/{artistId}/tracks?after={after}", artistId, "not-a-cursor")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid cursor");
+    }
+
     @DisplayName("Get Artist Tracks - Not Found when Artist Service Throws EntityNotFoundException")
     @Test
     void getArtistTracks_NotFound_ArtistNotFound() {
@@ -155,6 +413,15 @@ class ArtistControllerIntegrationTest {
                 .expectBody()
                 .jsonPath("$.name").isEqualTo(updateArtistNameRequest.getName())
                 .jsonPath("$.aliases").isEqualTo(updateArtistNameRequest.getAliases());
+        webTestClient.get()
+                .uri("/v1/artists/search?q={q}", "material gi")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].artistId").isEqualTo(artistId.toString())
+                .jsonPath("$.data[0].name").isEqualTo(newName)
+                .jsonPath("$.data[0].matched").isEqualTo("Material Girl");
     }
 
     @DisplayName("Update Artist Name - Bad Request when Name Empty")
@@ -179,6 +446,55 @@ class ArtistControllerIntegrationTest {
                 .jsonPath("$.message").isNotEmpty();
     }
 
+    @DisplayName("Update Artist Name - Bad Request when Another Artist Has the Name in Other Case")
+    @Test
+    void updateArtistName_BadRequest_NameTakenIgnoringCase() {
+        // Arrange
+        var artistId = TestUtils.THE_BEATLES_ARTIST_ID;
+        var updateArtistNameRequest = new UpdateArtistNameRequest()
+                .name("ELVIS PRESLEY")
+                .aliases(List.of());
+
+        // Act
+        webTestClient.patch()
+                .uri("/v1/artists/{artistId}/name", artistId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(updateArtistNameRequest))
+                .exchange()
+                // Assert
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Artist name already exists");
+    }
+
+    @DisplayName("Get Artist by Name - Exact name ignoring case and accents")
+    @Test
+    void getArtistByName_Success() {
+        webTestClient.get()
+                .uri("/v1/artists/by-name?name={name}", "BEYONCE")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Beyoncé")
+                .jsonPath("$.aliases[0]").isEqualTo("Queen Bey");
+    }
+
+    @DisplayName("Get Artist by Name - Not Found when only a prefix of the name is given")
+    @Test
+    void getArtistByName_NotFound() {
+        webTestClient.get()
+                .uri("/v1/artists/by-name?name={name}", "Beyon")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Artist not found");
+    }
+
     @DisplayName("Get Artist of the Day - Success Case")
     @Test
     void getArtistOfTheDay_Success() {
@@ -195,4 +511,185 @@ class ArtistControllerIntegrationTest {
                 .jsonPath("$.name").isNotEmpty()
                 .jsonPath("$.aliases").isArray();
     }
+
+    @DisplayName("Get Artist of the Day - Gzip Encoded when accepted")
+    @Test
+    void getArtistOfTheDay_Gzip() {
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/artist-of-the-day")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                // The client inflates the body and drops the Content-Encoding, the entity tag tells the gzip bytes were sent
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, matchesPattern("\".*-gzip\""))
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .expectBody()
+                .jsonPath("$.name").isNotEmpty()
+                .jsonPath("$.aliases").isArray();
+    }
+
+    @DisplayName("Get Featured Artists - Success Case, the days ahead are planned")
+    @Test
+    void getFeaturedArtists_Success() {
+        // Arrange
+        var today = LocalDate.now();
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/featured?from={from}&to={to}", today, today.plusDays(13))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(14)
+                .jsonPath("$.data[0].featureDate").isEqualTo(today.toString())
+                .jsonPath("$.data[0].artist.name").isNotEmpty();
+    }
+
+    @DisplayName("Get Featured Artists - Bad Request when the range ends before it starts")
+    @Test
+    void getFeaturedArtists_BadRequest_ReversedRange() {
+        // Arrange
+        var today = LocalDate.now();
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/featured?from={from}&to={to}", today, today.minusDays(1))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Featured date range cannot end before it starts");
+    }
+
+    @DisplayName("Get Artist of the Day - A zone's artist from the zoned snapshot")
+    @Test
+    void getArtistOfTheDay_Zone() {
+        // Arrange
+        // The server's own zone is on today's date, which is planned
+        var zone = ZoneId.systemDefault().getId();
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/artist-of-the-day?zone={zone}", zone)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.artistId").isNotEmpty()
+                .jsonPath("$.name").isNotEmpty();
+    }
+
+    @DisplayName("Get Artist of the Day - Bad Request for an unknown zone")
+    @Test
+    void getArtistOfTheDay_BadRequest_UnknownZone() {
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/artist-of-the-day?zone={zone}", "Mars/Olympus_Mons")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown time zone: Mars/Olympus_Mons");
+    }
+
+    @DisplayName("Get Featured Artist History - Past range is stored and revalidated with ETag")
+    @Test
+    void getFeaturedArtistHistory_Past_Revalidated() {
+        // Arrange
+        var yesterday = LocalDate.now().minusDays(1);
+        var eTag = webTestClient.get()
+                .uri("/v1/artists/featured/history?from={from}&to={to}", yesterday.minusDays(6), yesterday)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.noCache().cachePublic())
+                .expectBody()
+                .jsonPath("$.data").isArray()
+                .returnResult()
+                .getResponseHeaders().getETag();
+        assertThat(eTag).isNotNull();
+
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/featured/history?from={from}&to={to}", yesterday.minusDays(6), yesterday)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(eTag)
+                .exchange()
+                // Assert
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag);
+    }
+
+    @DisplayName("Get Featured Artist History - Today is not stored by shared caches")
+    @Test
+    void getFeaturedArtistHistory_Today_NotStored() {
+        // Arrange
+        var today = LocalDate.now();
+        // Act
+        webTestClient.get()
+                .uri("/v1/artists/featured/history?from={from}", today)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.CACHE_CONTROL)
+                .expectBody()
+                .jsonPath("$.data").isArray();
+    }
+
+    @DisplayName("Search Artists - Prefix of any word of an alias, ignoring case")
+    @Test
+    void searchArtists_Success_AliasPrefix() {
+        webTestClient.get()
+                .uri("/v1/artists/search?q={q}", "FAB")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].artistId").isEqualTo(TestUtils.THE_BEATLES_ARTIST_ID.toString())
+                .jsonPath("$.data[0].name").isEqualTo("The Beatles")
+                .jsonPath("$.data[0].matched").isEqualTo("The Fab Four");
+    }
+
+    @DisplayName("Search Artists - Typos and missing accents still match")
+    @Test
+    void searchArtists_Success_Typos() {
+        webTestClient.get()
+                .uri("/v1/artists/search?q={q}&limit=1", "Micheal Jakson")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].artistId").isEqualTo(TestUtils.MICHAEL_JACKSON_ARTIST_ID.toString());
+        webTestClient.get()
+                .uri("/v1/artists/search?q={q}", "beyonce")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].name").isEqualTo("Beyoncé");
+    }
+
+    @DisplayName("Search Artists - Bad Request when the query is blank")
+    @Test
+    void searchArtists_BadRequest_BlankQuery() {
+        webTestClient.get()
+                .uri("/v1/artists/search?q={q}", " ")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Search query cannot be null or empty");
+    }
 }
@@ -1,9 +1,15 @@
 package com.ice.musicmetadata.controller;
 
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ice.musicmetadata.model.ArtistResponse;
+import com.ice.musicmetadata.model.ArtistSearchResponse;
+import com.ice.musicmetadata.model.ArtistSearchResult;
 import com.ice.musicmetadata.model.TrackResponse;
 import com.ice.musicmetadata.model.UpdateArtistNameRequest;
+import com.ice.musicmetadata.service.ArtistOfTheDayResponseCache;
+import com.ice.musicmetadata.service.ArtistSearchService;
 import com.ice.musicmetadata.service.ArtistService;
 import com.ice.musicmetadata.utils.TestUtils;
 import jakarta.persistence.EntityNotFoundException;
@@ -11,18 +17,22 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ArtistController.class)
 class ArtistControllerTest {
@@ -35,6 +45,9 @@ class ArtistControllerTest {
     @MockitoBean
     private ArtistService artistService;
 
+    @MockitoBean
+    private ArtistSearchService artistSearchService;
+
 
     @DisplayName("Add Track - Success Case")
     @Test
@@ -124,7 +137,10 @@ class ArtistControllerTest {
 
         var mockTrackPageResponse = TestUtils.mockTrackPageResponse(page, size, size * 2);
 
-        when(artistService.getArtistTracks(artistId, page, size))
+        var eTag = "\"3-2-0-1700000000000\"";
+
+        when(artistService.getArtistTracksETag(artistId)).thenReturn(eTag);
+        when(artistService.getArtistTracks(artistId, page, size, null, true, null))
                 .thenReturn(mockTrackPageResponse);
 
         // Act & Assert
@@ -134,6 +150,7 @@ class ArtistControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 //Assert
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
                 .andExpect(jsonPath("$.page").value(page))
                 .andExpect(jsonPath("$.pageSize").value(size))
                 .andExpect(jsonPath("$.totalPages").value(mockTrackPageResponse.getTotalPages()))
@@ -143,7 +160,7 @@ class ArtistControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(artistService).getArtistTracks(artistId, page, size);
+        verify(artistService).getArtistTracks(artistId, page, size, null, true, null);
     }
 
     @DisplayName("Get Artist Tracks - Not Found when Artist Service Throws EntityNotFoundException")
@@ -154,7 +171,7 @@ class ArtistControllerTest {
         var defaultPage = 0;
         var defaultSize = 20;
 
-        when(artistService.getArtistTracks(artistId, defaultPage, defaultSize))
+        when(artistService.getArtistTracksETag(artistId))
                 .thenThrow(new EntityNotFoundException("Artist not found"));
 
         // Act & Assert
@@ -165,7 +182,31 @@ class ArtistControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(artistService).getArtistTracks(artistId, defaultPage, defaultSize);
+        verify(artistService).getArtistTracksETag(artistId);
+        verify(artistService, never()).getArtistTracks(artistId, defaultPage, defaultSize, null, true, null);
+        verifyNoMoreInteractions(artistService);
+    }
+
+    @DisplayName("Get Artist Tracks - Not Modified when If-None-Match Matches the ETag")
+    @Test
+    void getArtistTracks_NotModified() throws Exception {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        var eTag = "\"3-2-0-1700000000000\"";
+
+        when(artistService.getArtistTracksETag(artistId)).thenReturn(eTag);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/{artistId}/tracks", artistId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        // Verify
+        verify(artistService).getArtistTracksETag(artistId);
         verifyNoMoreInteractions(artistService);
     }
 
@@ -233,7 +274,7 @@ class ArtistControllerTest {
     }
 
 
-    @DisplayName("Get Artist of the Day - Success Case")
+    @DisplayName("Get Artist of the Day - Success Case, the ready-made JSON is written")
     @Test
     void getArtistOfTheDay_Success() throws Exception {
         // Arrange
@@ -247,13 +288,18 @@ class ArtistControllerTest {
                 .name(artistName)
                 .bio(bio)
                 .aliases(aliases);
+        var encoded = encode(artistResponse);
 
-        when(artistService.getArtistOfTheDay()).thenReturn(artistResponse);
+        when(artistService.getEncodedArtistOfTheDay()).thenReturn(encoded);
 
         // Act & Assert
         mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, encoded.eTag()))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
                 .andExpect(jsonPath("$.artistId").value(artistId.toString()))
                 .andExpect(jsonPath("$.name").value(artistName))
                 .andExpect(jsonPath("$.bio").value(bio))
@@ -264,7 +310,232 @@ class ArtistControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(artistService).getArtistOfTheDay();
+        verify(artistService).getEncodedArtistOfTheDay();
         verifyNoMoreInteractions(artistService);
     }
-}
\ No newline at end of file
+
+    @DisplayName("Get Artist of the Day - The bytes encoded with the returned response are written, not the response serialized again")
+    @Test
+    void getArtistOfTheDay_EncodedBytes() throws Exception {
+        // Arrange
+        var encoded = encode(new ArtistResponse().artistId(TestUtils.MADONNA_ARTIST_ID).name(TestUtils.MADONNA_ARTIST_NAME));
+        var json = "{\"name\":\"Encoded once\"}".getBytes(StandardCharsets.UTF_8);
+        var readyMade = new ArtistOfTheDayResponseCache.EncodedResponse(null, encoded.response(), encoded.eTag(),
+                encoded.gzipETag(), encoded.brotliETag(), json, encoded.gzip(), encoded.brotli());
+
+        when(artistService.getEncodedArtistOfTheDay()).thenReturn(readyMade);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, json.length))
+                .andExpect(content().bytes(json))
+                .andDo(print());
+    }
+
+    @DisplayName("Get Artist of the Day - Brotli or gzip bytes written when the client accepts them")
+    @Test
+    void getArtistOfTheDay_Encodings() throws Exception {
+        // Arrange
+        var encoded = encode(new ArtistResponse().artistId(TestUtils.MADONNA_ARTIST_ID).name(TestUtils.MADONNA_ARTIST_NAME));
+
+        when(artistService.getEncodedArtistOfTheDay()).thenReturn(encoded);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andExpect(header().string(HttpHeaders.ETAG, encoded.brotliETag()))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().bytes(encoded.brotli()))
+                .andDo(print());
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=0.5, gzip;q=0.8")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, encoded.gzipETag()))
+                .andExpect(content().bytes(encoded.gzip()));
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(encoded.json()));
+    }
+
+    @DisplayName("Get Artist of the Day - Gzip bytes written when Brotli is not available")
+    @Test
+    void getArtistOfTheDay_NoBrotli() throws Exception {
+        // Arrange
+        var encoded = encode(new ArtistResponse().artistId(TestUtils.MADONNA_ARTIST_ID));
+        var withoutBrotli = new ArtistOfTheDayResponseCache.EncodedResponse(null, encoded.response(), encoded.eTag(),
+                encoded.gzipETag(), null, encoded.json(), encoded.gzip(), null);
+
+        when(artistService.getEncodedArtistOfTheDay()).thenReturn(withoutBrotli);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "*")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, encoded.gzipETag()))
+                .andExpect(content().bytes(encoded.gzip()));
+    }
+
+    @DisplayName("Get Artist of the Day - Not Modified when If-None-Match Matches the ETag")
+    @Test
+    void getArtistOfTheDay_NotModified() throws Exception {
+        // Arrange
+        var encoded = encode(new ArtistResponse().artistId(TestUtils.MADONNA_ARTIST_ID));
+
+        when(artistService.getEncodedArtistOfTheDay()).thenReturn(encoded);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day")
+                        .header(HttpHeaders.IF_NONE_MATCH, encoded.eTag())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, encoded.eTag()))
+                .andExpect(content().bytes(new byte[0]))
+                .andDo(print());
+
+        // Verify
+        verify(artistService).getEncodedArtistOfTheDay();
+        verify(artistService, never()).getArtistOfTheDay(any());
+    }
+
+    @DisplayName("Get Artist of the Day - Sparse fieldset mapped per request")
+    @Test
+    void getArtistOfTheDay_Fields() throws Exception {
+        // Arrange
+        var eTag = "\"" + TestUtils.MADONNA_ARTIST_ID + "-1\"";
+        var artistResponse = new ArtistResponse().name(TestUtils.MADONNA_ARTIST_NAME);
+
+        when(artistService.getArtistOfTheDayETag()).thenReturn(eTag);
+        when(artistService.getArtistOfTheDay(List.of("name"))).thenReturn(artistResponse);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day?fields=name")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(jsonPath("$.name").value(TestUtils.MADONNA_ARTIST_NAME))
+                .andExpect(jsonPath("$.artistId").doesNotExist())
+                .andDo(print());
+
+        // Verify
+        verify(artistService, never()).getEncodedArtistOfTheDay();
+    }
+
+    @DisplayName("Get Artist of the Day - A zone's artist served from the zoned snapshot")
+    @Test
+    void getArtistOfTheDay_Zone() throws Exception {
+        // Arrange
+        var encoded = encode(new ArtistResponse().artistId(TestUtils.MADONNA_ARTIST_ID).name(TestUtils.MADONNA_ARTIST_NAME));
+
+        when(artistService.getEncodedArtistOfTheDay("Asia/Tokyo")).thenReturn(encoded);
+        when(artistService.getArtistOfTheDay(List.of("name"), "Asia/Tokyo"))
+                .thenReturn(new ArtistResponse().name(TestUtils.MADONNA_ARTIST_NAME));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day?zone={zone}", "Asia/Tokyo")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, encoded.eTag()))
+                .andExpect(content().bytes(encoded.json()))
+                .andDo(print());
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day?fields=name&zone={zone}", "Asia/Tokyo")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, encoded.eTag()))
+                .andExpect(jsonPath("$.name").value(TestUtils.MADONNA_ARTIST_NAME))
+                .andExpect(jsonPath("$.artistId").doesNotExist());
+
+        // Verify the server's day is not looked at
+        verify(artistService, never()).getEncodedArtistOfTheDay();
+        verify(artistService, never()).getArtistOfTheDayETag();
+    }
+
+    @DisplayName("Get Artist of the Day - Bad Request for an unknown zone")
+    @Test
+    void getArtistOfTheDay_UnknownZone() throws Exception {
+        // Arrange
+        when(artistService.getEncodedArtistOfTheDay("Mars/Olympus_Mons"))
+                .thenThrow(new IllegalArgumentException("Unknown time zone: Mars/Olympus_Mons"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/artist-of-the-day?zone={zone}", "Mars/Olympus_Mons")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown time zone: Mars/Olympus_Mons"));
+    }
+
+    @DisplayName("Search Artists - Success Case")
+    @Test
+    void searchArtists_Success() throws Exception {
+        // Arrange
+        var artistSearchResponse = new ArtistSearchResponse().data(List.of(new ArtistSearchResult()
+                .artistId(TestUtils.MADONNA_ARTIST_ID)
+                .name("Madonna")
+                .matched("Madge")
+                .score(0.9)));
+
+        when(artistSearchService.searchArtists("mad", 5)).thenReturn(artistSearchResponse);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/search")
+                        .param("q", "mad")
+                        .param("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].artistId").value(TestUtils.MADONNA_ARTIST_ID.toString()))
+                .andExpect(jsonPath("$.data[0].matched").value("Madge"))
+                .andDo(print());
+
+        // Verify
+        verify(artistSearchService).searchArtists("mad", 5);
+        verifyNoInteractions(artistService);
+    }
+
+    @DisplayName("Get Artist by Name - Success Case")
+    @Test
+    void getArtistByName_Success() throws Exception {
+        // Arrange
+        var artistResponse = new ArtistResponse()
+                .artistId(TestUtils.MADONNA_ARTIST_ID)
+                .name("Madonna");
+
+        when(artistService.getArtistByName("madonna")).thenReturn(artistResponse);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/artists/by-name")
+                        .param("name", "madonna")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.artistId").value(TestUtils.MADONNA_ARTIST_ID.toString()))
+                .andExpect(jsonPath("$.name").value("Madonna"))
+                .andDo(print());
+
+        // Verify
+        verify(artistService).getArtistByName("madonna");
+    }
+
+    private ArtistOfTheDayResponseCache.EncodedResponse encode(ArtistResponse artistResponse) throws IOException {
+        var json = objectMapper.writeValueAsBytes(artistResponse);
+        var gzip = new ByteArrayOutputStream();
+        try (var gzipStream = new GZIPOutputStream(gzip)) {
+            gzipStream.write(json);
+        }
+        Brotli4jLoader.ensureAvailability();
+        var tag = artistResponse.getArtistId() + "-1";
+        return new ArtistOfTheDayResponseCache.EncodedResponse(null, artistResponse, "\"" + tag + "\"",
+                "\"" + tag + "-gzip\"", "\"" + tag + "-br\"", json, gzip.toByteArray(), Encoder.compress(json));
+    }
+}
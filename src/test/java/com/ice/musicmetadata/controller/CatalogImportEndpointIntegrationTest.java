@@ -0,0 +1,65 @@
+package com.ice.musicmetadata.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.endsWith;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CatalogImportEndpointIntegrationTest {
+    @TempDir
+    static Path importDirectory;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.catalog-import.directory", importDirectory::toString);
+    }
+
+    @DisplayName("Catalog Import - Start and follow progress through actuator")
+    @Test
+    void startImport_Success() throws IOException {
+        // Arrange
+        var artistName = "Endpoint Artist " + UUID.randomUUID();
+        Files.writeString(importDirectory.resolve("endpoint.csv"), String.join("\n",
+                "artist,aliases,title,durationInSeconds,genre,releaseDate",
+                artistName + ",,Endpoint Song,180,Pop,2022-01-01"));
+
+        // Act
+        webTestClient.post()
+                .uri("/actuator/catalogimport")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("file", "endpoint.csv"))
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.source").value(endsWith("endpoint.csv"));
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> webTestClient.get()
+                .uri("/actuator/catalogimport")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].state").isEqualTo("COMPLETED")
+                .jsonPath("$[0].tracksWritten").isEqualTo(1)
+                .jsonPath("$[0].rowsPerSecond").isNumber());
+    }
+}
@@ -0,0 +1,152 @@
+package com.ice.musicmetadata.controller;
+
+import com.ice.musicmetadata.model.TrackPageResponse;
+import com.ice.musicmetadata.model.TrackResponse;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TrackControllerIntegrationTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DisplayName("Get Tracks - Filter by artist and release date range")
+    @Test
+    void getTracks_Success_ArtistAndReleaseDateRange() {
+        // Arrange
+        var artistId = TestUtils.MICHAEL_JACKSON_ARTIST_ID;
+
+        // Act
+        webTestClient.get()
+                .uri("/v1/tracks?artistId={artistId}&releasedFrom={from}&releasedTo={to}", artistId, "1982-02-01", "1982-12-31")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].title").isEqualTo("Beat It")
+                .jsonPath("$.hasNext").isEqualTo(false)
+                .jsonPath("$.totalItems").doesNotExist();
+    }
+
+    @DisplayName("Get Tracks - Cursor pagination by genre walks every matching track once in release order")
+    @Test
+    void getTracks_Success_GenreCursor() {
+        // Arrange
+        var tracks = new ArrayList<TrackResponse>();
+        String cursor = null;
+
+        // Act
+        do {
+            var after = Optional.ofNullable(cursor);
+            var page = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/v1/tracks")
+                            .queryParam("genre", "Rock")
+                            .queryParam("size", 2)
+                            .queryParamIfPresent("after", after)
+                            .build())
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(TrackPageResponse.class)
+                    .returnResult().getResponseBody();
+            assertThat(page).isNotNull();
+            tracks.addAll(page.getData());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertThat(tracks).extracting(TrackResponse::getTitle)
+                .contains("Hound Dog", "Jailhouse Rock", "Hey Jude", "Let It Be");
+        assertThat(tracks).extracting(TrackResponse::getTrackId).doesNotHaveDuplicates();
+        assertThat(tracks).allSatisfy(track -> assertThat(track.getGenre()).isEqualTo("Rock"));
+        assertThat(tracks).extracting(TrackResponse::getReleaseDate)
+                .isSortedAccordingTo(Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    @DisplayName("Get Tracks - Filter by genre including its sub-genres")
+    @Test
+    void getTracks_Success_GenreWithSubGenres() {
+        // Arrange
+        var trackRequest = TestUtils.createTrackRequest(TestUtils.THE_BEATLES_ARTIST_ID, "Track " + UUID.randomUUID())
+                .genre("Pop Rock");
+        webTestClient.post()
+                .uri("/v1/tracks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(trackRequest))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // Act
+        var tracks = webTestClient.get()
+                .uri("/v1/tracks?genre=Rock&includeSubGenres=true&size=100")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isOk()
+                .expectBody(TrackPageResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(tracks).isNotNull();
+        assertThat(tracks.getData()).extracting(TrackResponse::getTitle).contains("Hey Jude", trackRequest.getTitle());
+        assertThat(tracks.getData()).extracting(TrackResponse::getGenre).containsOnly("Rock", "Pop Rock");
+    }
+
+    @DisplayName("Get Tracks - Bad Request when the release date range is inverted")
+    @Test
+    void getTracks_BadRequest_InvertedRange() {
+        webTestClient.get()
+                .uri("/v1/tracks?releasedFrom={from}&releasedTo={to}", "1990-01-01", "1980-01-01")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Release date range start must not be after its end");
+    }
+
+    @DisplayName("Get Tracks - Not Found when the artist does not exist")
+    @Test
+    void getTracks_NotFound_ArtistNotFound() {
+        webTestClient.get()
+                .uri("/v1/tracks?artistId={artistId}", UUID.randomUUID())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                // Assert
+                .expectStatus().isNotFound();
+    }
+
+    @DisplayName("Add Track - Success Case")
+    @Test
+    void addTrack_Success() {
+        // Arrange
+        var trackRequest = TestUtils.createTrackRequest(TestUtils.THE_BEATLES_ARTIST_ID, "Track " + UUID.randomUUID());
+
+        // Act
+        webTestClient.post()
+                .uri("/v1/tracks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(trackRequest))
+                .exchange()
+                // Assert
+                .expectStatus().isCreated()
+                .expectHeader().value("Location", matchesPattern(".*/v1/tracks/[0-9a-f-]{36}"))
+                .expectBody()
+                .jsonPath("$.title").isEqualTo(trackRequest.getTitle());
+    }
+}
@@ -1,9 +1,14 @@
 package com.ice.musicmetadata.mapper;
 
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackView;
+import com.ice.musicmetadata.model.TrackResponse;
 import com.ice.musicmetadata.utils.TestUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -11,37 +16,10 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Test class for {@link TrackMapper}.
  * <p>
  * This class contains unit tests for the methods in the {@link TrackMapper} interface.
- * It uses MapStruct to generate the implementation of the mapper.
+ * It uses MapStruct to generate the implementation of the mapper, with an empty genre registry.
  */
 class TrackMapperTest {
-    private final TrackMapper trackMapper = Mappers.getMapper(TrackMapper.class);
-
-    @DisplayName("Given Paginated Tracks When mapToTrackPageResponse is called Then return TrackPageResponse")
-    @Test
-    void mapToTrackPageResponse() {
-        // Given
-        var artistId = TestUtils.MICHAEL_JACKSON_ARTIST_ID;
-        var trackPage = TestUtils.createTrackPage(artistId, 0, 10);
-        // When
-        var trackPageResponse = trackMapper.mapToTrackPageResponse(trackPage);
-        // Then
-        assertThat(trackPageResponse).isNotNull();
-        assertThat(trackPageResponse.getData()).isNotEmpty();
-        assertThat(trackPageResponse.getPage()).isEqualTo(trackPage.getNumber());
-        assertThat(trackPageResponse.getPageSize()).isEqualTo(trackPage.getSize());
-        assertThat(trackPageResponse.getTotalPages()).isEqualTo(trackPage.getTotalPages());
-        assertThat(trackPageResponse.getTotalItems()).isEqualTo((int) trackPage.getTotalElements());
-        assertThat(trackPageResponse.getData()).zipSatisfy(
-                trackPage.getContent(),
-                (trackResponse, track) -> {
-                    assertThat(trackResponse.getTrackId()).isEqualTo(track.getTrackId());
-                    assertThat(trackResponse.getTitle()).isEqualTo(track.getTitle());
-                    assertThat(trackResponse.getDurationInSeconds()).isEqualTo(track.getDuration());
-                    assertThat(trackResponse.getReleaseDate()).isEqualTo(track.getReleaseDate());
-                    assertThat(trackResponse.getGenre()).isEqualTo(track.getGenre() != null ? track.getGenre().getName() : track.getGenreName());
-                }
-        );
-    }
+    private final TrackMapper trackMapper = TestUtils.createTrackMapper();
 
     @DisplayName("Given Track When mapToTrackResponse is called Then return TrackResponse")
     @Test
@@ -71,4 +49,69 @@ class TrackMapperTest {
         // Then
         assertThat(genreName).isEqualTo(track.getGenre() != null ? track.getGenre().getName() : track.getGenreName());
     }
-}
\ No newline at end of file
+
+    @DisplayName("Given last Slice When mapToTrackSliceResponse is called Then return no next cursor")
+    @Test
+    void mapToTrackSliceResponse_LastPage() {
+        // Given
+        var trackSlice = TestUtils.createTrackViewSlice(2, 3, false);
+        // When
+        var trackPageResponse = trackMapper.mapToTrackSliceResponse(trackSlice);
+        // Then
+        assertThat(trackPageResponse.getPage()).isEqualTo(2);
+        assertThat(trackPageResponse.getPageSize()).isEqualTo(3);
+        assertThat(trackPageResponse.getData()).hasSize(3);
+        assertThat(trackPageResponse.getHasNext()).isFalse();
+        assertThat(trackPageResponse.getNextCursor()).isNull();
+    }
+
+    @DisplayName("Given Slice fetched with an extra row When mapToTrackSliceResponse is called Then return next cursor at the last track shown")
+    @Test
+    void mapToTrackSliceResponse_ExtraRowFetched() {
+        // Given
+        var trackSlice = fetchedWithExtraRow(3);
+        // When
+        var trackPageResponse = trackMapper.mapToTrackSliceResponse(trackSlice);
+        // Then
+        assertThat(trackPageResponse.getData()).hasSize(3);
+        assertThat(trackPageResponse.getHasNext()).isTrue();
+        assertThat(TrackCursor.decode(trackPageResponse.getNextCursor()))
+                .isEqualTo(TrackCursor.of(trackSlice.getContent().getLast()));
+    }
+
+    @DisplayName("Given last Slice When mapToTrackCursorPageResponse is called Then return no page and no next cursor")
+    @Test
+    void mapToTrackCursorPageResponse_LastPage() {
+        // Given
+        var trackSlice = TestUtils.createTrackViewSlice(0, 3, false);
+        // When
+        var trackPageResponse = trackMapper.mapToTrackCursorPageResponse(trackSlice);
+        // Then
+        assertThat(trackPageResponse.getPage()).isNull();
+        assertThat(trackPageResponse.getPageSize()).isEqualTo(3);
+        assertThat(trackPageResponse.getData()).hasSize(3);
+        assertThat(trackPageResponse.getHasNext()).isFalse();
+        assertThat(trackPageResponse.getNextCursor()).isNull();
+    }
+
+    @DisplayName("Given Slice fetched with an extra row When mapToTrackCursorPageResponse is called Then return next cursor at the last track shown")
+    @Test
+    void mapToTrackCursorPageResponse_ExtraRowFetched() {
+        // Given
+        var trackSlice = fetchedWithExtraRow(3);
+        // When
+        var trackPageResponse = trackMapper.mapToTrackCursorPageResponse(trackSlice);
+        // Then
+        assertThat(trackPageResponse.getData()).extracting(TrackResponse::getTrackId)
+                .containsExactlyElementsOf(trackSlice.getContent().stream().map(TrackView::trackId).toList());
+        assertThat(trackPageResponse.getHasNext()).isTrue();
+        assertThat(TrackCursor.decode(trackPageResponse.getNextCursor()))
+                .isEqualTo(TrackCursor.of(trackSlice.getContent().getLast()));
+    }
+
+    // Builds the slice the way the repository does, fetching one row past the page and leaving it out
+    private static Slice<TrackView> fetchedWithExtraRow(int size) {
+        var fetched = TestUtils.generateTrackViewList(size + 1);
+        return new SliceImpl<>(fetched.subList(0, size), PageRequest.ofSize(size), true);
+    }
+}
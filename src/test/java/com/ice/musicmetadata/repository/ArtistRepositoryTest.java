@@ -1,5 +1,6 @@
 package com.ice.musicmetadata.repository;
 
+import com.ice.musicmetadata.domain.Artist;
 import com.ice.musicmetadata.utils.TestUtils;
 import org.flywaydb.test.annotation.FlywayTest;
 import org.flywaydb.test.junit5.annotation.FlywayTestExtension;
@@ -36,30 +37,55 @@ class ArtistRepositoryTest {
         assertThat(artist.get().getArtistId()).isEqualTo(artistId);
     }
 
-    @DisplayName("Given artistId and name When existsByArtistIdNotAndName Then return false")
+    @DisplayName("Given artistId and its own name key When existsByArtistIdNotAndNameKey Then return false")
     @Test
-    void existsByArtistIdNotAndName() {
+    void existsByArtistIdNotAndNameKey() {
         // given
         var artistId = TestUtils.THE_BEATLES_ARTIST_ID;
-        var name = TestUtils.THE_BEATLES_ARTIST_NAME;
+        var nameKey = Artist.toNameKey(TestUtils.THE_BEATLES_ARTIST_NAME);
         // when
-        var artistExist = artistRepository.existsByArtistIdNotAndName(artistId, name);
+        var artistExist = artistRepository.existsByArtistIdNotAndNameKey(artistId, nameKey);
         // then
         assertThat(artistExist).isFalse();
     }
 
-    @DisplayName("Given artistId and existing name When existsByArtistIdNotAndName Then return true")
+    @DisplayName("Given artistId and another artist's name in other case When existsByArtistIdNotAndNameKey Then return true")
     @Test
-    void existsByArtistIdNotAndName_true() {
+    void existsByArtistIdNotAndNameKey_true() {
         // given
         var artistId = TestUtils.THE_BEATLES_ARTIST_ID;
-        var name = TestUtils.MADONNA_ARTIST_NAME;
+        var nameKey = Artist.toNameKey(TestUtils.MADONNA_ARTIST_NAME.toUpperCase());
         // when
-        var artistExist = artistRepository.existsByArtistIdNotAndName(artistId, name);
+        var artistExist = artistRepository.existsByArtistIdNotAndNameKey(artistId, nameKey);
         // then
         assertThat(artistExist).isTrue();
     }
 
+    @DisplayName("Given a name without its accents When findByNameKey Then return the artist backfilled by the migration")
+    @Test
+    void findByNameKey() {
+        // given
+        var nameKey = Artist.toNameKey("  BEYONCE ");
+        // when
+        var artist = artistRepository.findByNameKey(nameKey);
+        // then
+        assertThat(artist).hasValueSatisfying(found -> {
+            assertThat(found.getName()).isEqualTo("Beyoncé");
+            assertThat(found.getNameKey()).isEqualTo("beyonce");
+        });
+    }
+
+    @DisplayName("Given a new artist When saveAndFlush Then derive the name key from the name")
+    @Test
+    void saveAndFlush_SetsNameKey() {
+        // given
+        var artist = Artist.builder().name("Sigur Rós").build();
+        // when
+        var savedArtist = artistRepository.saveAndFlush(artist);
+        // then
+        assertThat(savedArtist.getNameKey()).isEqualTo("sigur ros");
+    }
+
     @DisplayName("Given artistId When existsByArtistId Then return true")
     @Test
     void existsByArtistId_true() {
@@ -82,34 +108,55 @@ class ArtistRepositoryTest {
         assertThat(artistExist).isFalse();
     }
 
-    @DisplayName("Given nothing When findNextFeaturedArtist Then return eligible artist")
+    @DisplayName("Given artistId When findTrackCountByArtistId Then return maintained track count")
     @Test
-    void findNextFeaturedArtist() {
+    void findTrackCountByArtistId() {
         // given
-        var artistId = TestUtils.THE_BEATLES_ARTIST_ID;
-
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
         // when
-        var artist = artistRepository.findNextFeaturedArtist();
+        var trackCount = artistRepository.findTrackCountByArtistId(artistId);
+        // then
+        assertThat(trackCount).contains(2);
+    }
 
+    @DisplayName("Given unknown artistId When findTrackCountByArtistId Then return empty")
+    @Test
+    void findTrackCountByArtistId_notExist() {
+        // given
+        var artistId = UUID.randomUUID();
+        // when
+        var trackCount = artistRepository.findTrackCountByArtistId(artistId);
         // then
-        assertThat(artist).isPresent();
-        assertThat(artist.get().getId()).isNotNull();
-        assertThat(artist.get().getName()).isNotNull();
-        assertThat(artist.get().getArtistId()).isEqualTo(artistId);
+        assertThat(trackCount).isEmpty();
     }
 
-    @DisplayName("Given nothing When findTopByOrderByFeaturedAtDesc Then return first artist")
+    @DisplayName("Given artistId When findTrackListingVersion Then return the versions of the listing")
     @Test
-    void findTopByOrderByFeaturedAtDesc() {
+    void findTrackListingVersion() {
         // given
         var artistId = TestUtils.MADONNA_ARTIST_ID;
         // when
-        var artist = artistRepository.findTopByOrderByFeaturedAtDesc();
+        var trackListingVersion = artistRepository.findTrackListingVersion(artistId);
         // then
-        assertThat(artist).isPresent();
-        assertThat(artist.get().getId()).isNotNull();
-        assertThat(artist.get().getName()).isNotNull();
-        assertThat(artist.get().getArtistId()).isEqualTo(artistId);
+        assertThat(trackListingVersion).hasValueSatisfying(version -> {
+            assertThat(version.artistVersion()).isNotNull();
+            assertThat(version.trackListingVersion()).isNotNull();
+            assertThat(version.toETag()).startsWith("\"").endsWith("\"");
+        });
+    }
+
+    @DisplayName("Given artistId When incrementTrackCount Then move the track listing version along")
+    @Test
+    void incrementTrackCount_BumpsTrackListingVersion() {
+        // given
+        var artist = artistRepository.findByArtistId(TestUtils.MADONNA_ARTIST_ID).orElseThrow();
+        var before = artistRepository.findTrackListingVersion(TestUtils.MADONNA_ARTIST_ID).orElseThrow();
+        // when
+        artistRepository.incrementTrackCount(artist.getId(), 1);
+        // then
+        var after = artistRepository.findTrackListingVersion(TestUtils.MADONNA_ARTIST_ID).orElseThrow();
+        assertThat(after.trackListingVersion()).isEqualTo(before.trackListingVersion() + 1);
+        assertThat(after.toETag()).isNotEqualTo(before.toETag());
     }
 
 }
\ No newline at end of file
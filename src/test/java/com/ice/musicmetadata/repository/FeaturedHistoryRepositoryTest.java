@@ -0,0 +1,57 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.FeaturedHistory;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.flywaydb.test.junit5.annotation.FlywayTestExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@FlywayTestExtension
+@FlywayTest
+class FeaturedHistoryRepositoryTest {
+    private static final LocalDate FEATURE_DATE = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private FeaturedHistoryRepository featuredHistoryRepository;
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @DisplayName("Given recorded dates When findAllByFeatureDateBetween Then return the dates in range in order, with artists and aliases")
+    @Test
+    void findAllByFeatureDateBetween() {
+        // given
+        record(FEATURE_DATE.plusDays(2), TestUtils.THE_BEATLES_ARTIST_ID);
+        record(FEATURE_DATE, TestUtils.MADONNA_ARTIST_ID);
+        record(FEATURE_DATE.plusDays(5), TestUtils.MICHAEL_JACKSON_ARTIST_ID);
+
+        // when
+        var history = featuredHistoryRepository.findAllByFeatureDateBetween(FEATURE_DATE, FEATURE_DATE.plusDays(4));
+
+        // then
+        assertThat(history)
+                .extracting(FeaturedHistory::getFeatureDate)
+                .containsExactly(FEATURE_DATE, FEATURE_DATE.plusDays(2));
+        assertThat(history.getFirst().getArtist().getArtistId()).isEqualTo(TestUtils.MADONNA_ARTIST_ID);
+        assertThat(history.getFirst().getArtist().getAliases()).isNotEmpty();
+    }
+
+    private void record(LocalDate featureDate, UUID artistId) {
+        featuredHistoryRepository.saveAndFlush(FeaturedHistory.builder()
+                .featureDate(featureDate)
+                .artist(artistRepository.findByArtistId(artistId).orElseThrow())
+                .featuredAt(featureDate.atStartOfDay(ZoneOffset.UTC).toInstant())
+                .build());
+    }
+}
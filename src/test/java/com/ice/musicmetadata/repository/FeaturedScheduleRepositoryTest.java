@@ -0,0 +1,101 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.FeaturedSchedule;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.flywaydb.test.junit5.annotation.FlywayTestExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@FlywayTestExtension
+@FlywayTest
+class FeaturedScheduleRepositoryTest {
+    private static final LocalDate FEATURE_DATE = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private FeaturedScheduleRepository featuredScheduleRepository;
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @DisplayName("Given nothing planned When findArtistIdsLeastRecentlyFeatured Then return never featured artists first")
+    @Test
+    void findArtistIdsLeastRecentlyFeatured() {
+        // when
+        var artistIds = featuredScheduleRepository.findArtistIdsLeastRecentlyFeatured(Limit.of(5));
+
+        // then
+        assertThat(artistIds).containsExactly(
+                idOf(TestUtils.THE_BEATLES_ARTIST_ID),
+                idOf(TestUtils.MICHAEL_JACKSON_ARTIST_ID),
+                idOf(UUID.fromString("123e4567-e89b-12d3-a456-426614174004")),
+                idOf(UUID.fromString("123e4567-e89b-12d3-a456-426614174001")),
+                idOf(TestUtils.MADONNA_ARTIST_ID));
+    }
+
+    @DisplayName("Given a planned artist When findArtistIdsLeastRecentlyFeatured Then return it last")
+    @Test
+    void findArtistIdsLeastRecentlyFeatured_Planned() {
+        // given
+        schedule(FEATURE_DATE, TestUtils.THE_BEATLES_ARTIST_ID);
+
+        // when
+        var artistIds = featuredScheduleRepository.findArtistIdsLeastRecentlyFeatured(Limit.of(5));
+
+        // then
+        assertThat(artistIds).hasSize(5).last().isEqualTo(idOf(TestUtils.THE_BEATLES_ARTIST_ID));
+    }
+
+    @DisplayName("Given a planned date When findArtistByFeatureDate Then return its artist with aliases")
+    @Test
+    void findArtistByFeatureDate() {
+        // given
+        schedule(FEATURE_DATE, TestUtils.MADONNA_ARTIST_ID);
+
+        // when
+        var artist = featuredScheduleRepository.findArtistByFeatureDate(FEATURE_DATE);
+
+        // then
+        assertThat(artist).hasValueSatisfying(featured -> {
+            assertThat(featured.getArtistId()).isEqualTo(TestUtils.MADONNA_ARTIST_ID);
+            assertThat(featured.getAliases()).isNotEmpty();
+        });
+        assertThat(featuredScheduleRepository.findArtistByFeatureDate(FEATURE_DATE.plusDays(1))).isEmpty();
+    }
+
+    @DisplayName("Given planned dates When findFeatureDatesBetween Then return the dates in range only")
+    @Test
+    void findFeatureDatesBetween() {
+        // given
+        schedule(FEATURE_DATE, TestUtils.MADONNA_ARTIST_ID);
+        schedule(FEATURE_DATE.plusDays(2), TestUtils.THE_BEATLES_ARTIST_ID);
+        schedule(FEATURE_DATE.plusDays(5), TestUtils.MICHAEL_JACKSON_ARTIST_ID);
+
+        // when
+        var dates = featuredScheduleRepository.findFeatureDatesBetween(FEATURE_DATE, FEATURE_DATE.plusDays(4));
+
+        // then
+        assertThat(dates).containsExactlyInAnyOrder(FEATURE_DATE, FEATURE_DATE.plusDays(2));
+    }
+
+    private void schedule(LocalDate featureDate, UUID artistId) {
+        featuredScheduleRepository.saveAndFlush(FeaturedSchedule.builder()
+                .featureDate(featureDate)
+                .artist(artistRepository.findByArtistId(artistId).orElseThrow())
+                .build());
+    }
+
+    private Long idOf(UUID artistId) {
+        return artistRepository.findByArtistId(artistId).orElseThrow().getId();
+    }
+}
@@ -0,0 +1,202 @@
+package com.ice.musicmetadata.repository;
+
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.Genre;
+import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackFilter;
+import com.ice.musicmetadata.service.GenreService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grows the tracks table step by step and times the global track listing at every step, to show that keyset pages
+ * on the filter indexes cost the same however large the catalogue is. Genres are as uneven as in a real catalogue:
+ * a deep, wide subtree under Rock holds most of the tracks and Jazz very few, so hot and cold genres, and large and
+ * small subtrees, are timed alike. Run it on its own, it takes minutes:
+ * {@code mvn test -Dtest=TrackRepositoryBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=10000,100000,1000000]}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:track-benchmark-db;DB_CLOSE_DELAY=-1",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TrackRepositoryBenchmarkTest {
+    private static final int ARTISTS = 1_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int RUNS = 50;
+    // Latency may grow with the index depth, but by this factor at most over the whole run
+    private static final double MAX_GROWTH = 3.0;
+    private static final LocalDate EPOCH = LocalDate.of(1950, 1, 1);
+    // Rock gets a spine this deep, each level with this many sub-genres
+    private static final int GENRE_DEPTH = 5;
+    private static final int SUB_GENRES_PER_LEVEL = 8;
+
+    @Autowired
+    private TrackRepository trackRepository;
+    @Autowired
+    private ArtistRepository artistRepository;
+    @Autowired
+    private GenreRepository genreRepository;
+    @Autowired
+    private GenreService genreService;
+
+    private final Random random = new Random(42);
+
+    @DisplayName("Global track listing latency stays flat as the tracks table grows")
+    @Test
+    void findViews_LatencyStaysFlat() {
+        // given
+        var steps = Arrays.stream(System.getProperty("benchmark.rows", "10000,100000,1000000").split(","))
+                .map(String::strip)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        var artists = artistRepository.saveAll(IntStream.range(0, ARTISTS)
+                .mapToObj(i -> Artist.builder().name("Benchmark Artist " + i).build())
+                .toList());
+        var genres = seedGenreTree();
+        var rock = genreRepository.findByName("Rock").orElseThrow();
+        var pop = genreRepository.findByName("Pop").orElseThrow();
+        var hot = genres.getFirst();
+        var cold = genres.getLast();
+        var midSubtree = genres.get(GENRE_DEPTH / 2);
+        var artist = artists.get(ARTISTS / 2);
+        var queries = Map.<String, Supplier<Object>>ofEntries(
+                Map.entry("hot genre first page", () -> trackRepository.findViews(genreFilter(hot, null, null), null, PAGE_SIZE)),
+                Map.entry("hot genre deep page", () -> trackRepository.findViews(genreFilter(hot, null, null),
+                        new TrackCursor(EPOCH.plusYears(60), Long.MAX_VALUE / 2), PAGE_SIZE)),
+                Map.entry("hot genre and range", () -> trackRepository.findViews(
+                        genreFilter(hot, EPOCH.plusYears(30), EPOCH.plusYears(31)), null, PAGE_SIZE)),
+                Map.entry("cold genre first page", () -> trackRepository.findViews(genreFilter(cold, null, null), null, PAGE_SIZE)),
+                Map.entry("large subtree first page", () -> trackRepository.findViews(subtreeFilter(rock), null, PAGE_SIZE)),
+                Map.entry("large subtree deep page", () -> trackRepository.findViews(subtreeFilter(rock),
+                        new TrackCursor(EPOCH.plusYears(60), Long.MAX_VALUE / 2), PAGE_SIZE)),
+                Map.entry("mid subtree first page", () -> trackRepository.findViews(subtreeFilter(midSubtree), null, PAGE_SIZE)),
+                Map.entry("small subtree first page", () -> trackRepository.findViews(subtreeFilter(pop), null, PAGE_SIZE)),
+                Map.entry("artist", () -> trackRepository.findViews(new TrackFilter(artist.getArtistId(), null, null, false, null, null),
+                        null, PAGE_SIZE)),
+                Map.entry("range only", () -> trackRepository.findViews(new TrackFilter(null, null, null, false, EPOCH.plusYears(40), null),
+                        null, PAGE_SIZE)));
+        var latencies = new TreeMap<String, List<Double>>();
+
+        // when
+        var rows = 0;
+        for (var step : steps) {
+            for (; rows < step; rows += BATCH_SIZE) {
+                trackRepository.insertAll(generateTracks(Math.min(BATCH_SIZE, step - rows), artists, genres));
+            }
+            for (var query : queries.entrySet()) {
+                var latency = medianMillis(query.getValue());
+                latencies.computeIfAbsent(query.getKey(), key -> new ArrayList<>()).add(latency);
+                log.info("{} rows, {}: {} ms", step, query.getKey(), String.format("%.3f", latency));
+            }
+        }
+
+        // then
+        latencies.forEach((query, byStep) -> assertThat(byStep.getLast())
+                .as("%s latency by step %s", query, byStep)
+                // A millisecond of slack keeps timer noise on sub-millisecond pages from failing the run
+                .isLessThanOrEqualTo(byStep.getFirst() * MAX_GROWTH + 1.0));
+    }
+
+    private static TrackFilter genreFilter(Genre genre, LocalDate releasedFrom, LocalDate releasedTo) {
+        return new TrackFilter(null, genre.getId(), genre.getName(), false, releasedFrom, releasedTo);
+    }
+
+    private static TrackFilter subtreeFilter(Genre genre) {
+        return new TrackFilter(null, genre.getId(), genre.getName(), true, null, null);
+    }
+
+    /**
+     * Grows the seeded genres into an uneven tree: a spine of {@link #GENRE_DEPTH} levels under Rock, with
+     * {@link #SUB_GENRES_PER_LEVEL} sub-genres at every level, next to the few sub-genres the other seeded genres
+     * have. Saved through the genre service, so the closure holds every new pair.
+     *
+     * @return Every genre, hottest first: the Rock spine from its deepest level up, the other new Rock sub-genres, the
+     * other seeded genres and Jazz last.
+     */
+    private List<Genre> seedGenreTree() {
+        var spine = new ArrayList<Genre>();
+        var rockFans = new ArrayList<Genre>();
+        var parent = genreRepository.findByName("Rock").orElseThrow();
+        spine.add(parent);
+        for (int level = 1; level <= GENRE_DEPTH; level++) {
+            Genre next = null;
+            for (int i = 0; i < SUB_GENRES_PER_LEVEL; i++) {
+                var genre = genreService.saveGenre(Genre.builder()
+                        .name("Rock L" + level + " #" + i)
+                        .parentGenre(parent)
+                        .build());
+                if (next == null) {
+                    next = genre;
+                } else {
+                    rockFans.add(genre);
+                }
+            }
+            spine.add(next);
+            parent = next;
+        }
+        var genres = new ArrayList<>(spine.reversed());
+        genres.addAll(rockFans);
+        var jazz = genreRepository.findByName("Jazz").orElseThrow();
+        genreRepository.findAll().stream()
+                .filter(genre -> !genres.contains(genre) && !genre.equals(jazz))
+                .forEach(genres::add);
+        genres.add(jazz);
+        return genres;
+    }
+
+    private List<Track> generateTracks(int count, List<Artist> artists, List<Genre> genres) {
+        var tracks = new ArrayList<Track>(count);
+        for (int i = 0; i < count; i++) {
+            // Cubing a uniform draw skews it to the hot end: half of the tracks go to the first eighth of the genres
+            var genre = genres.get((int) (Math.pow(random.nextDouble(), 3) * genres.size()));
+            var track = Track.builder()
+                    .artist(artists.get(random.nextInt(artists.size())))
+                    .trackId(UUID.randomUUID())
+                    .title("Benchmark Track " + UUID.randomUUID())
+                    .duration(random.nextInt(60, 600))
+                    .releaseDate(EPOCH.plusDays(random.nextInt(75 * 365)))
+                    .build();
+            // Half of the tracks reference their genre, the other half carry it as free text
+            if (random.nextBoolean()) {
+                track.setGenre(genre);
+            } else {
+                track.setGenreName(genre.getName());
+            }
+            tracks.add(track);
+        }
+        return tracks;
+    }
+
+    private static double medianMillis(Supplier<Object> query) {
+        // Warm up the plan and the caches before timing
+        for (int i = 0; i < 5; i++) {
+            query.get();
+        }
+        var timings = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            var start = System.nanoTime();
+            query.get();
+            timings[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+}
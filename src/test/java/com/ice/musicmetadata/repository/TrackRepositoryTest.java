@@ -1,67 +1,297 @@
 package com.ice.musicmetadata.repository;
 
+import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackField;
+import com.ice.musicmetadata.domain.TrackFilter;
+import com.ice.musicmetadata.domain.TrackView;
 import com.ice.musicmetadata.utils.TestUtils;
 import org.assertj.core.api.Assertions;
 import org.flywaydb.test.annotation.FlywayTest;
 import org.flywaydb.test.junit5.annotation.FlywayTestExtension;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                          "com.ice.musicmetadata.repository.TrackRepositoryTest$StatementRecorder")
 @FlywayTestExtension
 @FlywayTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class TrackRepositoryTest {
+    private static final Set<TrackField> ALL_FIELDS = EnumSet.allOf(TrackField.class);
 
     @Autowired
     private TrackRepository trackRepository;
+    @Autowired
+    private ArtistRepository artistRepository;
+    @Autowired
+    private GenreRepository genreRepository;
 
-    @DisplayName("Given artistId When findByArtistId Then return Track")
+    @DisplayName("Given artistId When findViewsByArtistId Then return Track")
     @Test
-    void findByArtistId() {
+    void findViewsByArtistId() {
         // given
         var artistId = TestUtils.MADONNA_ARTIST_ID;
         // when
-        var trackPage = trackRepository.findByArtist_ArtistId(artistId, Pageable.ofSize(10));
+        var trackPage = trackRepository.findViewsByArtistId(artistId, ALL_FIELDS, Pageable.ofSize(10));
         // then
-        assertThat(trackPage.getTotalElements()).isPositive();
+        assertThat(trackPage.hasNext()).isFalse();
         assertThat(trackPage.getContent()).isNotEmpty();
         assertThat(trackPage.getContent())
                 .allSatisfy(
                         track -> {
-                            Assertions.assertThat(track.getId()).isNotNull();
-                            Assertions.assertThat(track.getTrackId()).isNotNull();
-                            Assertions.assertThat(track.getTitle()).isNotNull();
+                            Assertions.assertThat(track.id()).isNotNull();
+                            Assertions.assertThat(track.trackId()).isNotNull();
+                            Assertions.assertThat(track.title()).isNotNull();
+                            Assertions.assertThat(track.genre()).isNotNull();
                         });
     }
 
-    @DisplayName("Given artistId and title When existsByArtist_ArtistIdAndTitle Then return true")
+    @DisplayName("Given artistId and fields When findViewsByArtistId Then select only the requested fields")
     @Test
-    void existsByArtist_ArtistIdAndTitle() {
+    void findViewsByArtistId_SparseFields() {
         // given
         var artistId = TestUtils.MADONNA_ARTIST_ID;
-        var trackTitle = TestUtils.MADONNA_TRACK_TITLE;
+        var allTracks = trackRepository.findViewsByArtistId(artistId, ALL_FIELDS, Pageable.ofSize(10)).getContent();
+        // when
+        var trackPage = trackRepository.findViewsByArtistId(artistId, EnumSet.of(TrackField.TITLE), Pageable.ofSize(1));
+        // then
+        assertThat(trackPage.hasNext()).isTrue();
+        assertThat(trackPage.getContent()).singleElement().satisfies(track -> {
+            assertThat(track.title()).isEqualTo(allTracks.getFirst().title());
+            assertThat(track.id()).isEqualTo(allTracks.getFirst().id());
+            assertThat(track.releaseDate()).isEqualTo(allTracks.getFirst().releaseDate());
+            assertThat(track.trackId()).isNull();
+            assertThat(track.duration()).isNull();
+            assertThat(track.genre()).isNull();
+        });
+    }
+
+    @DisplayName("Given artistId and cursor When findViewsByArtistIdAfter Then return tracks after cursor in release order")
+    @Test
+    void findViewsByArtistIdAfter() {
+        // given
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        var allTracks = trackRepository.findViewsByArtistId(artistId, ALL_FIELDS, Pageable.ofSize(10)).getContent();
+        var last = allTracks.getFirst();
+        // when
+        var tracks = trackRepository.findViewsByArtistIdAfter(artistId, TrackCursor.of(last), ALL_FIELDS, 10).getContent();
+        // then
+        assertThat(tracks).containsExactlyElementsOf(allTracks.subList(1, allTracks.size()));
+        assertThat(tracks).extracting(TrackView::id).doesNotContain(last.id());
+        assertThat(tracks).allSatisfy(track -> assertThat(track.releaseDate()).isAfterOrEqualTo(last.releaseDate()));
+    }
+
+    @DisplayName("Given a dated cursor When findViewsByArtistIdAfter Then seek by row value, then the undated tracks on their own")
+    @Test
+    void findViewsByArtistIdAfter_SeekableStatements() {
+        // given
+        var michaelJackson = artistRepository.findByArtistId(TestUtils.MICHAEL_JACKSON_ARTIST_ID).orElseThrow();
+        var lastDated = LocalDate.of(2100, 1, 1);
+        trackRepository.save(Track.builder().artist(michaelJackson).title("Dated").duration(200).releaseDate(lastDated).build());
+        trackRepository.save(Track.builder().artist(michaelJackson).title("Undated 1").duration(200).build());
+        trackRepository.save(Track.builder().artist(michaelJackson).title("Undated 2").duration(200).build());
+        trackRepository.flush();
+        var cursor = new TrackCursor(lastDated.minusDays(1), Long.MAX_VALUE);
+        StatementRecorder.STATEMENTS.clear();
+        // when
+        var tracks = trackRepository.findViewsByArtistIdAfter(TestUtils.MICHAEL_JACKSON_ARTIST_ID, cursor, ALL_FIELDS, 2);
+        // then
+        assertThat(tracks.getContent()).extracting(TrackView::title).containsExactly("Dated", "Undated 1");
+        assertThat(tracks.hasNext()).isTrue();
+        assertThat(StatementRecorder.STATEMENTS).hasSize(2);
+        assertThat(StatementRecorder.STATEMENTS.getFirst())
+                .containsPattern("\\(\\w+\\.release_date,\\s*\\w+\\.id\\)\\s*>\\s*\\(\\?,\\s*\\?\\)")
+                .doesNotContainIgnoringCase(" or ");
+        assertThat(StatementRecorder.STATEMENTS.getLast())
+                .containsIgnoringCase("release_date is null")
+                .doesNotContainIgnoringCase(" or ");
+    }
+
+    @DisplayName("Given a dated cursor and a full page of dated tracks after it When findViewsByArtistIdAfter Then skip the undated seek")
+    @Test
+    void findViewsByArtistIdAfter_FullDatedPage() {
+        // given
+        var michaelJackson = artistRepository.findByArtistId(TestUtils.MICHAEL_JACKSON_ARTIST_ID).orElseThrow();
+        var firstDated = LocalDate.of(2100, 1, 1);
+        trackRepository.save(Track.builder().artist(michaelJackson).title("Dated 1").duration(200).releaseDate(firstDated).build());
+        trackRepository.save(Track.builder().artist(michaelJackson).title("Dated 2").duration(200).releaseDate(firstDated.plusDays(1)).build());
+        trackRepository.save(Track.builder().artist(michaelJackson).title("Undated").duration(200).build());
+        trackRepository.flush();
+        var cursor = new TrackCursor(firstDated.minusDays(1), Long.MAX_VALUE);
+        StatementRecorder.STATEMENTS.clear();
+        // when
+        var tracks = trackRepository.findViewsByArtistIdAfter(TestUtils.MICHAEL_JACKSON_ARTIST_ID, cursor, ALL_FIELDS, 1);
+        // then
+        assertThat(tracks.getContent()).extracting(TrackView::title).containsExactly("Dated 1");
+        assertThat(tracks.hasNext()).isTrue();
+        assertThat(StatementRecorder.STATEMENTS).hasSize(1);
+    }
+
+    @DisplayName("Given genre and release date range When findViews Then merge referenced and free-text genre tracks in release order")
+    @Test
+    void findViews_GenreAndReleaseDateRange() {
+        // given
+        var pop = genreRepository.findByName("Pop").orElseThrow();
+        var michaelJackson = artistRepository.findByArtistId(TestUtils.MICHAEL_JACKSON_ARTIST_ID).orElseThrow();
+        trackRepository.save(Track.builder().artist(michaelJackson).genre(pop).title("Thriller")
+                .duration(357).releaseDate(LocalDate.of(1983, 11, 30)).build());
+        var filter = new TrackFilter(null, pop.getId(), pop.getName(), false, LocalDate.of(1982, 1, 1), LocalDate.of(1990, 1, 1));
+        // when
+        var titles = new ArrayList<String>();
+        TrackCursor cursor = null;
+        do {
+            var trackPage = trackRepository.findViews(filter, cursor, 2);
+            trackPage.getContent().forEach(track -> titles.add(track.title()));
+            cursor = trackPage.hasNext() ? TrackCursor.of(trackPage.getContent().getLast()) : null;
+        } while (cursor != null);
+        // then
+        assertThat(titles).containsExactly("Billie Jean", "Beat It", "Thriller", "Like a Prayer");
+    }
+
+    @DisplayName("Given genre with undated tracks When findViews page by page Then seek without OR and reach the undated tracks last")
+    @Test
+    void findViews_GenreUndatedTail() {
+        // given
+        var pop = genreRepository.findByName("Pop").orElseThrow();
+        var madonna = artistRepository.findByArtistId(TestUtils.MADONNA_ARTIST_ID).orElseThrow();
+        trackRepository.save(Track.builder().artist(madonna).genre(pop).title("Untitled Demo").duration(200).build());
+        trackRepository.save(Track.builder().artist(madonna).genreName("Pop").title("Untitled Remix").duration(200).build());
+        trackRepository.flush();
+        var filter = new TrackFilter(null, pop.getId(), pop.getName(), false, null, null);
+        var expected = trackRepository.findViews(filter, null, 100).getContent();
+        StatementRecorder.STATEMENTS.clear();
         // when
-        var trackTitleAlreadyExist = trackRepository.existsByArtist_ArtistIdAndTitle(artistId, trackTitle);
+        var tracks = new ArrayList<TrackView>();
+        TrackCursor cursor = null;
+        do {
+            var trackPage = trackRepository.findViews(filter, cursor, 2);
+            tracks.addAll(trackPage.getContent());
+            cursor = trackPage.hasNext() ? TrackCursor.of(trackPage.getContent().getLast()) : null;
+        } while (cursor != null);
         // then
-        assertThat(trackTitleAlreadyExist).isTrue();
+        assertThat(tracks).isEqualTo(expected);
+        assertThat(tracks.subList(tracks.size() - 2, tracks.size())).extracting(TrackView::title)
+                .containsExactly("Untitled Demo", "Untitled Remix");
+        assertThat(StatementRecorder.STATEMENTS).noneMatch(sql -> sql.toLowerCase().contains(" or "));
     }
 
-    @DisplayName("Given artistId and title When existsByArtist_ArtistIdAndTitle Then return false")
+    @DisplayName("Given genre with sub-genres When findViews Then include the tracks of the whole genre subtree")
     @Test
-    void existsByArtist_ArtistIdAndTitle_notExist() {
+    void findViews_GenreSubtree() {
+        // given
+        var rock = genreRepository.findByName("Rock").orElseThrow();
+        var popRock = genreRepository.findByName("Pop Rock").orElseThrow();
+        var theBeatles = artistRepository.findByArtistId(TestUtils.THE_BEATLES_ARTIST_ID).orElseThrow();
+        trackRepository.save(Track.builder().artist(theBeatles).genre(popRock).title("Penny Lane")
+                .duration(180).releaseDate(LocalDate.of(1967, 2, 13)).build());
+        trackRepository.save(Track.builder().artist(theBeatles).genreName("Alternative Rock").title("Tomorrow Never Knows")
+                .duration(177).releaseDate(LocalDate.of(1966, 8, 5)).build());
+        // when
+        var subtree = trackRepository.findViews(
+                new TrackFilter(null, rock.getId(), rock.getName(), true, null, null), null, 100);
+        var genreOnly = trackRepository.findViews(
+                new TrackFilter(null, rock.getId(), rock.getName(), false, null, null), null, 100);
+        // then
+        assertThat(subtree.getContent()).extracting(TrackView::title)
+                .contains("Hey Jude", "Penny Lane", "Tomorrow Never Knows");
+        assertThat(subtree.getContent()).extracting(TrackView::releaseDate)
+                .isSortedAccordingTo(Comparator.nullsLast(Comparator.naturalOrder()));
+        assertThat(genreOnly.getContent()).extracting(TrackView::title)
+                .contains("Hey Jude")
+                .doesNotContain("Penny Lane", "Tomorrow Never Knows");
+    }
+
+    @DisplayName("Given artistId When streamByArtistId Then stream every track in release order")
+    @Test
+    void streamByArtistId() {
         // given
         var artistId = TestUtils.MADONNA_ARTIST_ID;
-        var trackTitle = TestUtils.MICHAEL_JACKSON_TRACK_TITLE;
+        var allTracks = trackRepository.findViewsByArtistId(artistId, ALL_FIELDS, Pageable.ofSize(10)).getContent();
         // when
-        var trackTitleAlreadyExist = trackRepository.existsByArtist_ArtistIdAndTitle(artistId, trackTitle);
+        try (var tracks = trackRepository.streamByArtistId(artistId)) {
+            // then
+            assertThat(tracks).containsExactlyElementsOf(allTracks);
+        }
+    }
+
+    @DisplayName("Given a title the artist already has When saveAndFlush Then the unique index rejects it")
+    @Test
+    void saveAndFlush_DuplicateTitle() {
+        // given
+        var artist = artistRepository.findByArtistId(TestUtils.MADONNA_ARTIST_ID).orElseThrow();
+        var track = Track.builder()
+                .artist(artist)
+                .title(TestUtils.MADONNA_TRACK_TITLE)
+                .duration(200)
+                .releaseDate(LocalDate.now())
+                .build();
+        // when & then
+        Assertions.assertThatThrownBy(() -> trackRepository.saveAndFlush(track))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("UK_TRACKS_ARTIST_ID_TITLE");
+    }
+
+    @DisplayName("Given a title another artist has When saveAndFlush Then save the track")
+    @Test
+    void saveAndFlush_TitleOfAnotherArtist() {
+        // given
+        var artist = artistRepository.findByArtistId(TestUtils.MADONNA_ARTIST_ID).orElseThrow();
+        var track = Track.builder()
+                .artist(artist)
+                .title(TestUtils.MICHAEL_JACKSON_TRACK_TITLE)
+                .duration(200)
+                .releaseDate(LocalDate.now())
+                .build();
+        // when
+        var savedTrack = trackRepository.saveAndFlush(track);
+        // then
+        assertThat(savedTrack.getId()).isNotNull();
+    }
+
+    @DisplayName("Given a batch holding a title committed since it was checked When insertAll Then insert the others only")
+    @Test
+    void insertAll_TitleTakenMeanwhile() {
+        // given
+        var artist = artistRepository.findByArtistId(TestUtils.MADONNA_ARTIST_ID).orElseThrow();
+        var taken = Track.builder().artist(artist).trackId(UUID.randomUUID()).title(TestUtils.MADONNA_TRACK_TITLE)
+                .duration(200).releaseDate(LocalDate.now()).build();
+        var fresh = Track.builder().artist(artist).trackId(UUID.randomUUID()).title("Fresh Track")
+                .duration(200).releaseDate(LocalDate.now()).build();
+        // when
+        var inserted = trackRepository.insertAll(List.of(taken, fresh));
         // then
-        assertThat(trackTitleAlreadyExist).isFalse();
+        assertThat(inserted).containsExactly(fresh);
+        assertThat(trackRepository.findTrackKeys(List.of(artist.getId()), List.of("Fresh Track"))).hasSize(1);
+    }
+
+    /**
+     * Records the SQL of every statement, to check the shape of the listing queries.
+     */
+    public static class StatementRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
     }
-}
\ No newline at end of file
+}
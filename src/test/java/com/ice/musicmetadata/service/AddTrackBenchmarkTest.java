@@ -0,0 +1,119 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.model.TrackRequest;
+import com.ice.musicmetadata.repository.ArtistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Submits tracks from concurrent clients and reports how many {@code addTrack} calls go through per second, then
+ * races clients on the same title to count the duplicates that slip through. Run it on its own:
+ * {@code mvn test -Dtest=AddTrackBenchmarkTest -Dbenchmark=true [-Dbenchmark.threads=8]}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:add-track-benchmark-db;DB_CLOSE_DELAY=-1",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class AddTrackBenchmarkTest {
+    private static final int TRACKS_PER_THREAD = 2_000;
+    private static final int RACES = 200;
+
+    @Autowired
+    private ArtistService artistService;
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @DisplayName("Concurrent track submissions never create duplicate titles")
+    @Test
+    void addTrack_ConcurrentSubmissions() throws Exception {
+        // given
+        var threads = Integer.getInteger("benchmark.threads", 8);
+        var artists = artistRepository.saveAll(IntStream.range(0, threads)
+                .mapToObj(i -> Artist.builder().name("Benchmark Artist " + i).build())
+                .toList());
+        var raceArtists = artistRepository.saveAll(IntStream.range(0, RACES)
+                .mapToObj(i -> Artist.builder().name("Race Artist " + i).build())
+                .toList());
+
+        // when
+        // Warm up on titles of their own before timing
+        run(threads, thread -> () -> addTracks(artists.get(thread), "Warm-up", TRACKS_PER_THREAD / 4));
+        var start = System.nanoTime();
+        run(threads, thread -> () -> addTracks(artists.get(thread), "Track", TRACKS_PER_THREAD));
+        var seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("{} threads added {} tracks at {} tracks/s", threads, threads * TRACKS_PER_THREAD,
+                String.format("%.0f", threads * TRACKS_PER_THREAD / seconds));
+
+        var rejected = new AtomicInteger();
+        for (var artist : raceArtists) {
+            var ready = new CountDownLatch(threads);
+            run(threads, thread -> () -> {
+                ready.countDown();
+                ready.await();
+                try {
+                    artistService.addTrack(artist.getArtistId(), trackRequest("Same Title"));
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        var duplicates = raceArtists.stream()
+                .mapToLong(artist -> artistRepository.findByArtistId(artist.getArtistId()).orElseThrow().getTrackCount() - 1)
+                .sum();
+        log.info("{} races of {} threads on one title: {} rejected, {} duplicates created", RACES, threads,
+                rejected.get(), duplicates);
+
+        // then
+        assertThat(duplicates).isZero();
+        assertThat(rejected.get()).isEqualTo(RACES * (threads - 1));
+    }
+
+    private Void addTracks(Artist artist, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            artistService.addTrack(artist.getArtistId(), trackRequest(prefix + " " + i));
+        }
+        return null;
+    }
+
+    private static TrackRequest trackRequest(String title) {
+        return new TrackRequest()
+                .title(title)
+                .durationInSeconds(200)
+                .releaseDate(LocalDate.of(2000, 1, 1));
+    }
+
+    private static void run(int threads, IntFunction<Callable<Void>> task) throws Exception {
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            var futures = new ArrayList<Future<Void>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(task.apply(i)));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ice.musicmetadata.service;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ice.musicmetadata.mapper.ArtistMapper;
+import com.ice.musicmetadata.model.ArtistResponse;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ArtistOfTheDayResponseCacheTest {
+    private final ArtistMapper artistMapper = spy(Mappers.getMapper(ArtistMapper.class));
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ArtistOfTheDayResponseCache artistOfTheDayResponseCache =
+            new ArtistOfTheDayResponseCache(artistMapper, objectMapper);
+
+    @DisplayName("Given an artist When get Then return its JSON, gzip, Brotli and entity tags")
+    @Test
+    void get_EncodesArtist() throws IOException {
+        // given
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        artist.setVersion(3L);
+
+        // when
+        var encoded = artistOfTheDayResponseCache.get(artist);
+
+        // then
+        var artistResponse = objectMapper.readValue(encoded.json(), ArtistResponse.class);
+        assertThat(artistResponse.getArtistId()).isEqualTo(TestUtils.MADONNA_ARTIST_ID);
+        assertThat(artistResponse.getName()).isEqualTo(artist.getName());
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(encoded.json());
+        }
+        assertThat(Decoder.decompress(encoded.brotli()).getDecompressedData()).isEqualTo(encoded.json());
+        assertThat(encoded.eTag()).isEqualTo("\"" + TestUtils.MADONNA_ARTIST_ID + "-3\"");
+        assertThat(encoded.gzipETag()).isEqualTo("\"" + TestUtils.MADONNA_ARTIST_ID + "-3-gzip\"");
+        assertThat(encoded.brotliETag()).isEqualTo("\"" + TestUtils.MADONNA_ARTIST_ID + "-3-br\"");
+    }
+
+    @DisplayName("Given the same artist instance When get twice Then encode it once")
+    @Test
+    void get_SameArtist() {
+        // given
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+
+        // when
+        var first = artistOfTheDayResponseCache.get(artist);
+        var second = artistOfTheDayResponseCache.get(artist);
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(artistMapper, times(1)).mapToArtistResponse(artist);
+    }
+
+    @DisplayName("Given another artist instance When get Then encode it again")
+    @Test
+    void get_OtherArtist() {
+        // given
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        var first = artistOfTheDayResponseCache.get(artist);
+        var rotated = TestUtils.createArtist(TestUtils.THE_BEATLES_ARTIST_ID);
+
+        // when
+        var second = artistOfTheDayResponseCache.get(rotated);
+
+        // then
+        assertThat(second.artist()).isSameAs(rotated);
+        assertThat(second.json()).isNotEqualTo(first.json());
+    }
+
+    @DisplayName("Given a transaction When prepare Then encode only after the commit")
+    @Test
+    void prepare_AfterCommit() {
+        // given
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            artistOfTheDayResponseCache.prepare(artist);
+
+            // then
+            verifyNoInteractions(artistMapper);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCommit());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(artistMapper).mapToArtistResponse(artist);
+        artistOfTheDayResponseCache.get(artist);
+        verify(artistMapper, times(1)).mapToArtistResponse(artist);
+    }
+}
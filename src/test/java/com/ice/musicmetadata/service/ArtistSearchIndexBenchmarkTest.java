@@ -0,0 +1,102 @@
+package com.ice.musicmetadata.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fills the artist search index with generated names and aliases and times autocomplete, exact and misspelt
+ * lookups, to show they stay under a millisecond at catalogue scale. Run it on its own, with heap to match:
+ * {@code mvn test -Dtest=ArtistSearchIndexBenchmarkTest -Dbenchmark=true [-Dbenchmark.names=2000000]
+ * -DargLine=-Xmx3g}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ArtistSearchIndexBenchmarkTest {
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ra", "ben", "tor", "sa", "vi", "el", "jo", "an", "mar", "din", "ros", "ta", "li",
+            "no", "qu", "be", "zon", "ha", "per", "chi", "ul", "gra", "fe", "dos", "ne", "wil", "son", "ja", "ke"};
+    private static final int QUERIES = 2_000;
+    private static final double MAX_MEDIAN_MILLIS = 1.0;
+
+    private final Random random = new Random(42);
+
+    @DisplayName("Artist search answers in under a millisecond over millions of names")
+    @Test
+    void search_SubMillisecond() {
+        // given
+        var count = Integer.getInteger("benchmark.names", 1_000_000);
+        var index = new ArtistSearchIndex();
+        var names = new ArrayList<String>(count);
+        var start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            var name = name();
+            names.add(name);
+            index.put(UUID.randomUUID(), name, random.nextInt(4) == 0 ? List.of(name()) : List.of());
+        }
+        var runtime = Runtime.getRuntime();
+        runtime.gc();
+        log.info("Indexed {} artists in {} ms, {} MB heap used", count, (System.nanoTime() - start) / 1_000_000,
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+        var queries = Map.<String, Function<String, String>>of(
+                "autocomplete", name -> name.substring(0, Math.min(name.length(), 3 + random.nextInt(4))),
+                "word prefix", name -> name.substring(name.indexOf(' ') + 1, name.indexOf(' ') + 4),
+                "exact", Function.identity(),
+                "misspelt", this::misspell);
+
+        // when
+        var medians = new TreeMap<String, Double>();
+        queries.forEach((kind, query) -> {
+            var samples = new ArrayList<String>(QUERIES);
+            for (int i = 0; i < QUERIES; i++) {
+                samples.add(query.apply(names.get(random.nextInt(count))));
+            }
+            // Warm up before timing
+            samples.forEach(sample -> index.search(sample, 10));
+            var timings = new double[QUERIES];
+            var found = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                var queryStart = System.nanoTime();
+                found += index.search(samples.get(i), 10).isEmpty() ? 0 : 1;
+                timings[i] = (System.nanoTime() - queryStart) / 1_000_000.0;
+            }
+            Arrays.sort(timings);
+            medians.put(kind, timings[QUERIES / 2]);
+            log.info("{} names, {}: median {} ms, p99 {} ms, {}% found", count, kind,
+                    String.format("%.3f", timings[QUERIES / 2]), String.format("%.3f", timings[QUERIES * 99 / 100]),
+                    found * 100 / QUERIES);
+        });
+
+        // then
+        medians.forEach((kind, median) -> assertThat(median).as(kind).isLessThan(MAX_MEDIAN_MILLIS));
+    }
+
+    private String name() {
+        var name = new StringBuilder();
+        for (int w = 0, words = 2 + random.nextInt(2); w < words; w++) {
+            if (!name.isEmpty()) {
+                name.append(' ');
+            }
+            var word = new StringBuilder();
+            for (int s = 0, syllables = 2 + random.nextInt(2); s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            name.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return name.toString();
+    }
+
+    // Replaces one letter, away from the first so the typo is where users make them
+    private String misspell(String name) {
+        var chars = name.toCharArray();
+        var position = 1 + random.nextInt(chars.length - 1);
+        chars[position] = chars[position] == ' ' ? ' ' : (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+}
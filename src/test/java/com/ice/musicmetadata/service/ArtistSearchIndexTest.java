@@ -0,0 +1,98 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.ArtistMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArtistSearchIndexTest {
+    private static final UUID BON_JOVI = UUID.randomUUID();
+    private static final UUID BONNIE_TYLER = UUID.randomUUID();
+    private static final UUID SIGUR_ROS = UUID.randomUUID();
+
+    private ArtistSearchIndex artistSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        artistSearchIndex = new ArtistSearchIndex();
+        artistSearchIndex.put(BON_JOVI, "Bon Jovi", List.of("JBJ", "Jon Bon Jovi"));
+        artistSearchIndex.put(BONNIE_TYLER, "Bonnie Tyler", List.of());
+        artistSearchIndex.put(SIGUR_ROS, "Sigur Rós", List.of());
+    }
+
+    @DisplayName("Given a prefix When search is called Then return every artist with a word starting with it, best match first")
+    @Test
+    void search_Prefix() {
+        // when
+        var matches = artistSearchIndex.search("bon", 10);
+        // then
+        assertThat(matches).extracting(ArtistMatch::artistId).containsExactly(BON_JOVI, BONNIE_TYLER);
+        assertThat(matches.getFirst().matched()).isEqualTo("Bon Jovi");
+    }
+
+    @DisplayName("Given an alias When search is called Then return the artist under its name and the matched alias")
+    @Test
+    void search_Alias() {
+        // when
+        var matches = artistSearchIndex.search("jbj", 10);
+        // then
+        assertThat(matches).containsExactly(new ArtistMatch(BON_JOVI, "Bon Jovi", "JBJ", 1.0));
+    }
+
+    @DisplayName("Given a misspelt or unaccented query When search is called Then still find the artist")
+    @Test
+    void search_Fuzzy() {
+        // when & then
+        assertThat(artistSearchIndex.search("Bon Jovy", 10)).extracting(ArtistMatch::artistId).startsWith(BON_JOVI);
+        assertThat(artistSearchIndex.search("bonie tyler", 10)).extracting(ArtistMatch::artistId).startsWith(BONNIE_TYLER);
+        assertThat(artistSearchIndex.search("sigur ros", 10)).extracting(ArtistMatch::artistId).containsExactly(SIGUR_ROS);
+        assertThat(artistSearchIndex.search("metallica", 10)).isEmpty();
+    }
+
+    @DisplayName("Given a renamed artist When search is called Then match the new name and aliases only")
+    @Test
+    void put_ReplacesPreviousTerms() {
+        // when
+        artistSearchIndex.put(BON_JOVI, "Bon Jovi (Official)", List.of("Slippery When Wet"));
+        // then
+        assertThat(artistSearchIndex.search("jbj", 10)).isEmpty();
+        assertThat(artistSearchIndex.search("slippery", 10)).extracting(ArtistMatch::name)
+                .containsExactly("Bon Jovi (Official)");
+        assertThat(artistSearchIndex.size()).isEqualTo(3);
+    }
+
+    @DisplayName("Given an artist renamed over and over When put is called Then keep the index size flat")
+    @Test
+    void put_CompactsTombstones() {
+        // given
+        artistSearchIndex.put(BON_JOVI, "Bon Jovi 0", List.of());
+        var termCount = artistSearchIndex.termCount();
+        var keyCount = artistSearchIndex.keyCount();
+        // when
+        for (int i = 1; i <= 1000; i++) {
+            artistSearchIndex.put(BON_JOVI, "Bon Jovi " + i, List.of());
+        }
+        // then tombstones never outnumber the live terms
+        assertThat(artistSearchIndex.termCount()).isLessThanOrEqualTo(2 * termCount);
+        assertThat(artistSearchIndex.keyCount()).isLessThanOrEqualTo(2 * keyCount);
+        assertThat(artistSearchIndex.search("bon jovi 1000", 10)).extracting(ArtistMatch::name)
+                .containsExactly("Bon Jovi 1000");
+        assertThat(artistSearchIndex.search("jovi 999", 10)).isEmpty();
+        assertThat(artistSearchIndex.search("bonnie", 10)).extracting(ArtistMatch::artistId)
+                .containsExactly(BONNIE_TYLER);
+        assertThat(artistSearchIndex.size()).isEqualTo(3);
+    }
+
+    @DisplayName("Given more matches than the limit When search is called Then return the limit only")
+    @Test
+    void search_Limit() {
+        // when & then
+        assertThat(artistSearchIndex.search("bon", 1)).extracting(ArtistMatch::artistId).containsExactly(BON_JOVI);
+        assertThat(artistSearchIndex.search("  ", 10)).isEmpty();
+    }
+}
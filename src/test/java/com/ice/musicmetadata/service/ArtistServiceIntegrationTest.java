@@ -0,0 +1,199 @@
+package com.ice.musicmetadata.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.model.ArtistSearchResult;
+import com.ice.musicmetadata.model.TrackResponse;
+import com.ice.musicmetadata.model.UpdateArtistNameRequest;
+import com.ice.musicmetadata.repository.ArtistRepository;
+import com.ice.musicmetadata.utils.TestUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(
+        properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ArtistServiceIntegrationTest {
+    @Autowired
+    private ArtistService artistService;
+    @Autowired
+    private ArtistRepository artistRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ArtistSearchService artistSearchService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("Should read a page of tracks in a single query without loading entities")
+    @Test
+    void getArtistTracks_SingleQuery() {
+        // given
+        var artistId = TestUtils.THE_BEATLES_ARTIST_ID;
+        for (int i = 0; i < 3; i++) {
+            artistService.addTrack(artistId, TestUtils.createTrackRequest()
+                    .title("Projection Track " + UUID.randomUUID())
+                    .genre("Pop"));
+        }
+        statistics.clear();
+        // when
+        var response = artistService.getArtistTracks(artistId, 0, 100, null, true, null);
+        // then
+        assertThat(response.getData()).extracting(TrackResponse::getGenre).contains("Pop");
+        // One lookup for the track counter, one for the page itself
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @DisplayName("Should serve repeated track pages from cache and evict only the artist a track is added to")
+    @Test
+    void getArtistTracks_CachedUntilTrackAdded() {
+        // given
+        var madonnaId = TestUtils.MADONNA_ARTIST_ID;
+        var michaelJacksonId = TestUtils.MICHAEL_JACKSON_ARTIST_ID;
+        var madonnaTracks = artistService.getArtistTracks(madonnaId, 0, 10, null, true, null);
+        artistService.getArtistTracks(michaelJacksonId, 0, 10, null, true, null);
+        statistics.clear();
+        // when
+        artistService.getArtistTracks(madonnaId, 0, 10, null, true, null);
+        artistService.getArtistTracks(michaelJacksonId, 0, 10, null, true, null);
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // when
+        artistService.addTrack(madonnaId, TestUtils.createTrackRequest().title("Cached Track " + UUID.randomUUID()));
+        statistics.clear();
+        artistService.getArtistTracks(michaelJacksonId, 0, 10, null, true, null);
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // when
+        var refreshedMadonnaTracks = artistService.getArtistTracks(madonnaId, 0, 10, null, true, null);
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(refreshedMadonnaTracks.getTotalItems()).isEqualTo(madonnaTracks.getTotalItems() + 1);
+    }
+
+    @DisplayName("Should revalidate track pages without a query until a track is added")
+    @Test
+    void getArtistTracksETag_CachedUntilTrackAdded() {
+        // given
+        var artistId = TestUtils.MICHAEL_JACKSON_ARTIST_ID;
+        var eTag = artistService.getArtistTracksETag(artistId);
+        statistics.clear();
+        // when
+        var cachedETag = artistService.getArtistTracksETag(artistId);
+        // then
+        assertThat(cachedETag).isEqualTo(eTag);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // when
+        artistService.addTrack(artistId, TestUtils.createTrackRequest().title("Tagged Track " + UUID.randomUUID()));
+        statistics.clear();
+        var newETag = artistService.getArtistTracksETag(artistId);
+        // then the tag is read back from the artist row alone
+        assertThat(newETag).isNotEqualTo(eTag);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Should write only the changed aliases when a rename keeps 20 of 21 aliases")
+    @Test
+    void updateArtistName_WritesAliasDifference() {
+        // given
+        var artistId = artistRepository.save(Artist.builder().name("Alias Artist " + UUID.randomUUID()).build())
+                .getArtistId();
+        var aliases = IntStream.rangeClosed(1, 21).mapToObj(i -> "Alias " + i).toList();
+        artistService.updateArtistName(artistId, new UpdateArtistNameRequest().name("Alias Artist " + artistId).aliases(aliases));
+        var renamedAliases = new ArrayList<>(aliases.subList(0, 20));
+        renamedAliases.add("Alias 22");
+        statistics.clear();
+        // when
+        var response = artistService.updateArtistName(artistId,
+                new UpdateArtistNameRequest().name("Renamed Artist " + artistId).aliases(renamedAliases));
+        // then
+        assertThat(response.getAliases()).containsExactlyElementsOf(renamedAliases);
+        // The artist with its aliases, the name check, the artist update, one alias delete and one alias insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Should tell the other nodes about a committed rename")
+    @Test
+    void updateArtistName_InvalidatesOtherNodes() {
+        // given
+        var artistId = artistRepository.save(Artist.builder().name("Invalidated Artist " + UUID.randomUUID()).build())
+                .getArtistId();
+        var received = new CopyOnWriteArrayList<CacheInvalidation>();
+        try (var otherNode = new InJvmCacheInvalidationBus()) {
+            otherNode.subscribe(received::add);
+            // when
+            artistService.updateArtistName(artistId,
+                    new UpdateArtistNameRequest().name("Renamed Invalidated Artist " + artistId).aliases(List.of()));
+            // then
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(received)
+                    .anySatisfy(invalidation -> assertThat(invalidation.artists()).containsExactly(artistId)));
+        }
+    }
+
+    @DisplayName("Should evict the track pages and reindex the artists another node changed")
+    @Test
+    void onCacheInvalidation_FromOtherNode() {
+        // given
+        var artist = artistRepository.save(Artist.builder().name("Remote Artist " + UUID.randomUUID()).build());
+        artistService.getArtistTracks(artist.getArtistId(), 0, 10, null, true, null);
+        assertThat(artistTrackPageKeys()).contains(artist.getArtistId());
+        // The other node renames the artist, which this node's search index knows nothing about
+        var name = "Elsewhere " + UUID.randomUUID();
+        artist.setName(name);
+        artistRepository.save(artist);
+        try (var otherNode = new InJvmCacheInvalidationBus()) {
+            // when
+            otherNode.publish(new CacheInvalidation(Set.of(artist.getArtistId()), Set.of(artist.getArtistId()), false));
+            // then
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+                assertThat(artistTrackPageKeys()).doesNotContain(artist.getArtistId());
+                assertThat(artistSearchService.searchArtists(name, 5).getData())
+                        .extracting(ArtistSearchResult::getArtistId)
+                        .contains(artist.getArtistId());
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UUID> artistTrackPageKeys() {
+        var cache = (Cache<Object, Object>) cacheManager.getCache(ArtistTracksCache.ARTIST_TRACKS_CACHE_NAME).getNativeCache();
+        return cache.asMap().keySet().stream()
+                .filter(ArtistTracksCache.Key.class::isInstance)
+                .map(key -> ((ArtistTracksCache.Key) key).artistId())
+                .toList();
+    }
+}
@@ -2,17 +2,24 @@ package com.ice.musicmetadata.service;
 
 import com.ice.musicmetadata.domain.Artist;
 import com.ice.musicmetadata.domain.ArtistAlias;
+import com.ice.musicmetadata.domain.FeaturedHistory;
+import com.ice.musicmetadata.domain.FeaturedSchedule;
 import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackCursor;
+import com.ice.musicmetadata.domain.TrackField;
+import com.ice.musicmetadata.domain.TrackView;
 import com.ice.musicmetadata.exception.NoEligibleArtistsException;
 import com.ice.musicmetadata.mapper.ArtistMapper;
 import com.ice.musicmetadata.mapper.TrackMapper;
+import com.ice.musicmetadata.model.ArtistResponse;
+import com.ice.musicmetadata.model.FeaturedArtistResponse;
 import com.ice.musicmetadata.model.TrackResponse;
 import com.ice.musicmetadata.model.UpdateArtistNameRequest;
 import com.ice.musicmetadata.repository.ArtistRepository;
-import com.ice.musicmetadata.repository.GenreRepository;
 import com.ice.musicmetadata.repository.TrackRepository;
 import com.ice.musicmetadata.utils.TestUtils;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,12 +27,19 @@ import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -44,7 +58,7 @@ class ArtistServiceTest {
     private ArtistRepository artistRepository;
 
     @Mock
-    private GenreRepository genreRepository;
+    private GenreRegistry genreRegistry;
 
     @Mock
     private ArtistMapper artistMapper;
@@ -55,6 +69,21 @@ class ArtistServiceTest {
     @Mock
     private FeaturedArtistService featuredArtistService;
 
+    @Mock
+    private ArtistTracksCache artistTracksCache;
+
+    @Mock
+    private ArtistSearchIndex artistSearchIndex;
+
+    @Mock
+    private ArtistOfTheDayResponseCache artistOfTheDayResponseCache;
+
+    @Mock
+    private ZonedArtistOfTheDaySnapshot zonedArtistOfTheDaySnapshot;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
 
     @DisplayName("Should return ArtistResponse when getArtistOfTheDay is called")
     @Test
@@ -69,7 +98,7 @@ class ArtistServiceTest {
         when(featuredArtistService.getArtistOfTheDay()).thenReturn(artist);
         when(artistMapper.mapToArtistResponse(artist)).thenReturn(artistResponseMock);
 
-        var artistResponse = artistService.getArtistOfTheDay();
+        var artistResponse = artistService.getArtistOfTheDay(null);
 
         // Assert
         assertThat(artistResponse).isNotNull();
@@ -85,6 +114,35 @@ class ArtistServiceTest {
 
     }
 
+    @DisplayName("Should return only the requested fields when getArtistOfTheDay is called with a fieldset")
+    @Test
+    void getArtistOfTheDay_Fields() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+
+        // Act
+        when(featuredArtistService.getArtistOfTheDay()).thenReturn(artist);
+
+        var artistResponse = artistService.getArtistOfTheDay(List.of("artistId", "name"));
+
+        // Assert
+        assertThat(artistResponse.getArtistId()).isEqualTo(artist.getArtistId());
+        assertThat(artistResponse.getName()).isEqualTo(artist.getName());
+        assertThat(artistResponse.getBio()).isNull();
+        assertThat(artistResponse.getAliases()).isNull();
+        verifyNoInteractions(artistMapper);
+    }
+
+    @DisplayName("Should throw IllegalArgumentException when getArtistOfTheDay is called with an unknown field")
+    @Test
+    void getArtistOfTheDay_UnknownField() {
+        // Assert
+        assertThatThrownBy(() -> artistService.getArtistOfTheDay(List.of("name", "birthday")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown artist field: birthday");
+        verifyNoInteractions(featuredArtistService, artistMapper);
+    }
+
     @DisplayName("Should throw NoEligibleArtistsException when getArtistOfTheDay is called and no artist is found")
     @Test
     void getArtistOfTheDay_NoEligibleArtists() {
@@ -93,7 +151,7 @@ class ArtistServiceTest {
         when(featuredArtistService.getArtistOfTheDay()).thenReturn(null);
 
         // Assert
-        assertThatThrownBy(() -> artistService.getArtistOfTheDay())
+        assertThatThrownBy(() -> artistService.getArtistOfTheDay(null))
                 .isInstanceOf(NoEligibleArtistsException.class)
                 .hasMessageContaining("No artist of the day found");
 
@@ -103,6 +161,163 @@ class ArtistServiceTest {
         verifyNoMoreInteractions(featuredArtistService);
     }
 
+    @DisplayName("Should return the encoded response of the cached artist when getEncodedArtistOfTheDay is called")
+    @Test
+    void getEncodedArtistOfTheDay_Success() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        var encoded = new ArtistOfTheDayResponseCache.EncodedResponse(artist, new ArtistResponse(), "\"1\"", "\"1-gzip\"",
+                "\"1-br\"", new byte[0], new byte[0], new byte[0]);
+        when(featuredArtistService.getArtistOfTheDay()).thenReturn(artist);
+        when(artistOfTheDayResponseCache.get(artist)).thenReturn(encoded);
+
+        // Act
+        var response = artistService.getEncodedArtistOfTheDay();
+
+        // Assert
+        assertThat(response).isSameAs(encoded);
+        verifyNoInteractions(artistMapper);
+    }
+
+    @DisplayName("Should throw NoEligibleArtistsException when getEncodedArtistOfTheDay is called and no artist is found")
+    @Test
+    void getEncodedArtistOfTheDay_NoEligibleArtists() {
+        // Arrange
+        when(featuredArtistService.getArtistOfTheDay()).thenReturn(null);
+
+        // Assert
+        assertThatThrownBy(() -> artistService.getEncodedArtistOfTheDay())
+                .isInstanceOf(NoEligibleArtistsException.class)
+                .hasMessageContaining("No artist of the day found");
+        verifyNoInteractions(artistOfTheDayResponseCache);
+    }
+
+    @DisplayName("Should return the zone's artist from the snapshot when getEncodedArtistOfTheDay is called with a zone")
+    @Test
+    void getEncodedArtistOfTheDay_Zone() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        var encoded = new ArtistOfTheDayResponseCache.EncodedResponse(artist, new ArtistResponse(), "\"1\"", "\"1-gzip\"",
+                "\"1-br\"", new byte[0], new byte[0], new byte[0]);
+        when(zonedArtistOfTheDaySnapshot.get(ZoneId.of("Asia/Tokyo"))).thenReturn(Optional.of(encoded));
+        when(zonedArtistOfTheDaySnapshot.get(ZoneOffset.ofHours(9))).thenReturn(Optional.of(encoded));
+
+        // Act & Assert
+        assertThat(artistService.getEncodedArtistOfTheDay("Asia/Tokyo")).isSameAs(encoded);
+        // An offset whose '+' was decoded to a space in the query string
+        assertThat(artistService.getEncodedArtistOfTheDay(" 09:00")).isSameAs(encoded);
+        verifyNoInteractions(featuredArtistService);
+    }
+
+    @DisplayName("Should throw IllegalArgumentException when getEncodedArtistOfTheDay is called with an unknown zone")
+    @Test
+    void getEncodedArtistOfTheDay_UnknownZone() {
+        // Assert
+        assertThatThrownBy(() -> artistService.getEncodedArtistOfTheDay("Mars/Olympus_Mons"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown time zone: Mars/Olympus_Mons");
+        verifyNoInteractions(zonedArtistOfTheDaySnapshot);
+    }
+
+    @DisplayName("Should throw NoEligibleArtistsException when the zone's date is not in the snapshot")
+    @Test
+    void getEncodedArtistOfTheDay_ZoneNotPlanned() {
+        // Arrange
+        when(zonedArtistOfTheDaySnapshot.get(ZoneOffset.UTC)).thenReturn(Optional.empty());
+
+        // Assert
+        assertThatThrownBy(() -> artistService.getEncodedArtistOfTheDay("Z"))
+                .isInstanceOf(NoEligibleArtistsException.class)
+                .hasMessageContaining("No artist of the day found");
+    }
+
+    @DisplayName("Should map a sparse fieldset of the zone's artist when getArtistOfTheDay is called with a zone")
+    @Test
+    void getArtistOfTheDay_ZoneFields() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        var encoded = new ArtistOfTheDayResponseCache.EncodedResponse(artist, new ArtistResponse(), "\"1\"", "\"1-gzip\"",
+                "\"1-br\"", new byte[0], new byte[0], new byte[0]);
+        when(zonedArtistOfTheDaySnapshot.get(ZoneId.of("America/New_York"))).thenReturn(Optional.of(encoded));
+
+        // Act
+        var artistResponse = artistService.getArtistOfTheDay(List.of("name"), "America/New_York");
+
+        // Assert
+        assertThat(artistResponse.getName()).isEqualTo(artist.getName());
+        assertThat(artistResponse.getArtistId()).isNull();
+        verifyNoInteractions(featuredArtistService);
+    }
+
+    @DisplayName("Should return the featured artist of each planned day when getFeaturedArtists is called")
+    @Test
+    void getFeaturedArtists_Success() {
+        // Arrange
+        var from = LocalDate.of(2025, 6, 1);
+        var featured = FeaturedSchedule.builder()
+                .featureDate(from)
+                .artist(TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID))
+                .build();
+        var featuredResponse = new FeaturedArtistResponse().featureDate(from);
+        when(featuredArtistService.getSchedule(from, from.plusDays(6))).thenReturn(List.of(featured));
+        when(artistMapper.mapToFeaturedArtistResponse(featured)).thenReturn(featuredResponse);
+
+        // Act
+        var response = artistService.getFeaturedArtists(from, from.plusDays(6));
+
+        // Assert
+        assertThat(response.getData()).containsExactly(featuredResponse);
+    }
+
+    @DisplayName("Should throw IllegalArgumentException when getFeaturedArtists is called with a range ending before it starts")
+    @Test
+    void getFeaturedArtists_ReversedRange() {
+        // Arrange
+        var from = LocalDate.of(2025, 6, 1);
+
+        // Assert
+        assertThatThrownBy(() -> artistService.getFeaturedArtists(from, from.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Featured date range cannot end before it starts");
+        assertThatThrownBy(() -> artistService.getFeaturedArtists(from, from.plusYears(1).plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Featured date range cannot be longer than a year");
+        verifyNoInteractions(featuredArtistService);
+    }
+
+    @DisplayName("Should return the featured artist of each recorded day when getFeaturedHistory is called")
+    @Test
+    void getFeaturedHistory_Success() {
+        // Arrange
+        var from = LocalDate.of(2025, 6, 1);
+        var featured = FeaturedHistory.builder()
+                .featureDate(from)
+                .artist(TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID))
+                .build();
+        var featuredResponse = new FeaturedArtistResponse().featureDate(from);
+        when(featuredArtistService.getHistory(from, from.plusDays(6))).thenReturn(List.of(featured));
+        when(artistMapper.mapToFeaturedArtistResponse(featured)).thenReturn(featuredResponse);
+
+        // Act
+        var response = artistService.getFeaturedHistory(from, from.plusDays(6));
+
+        // Assert
+        assertThat(response.getData()).containsExactly(featuredResponse);
+    }
+
+    @DisplayName("Should throw IllegalArgumentException when getFeaturedHistory is called with a range ending before it starts")
+    @Test
+    void getFeaturedHistory_ReversedRange() {
+        // Arrange
+        var from = LocalDate.of(2025, 6, 1);
+
+        // Assert
+        assertThatThrownBy(() -> artistService.getFeaturedHistory(from, from.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Featured date range cannot end before it starts");
+        verifyNoInteractions(featuredArtistService);
+    }
+
     @DisplayName("Given artistId, page, size When getArtistTracks is called Then return TrackPageResponse")
     @Test
     void getArtistTracks() {
@@ -113,16 +328,16 @@ class ArtistServiceTest {
         int size = 10;
 
         // Act
-        when(artistRepository.existsByArtistId(artistId)).thenReturn(true);
-        when(trackRepository.findByArtist_ArtistId(artistId, PageRequest.of(page, size)))
-                .thenReturn(TestUtils.createTrackPage(artistId, page, size));
-        when(trackMapper.mapToTrackPageResponse(any()))
+        when(artistRepository.findTrackCountByArtistId(artistId)).thenReturn(Optional.of(size));
+        when(trackRepository.findViewsByArtistId(artistId, EnumSet.allOf(TrackField.class), PageRequest.of(page, size)))
+                .thenReturn(TestUtils.createTrackViewSlice(page, size, false));
+        when(trackMapper.mapToTrackSliceResponse(any()))
                 .thenAnswer(invocation -> {
-                    var trackPage = invocation.<Page<Track>>getArgument(0);
-                    return Mappers.getMapper(TrackMapper.class).mapToTrackPageResponse(trackPage);
+                    var trackSlice = invocation.<Slice<TrackView>>getArgument(0);
+                    return TestUtils.createTrackMapper().mapToTrackSliceResponse(trackSlice);
                 });
         // Call the method to test
-        var trackPageResponse = artistService.getArtistTracks(artistId, page, size);
+        var trackPageResponse = artistService.getArtistTracks(artistId, page, size, null, true, null);
 
         // Assert
         assertThat(trackPageResponse).isNotNull();
@@ -141,10 +356,127 @@ class ArtistServiceTest {
         );
         // Verify that the repository, trackMapper methods were called with the correct parameters
         var inOrder = inOrder(artistRepository, trackRepository, trackMapper);
-        inOrder.verify(artistRepository, times(1)).existsByArtistId(artistId);
-        inOrder.verify(trackRepository, times(1)).findByArtist_ArtistId(artistId, PageRequest.of(page, size));
-        inOrder.verify(trackMapper, times(1)).mapToTrackPageResponse(any());
-        verifyNoMoreInteractions(trackRepository, trackMapper);
+        inOrder.verify(artistRepository, times(1)).findTrackCountByArtistId(artistId);
+        inOrder.verify(trackRepository, times(1)).findViewsByArtistId(artistId, EnumSet.allOf(TrackField.class), PageRequest.of(page, size));
+        inOrder.verify(trackMapper, times(1)).mapToTrackSliceResponse(any());
+        verifyNoMoreInteractions(artistRepository, trackRepository, trackMapper);
+    }
+
+    @DisplayName("Given includeTotals false When getArtistTracks is called Then return hasNext without totals")
+    @Test
+    void getArtistTracks_WithoutTotals() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        int page = 0;
+        int size = 10;
+        var trackSlice = TestUtils.createTrackViewSlice(page, size, true);
+        var sliceResponse = TestUtils.createTrackMapper().mapToTrackSliceResponse(trackSlice);
+
+        // Act
+        when(artistRepository.findTrackCountByArtistId(artistId)).thenReturn(Optional.of(size * 3));
+        when(trackRepository.findViewsByArtistId(artistId, EnumSet.allOf(TrackField.class), PageRequest.of(page, size))).thenReturn(trackSlice);
+        when(trackMapper.mapToTrackSliceResponse(trackSlice)).thenReturn(sliceResponse);
+        var trackPageResponse = artistService.getArtistTracks(artistId, page, size, null, false, null);
+
+        // Assert
+        assertThat(trackPageResponse.getHasNext()).isTrue();
+        assertThat(trackPageResponse.getNextCursor()).isNotNull();
+        assertThat(trackPageResponse.getTotalItems()).isNull();
+        assertThat(trackPageResponse.getTotalPages()).isNull();
+    }
+
+    @DisplayName("Given nonexistent artistId When getArtistTracks is called Then throw EntityNotFoundException")
+    @Test
+    void getArtistTracks_ArtistNotFound() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+
+        // Act
+        when(artistRepository.findTrackCountByArtistId(artistId)).thenReturn(Optional.empty());
+
+        // Assert
+        assertThatThrownBy(() -> artistService.getArtistTracks(artistId, 0, 10, null, true, null))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Artist not found");
+        verifyNoInteractions(trackRepository, trackMapper);
+    }
+
+    @DisplayName("Given artistId, size, cursor When getArtistTracks is called Then seek past cursor and return next cursor")
+    @Test
+    void getArtistTracks_Cursor() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        int size = 2;
+        var cursor = new TrackCursor(LocalDate.of(1989, 3, 21), 7L);
+        var tracks = TestUtils.generateTrackViewList(size + 1);
+
+        // Act
+        when(artistRepository.findTrackCountByArtistId(artistId)).thenReturn(Optional.of(size * 2));
+        when(trackRepository.findViewsByArtistIdAfter(artistId, cursor, EnumSet.allOf(TrackField.class), size))
+                .thenReturn(new SliceImpl<>(tracks.subList(0, size), PageRequest.ofSize(size), true));
+        when(trackMapper.mapToTrackCursorPageResponse(any()))
+                .thenAnswer(invocation -> {
+                    var trackSlice = invocation.<Slice<TrackView>>getArgument(0);
+                    return TestUtils.createTrackMapper().mapToTrackCursorPageResponse(trackSlice);
+                });
+        var trackPageResponse = artistService.getArtistTracks(artistId, 0, size, cursor.encode(), true, null);
+
+        // Assert
+        assertThat(trackPageResponse.getData()).hasSize(size);
+        assertThat(trackPageResponse.getPageSize()).isEqualTo(size);
+        assertThat(trackPageResponse.getPage()).isNull();
+        assertThat(trackPageResponse.getHasNext()).isTrue();
+        assertThat(trackPageResponse.getTotalItems()).isEqualTo(size * 2);
+        assertThat(trackPageResponse.getTotalPages()).isEqualTo(2);
+        assertThat(TrackCursor.decode(trackPageResponse.getNextCursor()))
+                .isEqualTo(TrackCursor.of(tracks.get(size - 1)));
+
+        // Verify the offset query is not used
+        verify(trackRepository).findViewsByArtistIdAfter(artistId, cursor, EnumSet.allOf(TrackField.class), size);
+        verifyNoMoreInteractions(trackRepository);
+    }
+
+    @DisplayName("Given malformed cursor When getArtistTracks is called Then throw IllegalArgumentException")
+    @Test
+    void getArtistTracks_InvalidCursor() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+
+        // Assert
+        assertThatThrownBy(() -> artistService.getArtistTracks(artistId, 0, 10, "not-a-cursor", true, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+
+        verifyNoInteractions(artistRepository, trackRepository, trackMapper);
+    }
+
+    @DisplayName("Given a name in other case and without accents When getArtistByName is called Then look the name key up")
+    @Test
+    void getArtistByName_Success() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        var artistResponse = new ArtistResponse().artistId(artist.getArtistId()).name(artist.getName());
+        when(artistRepository.findByNameKey("beyonce")).thenReturn(Optional.of(artist));
+        when(artistMapper.mapToArtistResponse(artist)).thenReturn(artistResponse);
+
+        // Act
+        var response = artistService.getArtistByName(" BEYONCÉ ");
+
+        // Assert
+        assertThat(response).isSameAs(artistResponse);
+    }
+
+    @DisplayName("Given an unknown name When getArtistByName is called Then throw EntityNotFoundException")
+    @Test
+    void getArtistByName_NotFound() {
+        // Arrange
+        when(artistRepository.findByNameKey("unknown artist")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> artistService.getArtistByName("Unknown Artist"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Artist not found");
+        verifyNoInteractions(artistMapper);
     }
 
     // ArtistResponse updateArtistName(UUID artistId, UpdateArtistNameRequest updateArtistNameRequest)
@@ -173,9 +505,9 @@ class ArtistServiceTest {
                 .build();
 
         // Act
-        when(artistRepository.findByArtistId(artistId)).thenReturn(Optional.of(artist));
-        when(artistRepository.existsByArtistIdNotAndName(artistId, newArtistName)).thenReturn(false);
-        when(artistRepository.save(any(Artist.class))).thenReturn(updatedArtist);
+        when(artistRepository.findWithAliasesByArtistId(artistId)).thenReturn(Optional.of(artist));
+        when(artistRepository.existsByArtistIdNotAndNameKey(artistId, Artist.toNameKey(newArtistName))).thenReturn(false);
+        when(artistRepository.saveAndFlush(any(Artist.class))).thenReturn(updatedArtist);
         when(artistMapper.mapToArtistResponse(updatedArtist))
                 .thenAnswer(invocation -> {
                     var a = invocation.<Artist>getArgument(0);
@@ -189,11 +521,15 @@ class ArtistServiceTest {
         assertThat(updateArtistName.getName()).isEqualTo(newArtistName);
 
         // Verify interactions
-        var inOrder = inOrder(artistRepository, artistMapper);
-        inOrder.verify(artistRepository).findByArtistId(artistId);
-        inOrder.verify(artistRepository).existsByArtistIdNotAndName(artistId, newArtistName);
-        inOrder.verify(artistRepository).save(any(Artist.class));
+        var inOrder = inOrder(artistRepository, artistTracksCache, artistMapper);
+        inOrder.verify(artistRepository).findWithAliasesByArtistId(artistId);
+        inOrder.verify(artistRepository).existsByArtistIdNotAndNameKey(artistId, Artist.toNameKey(newArtistName));
+        inOrder.verify(artistRepository).saveAndFlush(any(Artist.class));
+        inOrder.verify(artistTracksCache).evictArtist(artistId);
         inOrder.verify(artistMapper).mapToArtistResponse(updatedArtist);
+        verify(artistSearchIndex).put(artistId, newArtistName, aliases);
+        verify(featuredArtistService).refreshFeaturedArtists(Set.of(artistId));
+        verify(cacheInvalidator).invalidateArtist(artistId);
     }
 
     @DisplayName("Given artistId and existing name When updateArtistName is called Then throw IllegalArgumentException")
@@ -209,8 +545,8 @@ class ArtistServiceTest {
         // Create a mock artist
         var artist = TestUtils.createArtist(artistId);
         // Act
-        when(artistRepository.findByArtistId(artistId)).thenReturn(Optional.of(artist));
-        when(artistRepository.existsByArtistIdNotAndName(artistId, newArtistName)).thenReturn(true);
+        when(artistRepository.findWithAliasesByArtistId(artistId)).thenReturn(Optional.of(artist));
+        when(artistRepository.existsByArtistIdNotAndNameKey(artistId, Artist.toNameKey(newArtistName))).thenReturn(true);
 
         // Assert
         assertThatThrownBy(() -> artistService.updateArtistName(artistId, request))
@@ -218,12 +554,34 @@ class ArtistServiceTest {
                 .hasMessageContaining("Artist name already exists");
 
         // Verify interactions
-        verify(artistRepository).findByArtistId(artistId);
-        verify(artistRepository).existsByArtistIdNotAndName(artistId, newArtistName);
-        verify(artistRepository, never()).save(any(Artist.class));
+        verify(artistRepository).findWithAliasesByArtistId(artistId);
+        verify(artistRepository).existsByArtistIdNotAndNameKey(artistId, Artist.toNameKey(newArtistName));
+        verify(artistRepository, never()).saveAndFlush(any(Artist.class));
         verify(artistMapper, never()).mapToArtistResponse(any(Artist.class));
     }
 
+    @DisplayName("Given a name another artist took concurrently When updateArtistName is called Then throw IllegalArgumentException")
+    @Test
+    void updateArtistName_NameTakenConcurrently() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        var newArtistName = "Raced Artist Name";
+        var request = new UpdateArtistNameRequest()
+                .name(newArtistName)
+                .aliases(List.of());
+        var artist = TestUtils.createArtist(artistId);
+        when(artistRepository.findWithAliasesByArtistId(artistId)).thenReturn(Optional.of(artist));
+        when(artistRepository.existsByArtistIdNotAndNameKey(artistId, Artist.toNameKey(newArtistName))).thenReturn(false);
+        when(artistRepository.saveAndFlush(artist)).thenThrow(constraintViolation("MUSIC_METADATA.UK_ARTISTS_NAME_KEY"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> artistService.updateArtistName(artistId, request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Artist name already exists");
+        verify(artistTracksCache, never()).evictArtist(any());
+        verify(cacheInvalidator, never()).invalidateArtist(any());
+    }
+
     @DisplayName("Given nonexistent artistId When updateArtistName is called Then throw EntityNotFoundException")
     @Test
     void updateArtistName_ArtistNotFound() {
@@ -234,7 +592,7 @@ class ArtistServiceTest {
                 .aliases(List.of("Alias1", "Alias2"));
 
         // Act
-        when(artistRepository.findByArtistId(artistId)).thenReturn(Optional.empty());
+        when(artistRepository.findWithAliasesByArtistId(artistId)).thenReturn(Optional.empty());
 
         // Assert
         assertThatThrownBy(() -> artistService.updateArtistName(artistId, request))
@@ -242,12 +600,37 @@ class ArtistServiceTest {
                 .hasMessageContaining("Artist not found");
 
         // Verify interactions
-        verify(artistRepository).findByArtistId(artistId);
-        verify(artistRepository, never()).existsByArtistIdNotAndName(any(), any());
+        verify(artistRepository).findWithAliasesByArtistId(artistId);
+        verify(artistRepository, never()).existsByArtistIdNotAndNameKey(any(), any());
         verify(artistRepository, never()).save(any(Artist.class));
         verify(artistMapper, never()).mapToArtistResponse(any(Artist.class));
     }
 
+    @DisplayName("Given an artist with aliases When updateArtistName is called Then keep the requested aliases and swap only the rest")
+    @Test
+    void updateArtistName_AliasDifference() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        var artist = TestUtils.createArtist(artistId);
+        artist.addAlias("Kept");
+        artist.addAlias("Dropped");
+        var kept = artist.getAliases().getFirst();
+        var request = new UpdateArtistNameRequest()
+                .name("New Artist Name")
+                .aliases(List.of("Kept", "Added"));
+
+        // Act
+        when(artistRepository.findWithAliasesByArtistId(artistId)).thenReturn(Optional.of(artist));
+        when(artistRepository.existsByArtistIdNotAndNameKey(artistId, Artist.toNameKey(request.getName()))).thenReturn(false);
+        when(artistRepository.saveAndFlush(artist)).thenReturn(artist);
+
+        artistService.updateArtistName(artistId, request);
+
+        // Assert
+        assertThat(artist.getAliases()).extracting(ArtistAlias::getAlias).containsExactly("Kept", "Added");
+        assertThat(artist.getAliases().getFirst()).isSameAs(kept);
+    }
+
 
     //TrackResponse addTrack(UUID artistId, TrackRequest trackRequest)
     @DisplayName("Given valid artistId and trackRequest When addTrack is called Then return TrackResponse")
@@ -268,8 +651,7 @@ class ArtistServiceTest {
                 .genre(trackRequest.getGenre());
         // Act
         when(artistRepository.findByArtistId(artistId)).thenReturn(Optional.of(artist));
-        when(trackRepository.existsByArtist_ArtistIdAndTitle(artistId, trackRequest.getTitle())).thenReturn(false);
-        when(genreRepository.findByName(trackRequest.getGenre())).thenReturn(Optional.empty());
+        when(genreRegistry.findReference(trackRequest.getGenre())).thenReturn(Optional.empty());
         when(trackRepository.save(any(Track.class))).thenReturn(track);
         when(trackMapper.mapToTrackResponse(track)).thenReturn(mockTrackResponse);
 
@@ -284,9 +666,10 @@ class ArtistServiceTest {
 
         // Verify interactions
         verify(artistRepository).findByArtistId(artistId);
-        verify(trackRepository).existsByArtist_ArtistIdAndTitle(artistId, trackRequest.getTitle());
-        verify(genreRepository).findByName(trackRequest.getGenre());
+        verify(genreRegistry).findReference(trackRequest.getGenre());
         verify(trackRepository).save(any(Track.class));
+        verify(artistRepository).incrementTrackCount(artist.getId(), 1);
+        verify(artistTracksCache).evictArtist(artistId);
         verify(trackMapper).mapToTrackResponse(track);
     }
 
@@ -300,7 +683,8 @@ class ArtistServiceTest {
 
         // Act
         when(artistRepository.findByArtistId(artistId)).thenReturn(Optional.of(artist));
-        when(trackRepository.existsByArtist_ArtistIdAndTitle(artistId, trackRequest.getTitle())).thenReturn(true);
+        when(genreRegistry.findReference(trackRequest.getGenre())).thenReturn(Optional.empty());
+        when(trackRepository.save(any(Track.class))).thenThrow(constraintViolation("MUSIC_METADATA.UK_TRACKS_ARTIST_ID_TITLE"));
 
         // Assert
         assertThatThrownBy(() -> artistService.addTrack(artistId, trackRequest))
@@ -309,10 +693,29 @@ class ArtistServiceTest {
 
         // Verify interactions
         verify(artistRepository).findByArtistId(artistId);
-        verify(trackRepository).existsByArtist_ArtistIdAndTitle(artistId, trackRequest.getTitle());
+        verify(trackRepository).save(any(Track.class));
 
         verifyNoMoreInteractions(artistRepository, trackRepository);
-        verifyNoInteractions(genreRepository);
+        verifyNoInteractions(artistTracksCache);
+    }
+
+    @DisplayName("Given an insert violating another constraint When addTrack is called Then rethrow the violation")
+    @Test
+    void addTrack_OtherConstraintViolation() {
+        // Arrange
+        var artistId = TestUtils.MADONNA_ARTIST_ID;
+        var trackRequest = TestUtils.createTrackRequest();
+        var artist = TestUtils.createArtist(artistId);
+        var violation = constraintViolation("fk_tracks_genre_id");
+
+        // Act
+        when(artistRepository.findByArtistId(artistId)).thenReturn(Optional.of(artist));
+        when(genreRegistry.findReference(trackRequest.getGenre())).thenReturn(Optional.empty());
+        when(trackRepository.save(any(Track.class))).thenThrow(violation);
+
+        // Assert
+        assertThatThrownBy(() -> artistService.addTrack(artistId, trackRequest)).isSameAs(violation);
+        verify(artistRepository, never()).incrementTrackCount(any(), anyInt());
     }
 
     @DisplayName("Given non-existent artistId When addTrack is called Then throw EntityNotFoundException")
@@ -333,6 +736,11 @@ class ArtistServiceTest {
         // Verify interactions
         verify(artistRepository).findByArtistId(artistId);
         verifyNoMoreInteractions(artistRepository);
-        verifyNoInteractions(trackRepository, genreRepository, trackMapper);
+        verifyNoInteractions(trackRepository, genreRegistry, trackMapper);
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidatorTest {
+    private final CacheInvalidationBus cacheInvalidationBus = mock(CacheInvalidationBus.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final CacheInvalidator cacheInvalidator = new CacheInvalidator(cacheInvalidationBus, eventPublisher);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("Given a transaction When invalidating Then publish one message once it commits")
+    @Test
+    void invalidate_BatchedAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        cacheInvalidator.invalidateArtist(TestUtils.MADONNA_ARTIST_ID);
+        cacheInvalidator.invalidateArtistTracks(TestUtils.MADONNA_ARTIST_ID);
+        cacheInvalidator.invalidateArtistTracks(TestUtils.THE_BEATLES_ARTIST_ID);
+        cacheInvalidator.invalidateFeatured();
+
+        // then
+        verify(cacheInvalidationBus, never()).publish(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cacheInvalidationBus).publish(new CacheInvalidation(Set.of(TestUtils.MADONNA_ARTIST_ID),
+                Set.of(TestUtils.MADONNA_ARTIST_ID, TestUtils.THE_BEATLES_ARTIST_ID), true));
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+    }
+
+    @DisplayName("Given a transaction that rolls back When invalidating Then publish nothing")
+    @Test
+    void invalidate_RolledBack() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        cacheInvalidator.invalidateArtist(TestUtils.MADONNA_ARTIST_ID);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // then
+        verify(cacheInvalidationBus, never()).publish(any());
+    }
+
+    @DisplayName("Given no transaction When invalidating Then publish right away")
+    @Test
+    void invalidate_NoTransaction() {
+        // when
+        cacheInvalidator.invalidateFeatured();
+
+        // then
+        verify(cacheInvalidationBus).publish(CacheInvalidation.ofFeatured());
+    }
+
+    @DisplayName("Given an invalidation from another node When received Then publish it as an application event")
+    @Test
+    @SuppressWarnings("unchecked")
+    void receive_PublishesEvent() {
+        // given
+        var subscriber = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationBus).subscribe(subscriber.capture());
+        var invalidation = CacheInvalidation.ofArtist(TestUtils.MADONNA_ARTIST_ID);
+
+        // when
+        subscriber.getValue().accept(invalidation);
+
+        // then
+        verify(eventPublisher).publishEvent(invalidation);
+    }
+
+    @DisplayName("Given more artists than a part holds When split Then keep every artist once and the flag on the first")
+    @Test
+    void split() {
+        // given
+        var artists = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+        var artistTracks = IntStream.range(0, 4).mapToObj(i -> UUID.randomUUID()).toList();
+        var invalidation = new CacheInvalidation(Set.copyOf(artists), Set.copyOf(artistTracks), true);
+
+        // when
+        var parts = invalidation.split(3);
+
+        // then
+        assertThat(parts).hasSize(3);
+        assertThat(parts).allSatisfy(part -> assertThat(part.artists().size() + part.artistTracks().size()).isEqualTo(3));
+        assertThat(parts).extracting(CacheInvalidation::featured).containsExactly(true, false, false);
+        assertThat(parts.stream().reduce(CacheInvalidation.NONE, CacheInvalidation::merge)).isEqualTo(invalidation);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.ArtistAlias;
+import com.ice.musicmetadata.domain.ImportCheckpoint;
+import com.ice.musicmetadata.repository.ArtistRepository;
+import com.ice.musicmetadata.repository.ImportCheckpointRepository;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(
+        properties = {
+                "app.catalog-import.batch-size=2",
+                "app.catalog-import.queue-capacity=4",
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CatalogImportServiceIntegrationTest {
+    @TempDir
+    static Path importDirectory;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+    @Autowired
+    private ArtistService artistService;
+    @Autowired
+    private ArtistRepository artistRepository;
+    @Autowired
+    private ImportCheckpointRepository importCheckpointRepository;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.catalog-import.directory", importDirectory::toString);
+    }
+
+    @DisplayName("Should import a CSV catalog, creating artists and aliases and rejecting invalid and duplicate rows")
+    @Test
+    void startImport_Csv() throws IOException {
+        // given
+        var artistName = "Import Artist " + UUID.randomUUID();
+        Files.writeString(importDirectory.resolve("catalog.csv"), String.join("\n",
+                "artist,aliases,title,durationInSeconds,genre,releaseDate",
+                artistName + ",First Alias|Second Alias,First Song,201,Pop,2020-01-01",
+                artistName + ",,Second Song,202,,2020-02-01",
+                artistName + ",,\"Third, Song\",203,Rock,2020-03-01",
+                artistName + ",,Undated Song,204,Rock,",
+                artistName + ",,First Song,201,Pop,2020-01-01",
+                TestUtils.MADONNA_ARTIST_NAME + ",," + TestUtils.MADONNA_TRACK_TITLE + ",295,Pop,1989-03-21"));
+        // when
+        var job = catalogImportService.startImport("catalog.csv");
+        awaitCompletion(job);
+        // then
+        assertThat(job.getState()).isEqualTo(CatalogImportJob.State.COMPLETED);
+        assertThat(job.getRowsCommitted()).hasValue(6);
+        assertThat(job.getTracksWritten()).hasValue(3);
+        assertThat(job.getRowsRejected()).hasValue(3);
+        var artist = artistRepository.findByNameKey(Artist.toNameKey(artistName)).orElseThrow();
+        assertThat(artist.getAliases()).extracting(ArtistAlias::getAlias).containsExactlyInAnyOrder("First Alias", "Second Alias");
+        assertThat(artistService.getArtistTrackCount(artist.getArtistId())).isEqualTo(3);
+        assertThat(artistService.getArtistTracks(artist.getArtistId(), 0, 10, null, false, null).getData())
+                .extracting("title").containsExactly("First Song", "Second Song", "Third, Song");
+        assertThat(importCheckpointRepository.findBySource(job.getSource()))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getCompletedAt()).isNotNull());
+    }
+
+    @DisplayName("Should resume an interrupted NDJSON import after its last committed batch")
+    @Test
+    void startImport_Resume() throws IOException {
+        // given
+        var artistName = "Resumed Artist " + UUID.randomUUID();
+        var file = importDirectory.resolve("catalog.ndjson");
+        Files.writeString(file, String.join("\n",
+                "{\"artist\":\"" + artistName + "\",\"title\":\"Committed Song 1\",\"durationInSeconds\":180,\"releaseDate\":\"2021-01-01\"}",
+                "{\"artist\":\"" + artistName + "\",\"title\":\"Committed Song 2\",\"durationInSeconds\":180,\"releaseDate\":\"2021-01-02\"}",
+                "{\"artist\":\"" + artistName + "\",\"aliases\":[\"Resumed\"],\"title\":\"Pending Song 1\",\"durationInSeconds\":180,\"releaseDate\":\"2021-01-03\"}",
+                "{\"artist\":\"" + artistName + "\",\"title\":\"Pending Song 2\",\"durationInSeconds\":180,\"releaseDate\":\"2021-01-04\"}"));
+        importCheckpointRepository.save(ImportCheckpoint.builder()
+                .source(file.toAbsolutePath().normalize().toString())
+                .fingerprint(Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis())
+                .rowsCommitted(2)
+                .tracksWritten(2)
+                .build());
+        // when
+        var job = catalogImportService.startImport("catalog.ndjson");
+        awaitCompletion(job);
+        // then
+        assertThat(job.getState()).isEqualTo(CatalogImportJob.State.COMPLETED);
+        assertThat(job.getResumedFrom()).isEqualTo(2);
+        assertThat(job.getTracksWritten()).hasValue(2);
+        var artist = artistRepository.findByNameKey(Artist.toNameKey(artistName)).orElseThrow();
+        assertThat(artistService.getArtistTracks(artist.getArtistId(), 0, 10, null, false, null).getData())
+                .extracting("title").containsExactly("Pending Song 1", "Pending Song 2");
+        assertThat(importCheckpointRepository.findBySource(job.getSource()))
+                .hasValueSatisfying(checkpoint -> {
+                    assertThat(checkpoint.getRowsCommitted()).isEqualTo(4);
+                    assertThat(checkpoint.getTracksWritten()).isEqualTo(4);
+                });
+    }
+
+    @DisplayName("Should refuse files outside the import directory")
+    @Test
+    void startImport_OutsideDirectory() {
+        assertThatThrownBy(() -> catalogImportService.startImport("../catalog.csv"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Catalog file not found");
+    }
+
+    private static void awaitCompletion(CatalogImportJob job) {
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .until(() -> !job.isRunning());
+    }
+}
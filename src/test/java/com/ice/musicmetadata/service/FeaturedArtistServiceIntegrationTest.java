@@ -1,94 +1,289 @@
 package com.ice.musicmetadata.service;
 
+import com.ice.musicmetadata.domain.Artist;
 import com.ice.musicmetadata.domain.Artist_;
+import com.ice.musicmetadata.domain.FeaturedHistory;
+import com.ice.musicmetadata.domain.FeaturedSchedule;
 import com.ice.musicmetadata.repository.ArtistRepository;
-import org.awaitility.Awaitility;
+import com.ice.musicmetadata.repository.FeaturedHistoryRepository;
+import com.ice.musicmetadata.repository.FeaturedScheduleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.time.*;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-
+/**
+ * Rotates the artist of the day directly on a clock the test moves, rather than waiting on the scheduler,
+ * so that each rotation happens on a known day. The days used are far in the past to stay clear of the schedule
+ * other tests plan for today, which is planned again afterwards.
+ */
 @SpringBootTest(
         properties = {
-                "app.artist-of-the-day.cron=*/4 * * * * ?",
+                "spring.quartz.auto-startup=false",
+                "app.artist-of-the-day.refresh-cron=-",
         },
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 class FeaturedArtistServiceIntegrationTest {
-    @MockitoSpyBean
+    private static final LocalDate FIRST_DAY = LocalDate.of(2001, 1, 1);
+    private static final int READERS = 16;
+    private static final int REQUESTS_BEFORE_ROTATION = 5_000;
+    private static final int REQUESTS_AFTER_ROTATION = 250;
+
+    @Autowired
     private FeaturedArtistService featuredArtistService;
     @Autowired
     private ArtistRepository artistRepository;
+    @MockitoSpyBean
+    private FeaturedScheduleRepository featuredScheduleRepository;
     @Autowired
     private CacheManager cacheManager;
+    @Autowired
+    private FeaturedHistoryRepository featuredHistoryRepository;
+    @Autowired
+    private TestClock clock;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestConfiguration
+    static class ClockConfiguration {
+        @Bean
+        @Primary
+        TestClock testClock() {
+            return new TestClock();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock.setToday(FIRST_DAY);
+        featuredScheduleRepository.deleteAllInBatch();
+        deleteHistory();
+        Objects.requireNonNull(cacheManager.getCache("featured-artist")).clear();
+    }
 
+    @AfterEach
+    void tearDown() {
+        clock.setToday(null);
+        featuredScheduleRepository.deleteAllInBatch();
+        deleteHistory();
+        featuredArtistService.planSchedule();
+        Objects.requireNonNull(cacheManager.getCache("featured-artist")).clear();
+    }
 
+    @DisplayName("Should rotate to the artist scheduled for each day")
     @Test
     void rotateArtistOfTheDay() {
-        var currentArtistOfTheDay = featuredArtistService.getArtistOfTheDay();
-        // Wait for the scheduled task to run
-        Awaitility.await()
-                .atMost(Duration.of(4200, ChronoUnit.MILLIS))
-                .pollDelay(Duration.of(2000, ChronoUnit.MILLIS))
-                .untilAsserted(() -> {
-                            var rotatedArtistOfTheDay = featuredArtistService.getArtistOfTheDay();
-                            assertThat(rotatedArtistOfTheDay).isNotEqualTo(currentArtistOfTheDay);
-                            verify(featuredArtistService, times(1)).rotateArtistOfTheDay();
-                        }
-                );
+        // given
+        featuredArtistService.planSchedule();
+        var schedule = featuredArtistService.getSchedule(FIRST_DAY, FIRST_DAY.plusDays(13));
+
+        // when
+        var rotated = new ArrayList<Artist>();
+        for (var day : schedule) {
+            clock.setToday(day.getFeatureDate());
+            rotated.add(featuredArtistService.rotateArtistOfTheDay());
+            // then
+            assertThat(featuredArtistService.getArtistOfTheDay()).isEqualTo(day.getArtist());
+        }
+
+        // then
+        assertThat(schedule).hasSize(14);
+        assertThat(rotated).isEqualTo(schedule.stream().map(FeaturedSchedule::getArtist).toList());
+        assertThat(rotated.getLast().getFeaturedAt()).isEqualTo(clock.instant());
+        assertThat(featuredArtistService.getHistory(FIRST_DAY, FIRST_DAY.plusDays(13)))
+                .extracting(FeaturedHistory::getFeatureDate, FeaturedHistory::getArtist)
+                .containsExactlyElementsOf(schedule.stream()
+                        .map(day -> tuple(day.getFeatureDate(), day.getArtist()))
+                        .toList());
+    }
+
+    @DisplayName("Should keep serving the previous artist while a rotation is uncommitted and after it rolls back")
+    @Test
+    void rotateArtistOfTheDay_RolledBack() {
+        // given
+        featuredArtistService.planSchedule();
+        var previous = featuredArtistService.getArtistOfTheDay();
+        clock.setToday(FIRST_DAY.plusDays(1));
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            var rotated = featuredArtistService.rotateArtistOfTheDay();
+            // then
+            assertThat(rotated).isNotEqualTo(previous);
+            assertThat(featuredArtistService.getArtistOfTheDay()).isSameAs(previous);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(cacheManager.getCache("featured-artist")).isInstanceOf(TransactionAwareCacheDecorator.class);
+        assertThat(featuredArtistService.getArtistOfTheDay()).isSameAs(previous);
+        assertThat(featuredArtistService.getHistory(FIRST_DAY, FIRST_DAY.plusDays(1))).isEmpty();
+    }
+
+    @DisplayName("Should load the artist of the day once for thousands of concurrent requests across a rotation")
+    @Test
+    void getArtistOfTheDay_ConcurrentRotation() throws Exception {
+        // given
+        featuredArtistService.planSchedule();
+        var schedule = featuredArtistService.getSchedule(FIRST_DAY, FIRST_DAY.plusDays(1));
+        var previous = schedule.getFirst().getArtist();
+        var next = schedule.getLast().getArtist();
+        assertThat(next).isNotEqualTo(previous);
+        clearInvocations(featuredScheduleRepository);
+        var requests = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(READERS);
+
+        // when
+        // Each reader keeps requesting until it has been served the next artist a number of times, so every one of
+        // them is still reading when the rotation commits
+        var served = new ArrayList<Future<List<Artist>>>();
+        for (int reader = 0; reader < READERS; reader++) {
+            served.add(executor.submit(() -> {
+                var artists = new ArrayList<Artist>();
+                start.await();
+                var nextServed = 0;
+                while (nextServed < REQUESTS_AFTER_ROTATION) {
+                    var artist = featuredArtistService.getArtistOfTheDay();
+                    artists.add(artist);
+                    requests.incrementAndGet();
+                    if (next.equals(artist)) {
+                        nextServed++;
+                    }
+                }
+                return artists;
+            }));
+        }
+        start.countDown();
+        await().atMost(Duration.ofSeconds(30)).until(() -> requests.get() >= REQUESTS_BEFORE_ROTATION);
+        clock.setToday(FIRST_DAY.plusDays(1));
+        featuredArtistService.rotateArtistOfTheDay();
+        var results = new ArrayList<List<Artist>>();
+        for (var future : served) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // then
+        // One load by the first requests, which all waited on it, and the rotation's own read of the next artist:
+        // no request ever missed the cache while it changed
+        verify(featuredScheduleRepository, times(2)).findArtistByFeatureDate(any());
+        assertThat(requests.get()).isGreaterThanOrEqualTo(REQUESTS_BEFORE_ROTATION + READERS * REQUESTS_AFTER_ROTATION);
+        // Every reader was served the previous artist until the swap and the next one from then on
+        for (var artists : results) {
+            var swap = artists.indexOf(next);
+            assertThat(artists.subList(0, swap)).containsOnly(previous);
+            assertThat(artists.subList(swap, artists.size())).containsOnly(next);
+        }
     }
 
     @DisplayName("Should practice fairness in rotating artist of the day")
     @Test
     void rotateArtistOfTheDay_fairness() {
+        // given
         var artistList = artistRepository.findAll(Sort.by(Sort.Direction.ASC, Artist_.ID));
         for (int i = 0; i < artistList.size(); i++) {
             if (i == artistList.size() - 1) {
                 artistList.get(i).setFeaturedAt(null);
             } else {
-                artistList.get(i).setFeaturedAt(Instant.now().minus(artistList.size() - i, ChronoUnit.DAYS));
+                artistList.get(i).setFeaturedAt(clock.instant().minus(artistList.size() - i, ChronoUnit.DAYS));
             }
         }
-        artistRepository.saveAll(artistList);
-        artistRepository.flush();
-        var cache = cacheManager.getCache("featured-artist");
-        if (cache != null) {
-            cache.clear();
+        artistRepository.saveAllAndFlush(artistList);
+
+        // when
+        var rotated = new ArrayList<Artist>();
+        for (int day = 0; day < artistList.size() * 2; day++) {
+            clock.setToday(FIRST_DAY.plusDays(day));
+            rotated.add(featuredArtistService.rotateArtistOfTheDay());
+        }
+
+        // then
+        // The never featured artist comes first, then the others from the least recently featured, every one of them
+        // once before any of them again
+        var expected = new ArrayList<Artist>();
+        expected.add(artistList.getLast());
+        expected.addAll(artistList.subList(0, artistList.size() - 1));
+        expected.addAll(expected);
+        assertThat(rotated).isEqualTo(expected);
+    }
+
+    @DisplayName("Should keep the days already planned")
+    @Test
+    void planSchedule_KeepsPlannedDays() {
+        // given
+        featuredArtistService.planSchedule();
+        var planned = featuredArtistService.getSchedule(FIRST_DAY, FIRST_DAY.plusDays(13));
+
+        // when
+        clock.setToday(FIRST_DAY.plusDays(7));
+        featuredArtistService.planSchedule();
+
+        // then
+        var replanned = featuredArtistService.getSchedule(FIRST_DAY, FIRST_DAY.plusDays(20));
+        assertThat(replanned).hasSize(21);
+        assertThat(replanned.subList(0, 14))
+                .extracting(FeaturedSchedule::getArtist)
+                .isEqualTo(planned.stream().map(FeaturedSchedule::getArtist).toList());
+    }
+
+    // The history is append-only, but the test days are far in the past and owned by this test
+    private void deleteHistory() {
+        featuredHistoryRepository.deleteAllByIdInBatch(FIRST_DAY.datesUntil(FIRST_DAY.plusYears(1)).toList());
+    }
+
+    /**
+     * Clock the test sets to the start of a given day, or back to the system clock.
+     */
+    static class TestClock extends Clock {
+        private volatile Instant instant;
+
+        void setToday(LocalDate today) {
+            instant = today == null ? null : today.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return instant == null ? Clock.systemDefaultZone().getZone() : ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
         }
 
-        var currentArtistOfTheDay = featuredArtistService.getArtistOfTheDay();
-        // Verify that the current artist of the day is the one with the most current FeaturedAt Date (second to last artist)
-        assertThat(currentArtistOfTheDay).isEqualTo(artistList.get(artistList.size() - 2));
-        // Wait for the scheduled task to run and move to the last artist
-        Awaitility.await()
-                .atMost(Duration.of(4200, ChronoUnit.MILLIS))
-                .pollDelay(Duration.of(2000, ChronoUnit.MILLIS))
-                .untilAsserted(() -> {
-                            var rotatedArtistOfTheDay = featuredArtistService.getArtistOfTheDay();
-                            assertThat(rotatedArtistOfTheDay).isEqualTo(artistList.getLast());
-                            verify(featuredArtistService, times(1)).rotateArtistOfTheDay();
-                        }
-                );
-        // Wait for the scheduled task to run and move to the first artist
-        Awaitility.await()
-                .atMost(Duration.of(4200, ChronoUnit.MILLIS))
-                .pollDelay(Duration.of(2000, ChronoUnit.MILLIS))
-                .untilAsserted(() -> {
-                            var rotatedArtistOfTheDay = featuredArtistService.getArtistOfTheDay();
-                            assertThat(rotatedArtistOfTheDay).isEqualTo(artistList.getFirst());
-                            verify(featuredArtistService, times(2)).rotateArtistOfTheDay();
-                        }
-                );
+        @Override
+        public Instant instant() {
+            return instant == null ? Instant.now() : instant;
+        }
     }
 }
@@ -1,73 +1,200 @@
 package com.ice.musicmetadata.service;
 
 import com.ice.musicmetadata.domain.Artist;
+import com.ice.musicmetadata.domain.FeaturedHistory;
+import com.ice.musicmetadata.domain.FeaturedSchedule;
 import com.ice.musicmetadata.exception.NoEligibleArtistsException;
 import com.ice.musicmetadata.repository.ArtistRepository;
+import com.ice.musicmetadata.repository.FeaturedHistoryRepository;
+import com.ice.musicmetadata.repository.FeaturedScheduleRepository;
 import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class FeaturedArtistServiceTest {
-    @InjectMocks
+    private static final Instant NOW = Instant.parse("2025-06-01T00:00:05Z");
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+    private static final int SCHEDULE_DAYS = 14;
+
     private FeaturedArtistService featuredArtistService;
 
     @Mock
     private ArtistRepository artistRepository;
+    @Mock
+    private FeaturedScheduleRepository featuredScheduleRepository;
+    @Mock
+    private FeaturedHistoryRepository featuredHistoryRepository;
+    @Mock
+    private ArtistOfTheDayResponseCache artistOfTheDayResponseCache;
+    @Mock
+    private ZonedArtistOfTheDaySnapshot zonedArtistOfTheDaySnapshot;
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+    @Captor
+    private ArgumentCaptor<List<FeaturedSchedule>> scheduleCaptor;
+    @Captor
+    private ArgumentCaptor<FeaturedHistory> historyCaptor;
 
-    @Spy
-    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final CacheManager cacheManager = new TransactionAwareCacheManagerProxy(new ConcurrentMapCacheManager());
+
+    @BeforeEach
+    void setUp() {
+        featuredArtistService = new FeaturedArtistService(artistRepository, featuredScheduleRepository, featuredHistoryRepository, cacheManager,
+                artistOfTheDayResponseCache, zonedArtistOfTheDaySnapshot, cacheInvalidator, Clock.fixed(NOW, ZoneOffset.UTC), SCHEDULE_DAYS);
+    }
 
     @Test
-    @DisplayName("Should successfully rotate artist of the day")
+    @DisplayName("Should rotate to the artist scheduled for today")
     void rotateArtistOfTheDay_Success() {
         // Arrange
         var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
-        when(artistRepository.findNextFeaturedArtist()).thenReturn(Optional.of(artist));
-        when(artistRepository.save(any(Artist.class))).thenAnswer(invocation -> {
-            Artist savedArtist = invocation.getArgument(0);
-            assertThat(savedArtist.getFeaturedAt()).isNotNull(); // Ensure featuredAt was set
-            return savedArtist;
-        });
-        //when(cacheManager.getCache("featured-artist")).thenReturn(new ConcurrentMapCacheManager().getCache("featured-artist"));
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.of(artist));
+        when(artistRepository.save(any(Artist.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        cacheManager.getCache("featured-artist").put("artist-of-the-day", TestUtils.createArtist());
 
         // Act
         var artistOfTheDay = featuredArtistService.rotateArtistOfTheDay();
 
         // Assert
-        assertThat(artistOfTheDay).isNotNull();
         assertThat(artistOfTheDay.getArtistId()).isEqualTo(TestUtils.MADONNA_ARTIST_ID);
-        assertThat(artistOfTheDay.getFeaturedAt()).isNotNull();
+        assertThat(artistOfTheDay.getFeaturedAt()).isEqualTo(NOW);
+
+        // Verify today was planned already, and the response is encoded ahead of the new artist replacing the previous one
+        verify(featuredScheduleRepository, never()).saveAll(anyList());
+        verify(artistRepository).save(artist);
+        verify(artistOfTheDayResponseCache).prepare(artist);
+        assertThat(cacheManager.getCache("featured-artist").get("artist-of-the-day").get()).isSameAs(artist);
+
+        // Verify the zoned snapshot moves on, the other nodes are told, and the day is recorded in the history
+        verify(zonedArtistOfTheDaySnapshot).rebuild();
+        verify(cacheInvalidator).invalidateFeatured();
+        verify(featuredHistoryRepository).save(historyCaptor.capture());
+        assertThat(historyCaptor.getValue().getFeatureDate()).isEqualTo(TODAY);
+        assertThat(historyCaptor.getValue().getArtist()).isSameAs(artist);
+        assertThat(historyCaptor.getValue().getFeaturedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("Should keep the day's history when the rotation runs again")
+    void rotateArtistOfTheDay_AlreadyRecorded() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.of(artist));
+        when(artistRepository.save(any(Artist.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(featuredHistoryRepository.existsById(TODAY)).thenReturn(true);
+
+        // Act
+        featuredArtistService.rotateArtistOfTheDay();
 
         // Verify
-        verify(artistRepository).findNextFeaturedArtist();
-        verify(artistRepository).save(any(Artist.class));
+        verify(featuredHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the previous artist until the rotation commits")
+    void rotateArtistOfTheDay_AfterCommit() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        var previous = TestUtils.createArtist();
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.of(artist));
+        when(artistRepository.save(any(Artist.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        cacheManager.getCache("featured-artist").put("artist-of-the-day", previous);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            featuredArtistService.rotateArtistOfTheDay();
+
+            // Assert
+            assertThat(featuredArtistService.getArtistOfTheDay()).isSameAs(previous);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(featuredArtistService.getArtistOfTheDay()).isSameAs(artist);
+        verify(artistOfTheDayResponseCache).prepare(artist);
+        verify(featuredScheduleRepository, times(1)).findArtistByFeatureDate(TODAY);
+    }
+
+    @Test
+    @DisplayName("Should keep the previous artist when the rotation rolls back")
+    void rotateArtistOfTheDay_RolledBack() {
+        // Arrange
+        var previous = TestUtils.createArtist();
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY))
+                .thenReturn(Optional.of(TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID)));
+        when(artistRepository.save(any(Artist.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        cacheManager.getCache("featured-artist").put("artist-of-the-day", previous);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            featuredArtistService.rotateArtistOfTheDay();
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertThat(featuredArtistService.getArtistOfTheDay()).isSameAs(previous);
+    }
+
+    @Test
+    @DisplayName("Should plan the schedule when today is not planned yet")
+    void rotateArtistOfTheDay_PlansToday() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(artist));
+        when(featuredScheduleRepository.findFeatureDatesBetween(TODAY, TODAY.plusDays(SCHEDULE_DAYS - 1)))
+                .thenReturn(Set.of());
+        when(featuredScheduleRepository.findArtistIdsLeastRecentlyFeatured(Limit.of(SCHEDULE_DAYS)))
+                .thenReturn(List.of(3L));
+        when(artistRepository.save(any(Artist.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        var artistOfTheDay = featuredArtistService.rotateArtistOfTheDay();
 
-        // Verify cache was cleared
-        var cache = cacheManager.getCache("featured-artist");
-        assertThat(cache).isNotNull();
-        assertThat(cache.get("'artist-of-the-day'")).isNull();
+        // Assert
+        assertThat(artistOfTheDay.getArtistId()).isEqualTo(TestUtils.MADONNA_ARTIST_ID);
+        verify(featuredScheduleRepository).saveAll(anyList());
+        verify(featuredScheduleRepository, times(2)).findArtistByFeatureDate(TODAY);
     }
 
     @Test
     @DisplayName("Should throw NoEligibleArtistsException when no eligible artists found")
     void rotateArtistOfTheDay_NoEligibleArtists() {
         // Arrange
-        when(artistRepository.findNextFeaturedArtist()).thenReturn(Optional.empty());
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.empty());
+        when(featuredScheduleRepository.findFeatureDatesBetween(any(), any())).thenReturn(Set.of());
+        when(featuredScheduleRepository.findArtistIdsLeastRecentlyFeatured(any())).thenReturn(List.of());
 
         // Act & Assert
         assertThatThrownBy(() -> featuredArtistService.rotateArtistOfTheDay())
@@ -75,17 +202,161 @@ class FeaturedArtistServiceTest {
                 .hasMessageContaining("No eligible artists found for rotation");
 
         // Verify
-        verify(artistRepository).findNextFeaturedArtist();
+        verify(featuredScheduleRepository, never()).saveAll(anyList());
         verify(artistRepository, never()).save(any(Artist.class));
+        verifyNoInteractions(featuredHistoryRepository, artistOfTheDayResponseCache);
+    }
+
+    @Test
+    @DisplayName("Should plan only the missing days, the artists taking turns")
+    void planSchedule_MissingDays() {
+        // Arrange
+        var planned = Set.of(TODAY, TODAY.plusDays(1), TODAY.plusDays(5));
+        when(featuredScheduleRepository.findFeatureDatesBetween(TODAY, TODAY.plusDays(SCHEDULE_DAYS - 1)))
+                .thenReturn(planned);
+        when(featuredScheduleRepository.findArtistIdsLeastRecentlyFeatured(Limit.of(SCHEDULE_DAYS - planned.size())))
+                .thenReturn(List.of(4L, 1L, 2L));
+        when(artistRepository.getReferenceById(any())).thenAnswer(invocation ->
+                Artist.builder().id(invocation.getArgument(0)).build());
+
+        // Act
+        featuredArtistService.planSchedule();
+
+        // Assert
+        verify(featuredScheduleRepository).saveAll(scheduleCaptor.capture());
+        var schedule = scheduleCaptor.getValue();
+        assertThat(schedule)
+                .extracting(FeaturedSchedule::getFeatureDate)
+                .containsExactly(TODAY.plusDays(2), TODAY.plusDays(3), TODAY.plusDays(4), TODAY.plusDays(6),
+                        TODAY.plusDays(7), TODAY.plusDays(8), TODAY.plusDays(9), TODAY.plusDays(10),
+                        TODAY.plusDays(11), TODAY.plusDays(12), TODAY.plusDays(13));
+        assertThat(schedule)
+                .extracting(featured -> featured.getArtist().getId())
+                .containsExactly(4L, 1L, 2L, 4L, 1L, 2L, 4L, 1L, 2L, 4L, 1L);
     }
 
+    @Test
+    @DisplayName("Should not look artists up when every day is planned")
+    void planSchedule_FullyPlanned() {
+        // Arrange
+        when(featuredScheduleRepository.findFeatureDatesBetween(TODAY, TODAY.plusDays(SCHEDULE_DAYS - 1)))
+                .thenReturn(Set.copyOf(TODAY.datesUntil(TODAY.plusDays(SCHEDULE_DAYS)).toList()));
+
+        // Act
+        featuredArtistService.planSchedule();
+
+        // Verify
+        verify(featuredScheduleRepository, never()).findArtistIdsLeastRecentlyFeatured(any());
+        verify(featuredScheduleRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reload the artist of the day from today's row of the schedule")
+    void refreshArtistOfTheDay_Success() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.of(artist));
+        cacheManager.getCache("featured-artist").put("artist-of-the-day", TestUtils.createArtist());
+
+        // Act
+        var artistOfTheDay = featuredArtistService.refreshArtistOfTheDay();
+
+        // Assert
+        assertThat(artistOfTheDay).isSameAs(artist);
+        assertThat(cacheManager.getCache("featured-artist").get("artist-of-the-day").get()).isSameAs(artist);
+
+        // Verify nothing is written, the rotation ran on another node
+        verify(artistOfTheDayResponseCache).prepare(artist);
+        verify(zonedArtistOfTheDaySnapshot).rebuild();
+        verifyNoInteractions(artistRepository);
+    }
+
+    @Test
+    @DisplayName("Should leave the artist of the day to the next read when today is not planned")
+    void refreshArtistOfTheDay_NotPlanned() {
+        // Arrange
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.empty());
+        cacheManager.getCache("featured-artist").put("artist-of-the-day", TestUtils.createArtist());
+
+        // Act
+        var artistOfTheDay = featuredArtistService.refreshArtistOfTheDay();
+
+        // Assert
+        assertThat(artistOfTheDay).isNull();
+        assertThat(cacheManager.getCache("featured-artist").get("artist-of-the-day")).isNull();
+        verifyNoInteractions(artistOfTheDayResponseCache);
+    }
+
+    @Test
+    @DisplayName("Should reload the artist of the day when it is one of the changed artists")
+    void refreshFeaturedArtists_ArtistOfTheDay() {
+        // Arrange
+        var renamed = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.of(renamed));
+        cacheManager.getCache("featured-artist").put("artist-of-the-day", TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID));
+        cacheManager.getCache(FeaturedArtistService.FEATURED_HISTORY_CACHE_NAME).put("range", List.of());
+
+        // Act
+        featuredArtistService.refreshFeaturedArtists(Set.of(TestUtils.MADONNA_ARTIST_ID));
+
+        // Assert
+        assertThat(cacheManager.getCache("featured-artist").get("artist-of-the-day").get()).isSameAs(renamed);
+        assertThat(cacheManager.getCache(FeaturedArtistService.FEATURED_HISTORY_CACHE_NAME).get("range")).isNull();
+        verify(artistOfTheDayResponseCache).prepare(renamed);
+        verify(zonedArtistOfTheDaySnapshot).rebuild();
+    }
+
+    @Test
+    @DisplayName("Should keep the artist of the day when none of the changed artists is featured")
+    void refreshFeaturedArtists_OtherArtist() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        cacheManager.getCache("featured-artist").put("artist-of-the-day", artist);
+        cacheManager.getCache(FeaturedArtistService.FEATURED_HISTORY_CACHE_NAME).put("range", List.of());
+
+        // Act
+        featuredArtistService.refreshFeaturedArtists(Set.of(TestUtils.THE_BEATLES_ARTIST_ID));
+
+        // Assert
+        assertThat(cacheManager.getCache("featured-artist").get("artist-of-the-day").get()).isSameAs(artist);
+        assertThat(cacheManager.getCache(FeaturedArtistService.FEATURED_HISTORY_CACHE_NAME).get("range")).isNull();
+        verify(zonedArtistOfTheDaySnapshot).features(Set.of(TestUtils.THE_BEATLES_ARTIST_ID));
+        verifyNoInteractions(featuredScheduleRepository, artistOfTheDayResponseCache);
+        verify(zonedArtistOfTheDaySnapshot, never()).rebuild();
+    }
+
+    @Test
+    @DisplayName("Should pick up the artist of the day rotated on another node")
+    void onCacheInvalidation_Featured() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.of(artist));
+        cacheManager.getCache("featured-artist").put("artist-of-the-day", TestUtils.createArtist());
+
+        // Act
+        featuredArtistService.onCacheInvalidation(CacheInvalidation.ofFeatured());
+
+        // Assert
+        assertThat(cacheManager.getCache("featured-artist").get("artist-of-the-day").get()).isSameAs(artist);
+        verify(zonedArtistOfTheDaySnapshot).rebuild();
+        verifyNoInteractions(artistRepository, cacheInvalidator);
+    }
+
+    @DisplayName("Should tell the history final for past days only")
+    @Test
+    void isHistoryFinal() {
+        // Assert
+        assertThat(featuredArtistService.isHistoryFinal(TODAY.minusDays(1))).isTrue();
+        assertThat(featuredArtistService.isHistoryFinal(TODAY)).isFalse();
+        assertThat(featuredArtistService.isHistoryFinal(TODAY.plusDays(1))).isFalse();
+    }
 
     @DisplayName("Should get artist of the day when artist exists")
     @Test
     void getArtistOfTheDay_ReturnsArtist_WhenArtistExists() {
         // Arrange
         var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
-        when(artistRepository.findTopByOrderByFeaturedAtDesc()).thenReturn(Optional.of(artist));
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.of(artist));
 
         // Act
         var artistOfTheDay = featuredArtistService.getArtistOfTheDay();
@@ -96,44 +367,40 @@ class FeaturedArtistServiceTest {
         assertThat(artistOfTheDay.getName()).isEqualTo(artist.getName());
 
         // Verify
-        verify(artistRepository, times(1)).findTopByOrderByFeaturedAtDesc();
-        verifyNoMoreInteractions(artistRepository);
+        verify(featuredScheduleRepository, times(1)).findArtistByFeatureDate(TODAY);
+        verifyNoInteractions(artistRepository);
+    }
+
+    @DisplayName("Should load the artist of the day once and serve it from the cache after")
+    @Test
+    void getArtistOfTheDay_Cached() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.of(artist));
+
+        // Act
+        var first = featuredArtistService.getArtistOfTheDay();
+        var second = featuredArtistService.getArtistOfTheDay();
+
+        // Assert
+        assertThat(second).isSameAs(first).isSameAs(artist);
+        verify(featuredScheduleRepository, times(1)).findArtistByFeatureDate(TODAY);
     }
 
     @DisplayName("Should return null when no artist is found")
     @Test
     void getArtistOfTheDay_ReturnsNull_WhenNoArtistFound() {
         // Arrange
-        when(artistRepository.findTopByOrderByFeaturedAtDesc()).thenReturn(Optional.empty());
+        when(featuredScheduleRepository.findArtistByFeatureDate(TODAY)).thenReturn(Optional.empty());
 
         // Act
         var artistOfTheDay = featuredArtistService.getArtistOfTheDay();
 
         // Assert
         assertThat(artistOfTheDay).isNull();
+        assertThat(cacheManager.getCache("featured-artist").get("artist-of-the-day")).isNull();
 
         // Verify
-        verify(artistRepository, times(1)).findTopByOrderByFeaturedAtDesc();
+        verify(featuredScheduleRepository, times(1)).findArtistByFeatureDate(TODAY);
     }
-/*
-    //@Test
-    void getArtistOfTheDay_UsesCache_WhenCalledMultipleTimes() {
-        // Arrange
-        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
-        when(artistRepository.findTopByOrderByFeaturedAtDesc()).thenReturn(Optional.of(artist));
-
-        // Act - First call should hit the repository
-        Artist firstResult = featuredArtistService.getArtistOfTheDay();
-
-        // Second call should use the cache
-        Artist secondResult = featuredArtistService.getArtistOfTheDay();
-
-        // Assert
-        assertThat(firstResult).isNotNull();
-        assertThat(secondResult).isNotNull();
-        assertThat(firstResult).isEqualTo(secondResult);
-
-        // Verify repository is only called once despite two method calls
-        verify(artistRepository, times(1)).findTopByOrderByFeaturedAtDesc();
-    }*/
-}
\ No newline at end of file
+}
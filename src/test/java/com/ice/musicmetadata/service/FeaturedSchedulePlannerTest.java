@@ -0,0 +1,62 @@
+package com.ice.musicmetadata.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeaturedSchedulePlannerTest {
+    @Mock
+    private FeaturedArtistService featuredArtistService;
+
+    private FeaturedSchedulePlanner featuredSchedulePlanner;
+
+    @BeforeEach
+    void setUp() {
+        featuredSchedulePlanner = new FeaturedSchedulePlanner(featuredArtistService);
+    }
+
+    @Test
+    @DisplayName("Should plan once when no other node plans meanwhile")
+    void planSchedule_Success() {
+        // Act
+        featuredSchedulePlanner.planSchedule();
+
+        // Assert
+        verify(featuredArtistService).planSchedule();
+    }
+
+    @Test
+    @DisplayName("Should plan again when another node inserted the same days first")
+    void planSchedule_PlannedConcurrently() {
+        // Arrange
+        doThrow(new DataIntegrityViolationException("duplicate feature_date")).doNothing()
+                .when(featuredArtistService).planSchedule();
+
+        // Act
+        featuredSchedulePlanner.planSchedule();
+
+        // Assert
+        verify(featuredArtistService, times(2)).planSchedule();
+    }
+
+    @Test
+    @DisplayName("Should fail when planning again is rejected too")
+    void planSchedule_RejectedTwice() {
+        // Arrange
+        doThrow(new DataIntegrityViolationException("duplicate feature_date"))
+                .when(featuredArtistService).planSchedule();
+
+        // Act & Assert
+        assertThatThrownBy(() -> featuredSchedulePlanner.planSchedule())
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(featuredArtistService, times(2)).planSchedule();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Genre;
+import com.ice.musicmetadata.domain.GenreNode;
+import com.ice.musicmetadata.repository.GenreRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenreRegistryTest {
+
+    @InjectMocks
+    private GenreRegistry genreRegistry;
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    @DisplayName("Given the genre tree When refresh is called Then look genres up by id and by name ignoring case")
+    @Test
+    void refresh_LoadsTree() {
+        // Arrange
+        when(genreRepository.findAllNodes()).thenReturn(List.of(
+                new GenreNode(1L, "Pop", null),
+                new GenreNode(2L, "K-Pop", 1L),
+                new GenreNode(3L, "Indie Pop", 1L)));
+
+        // Act
+        genreRegistry.refresh();
+
+        // Assert
+        assertThat(genreRegistry.findByName(" k-pop ")).hasValueSatisfying(genre -> {
+            assertThat(genre.id()).isEqualTo(2L);
+            assertThat(genre.parentId()).isEqualTo(1L);
+        });
+        assertThat(genreRegistry.findById(1L)).hasValueSatisfying(genre ->
+                assertThat(genre.subGenreIds()).containsExactlyInAnyOrder(2L, 3L));
+        assertThat(genreRegistry.findByName("Rock")).isEmpty();
+        assertThat(genreRegistry.intern("POP")).isSameAs(genreRegistry.intern("pop")).isEqualTo("Pop");
+        assertThat(genreRegistry.intern("Rock")).isEqualTo("Rock");
+    }
+
+    @DisplayName("Given a changed genre table When refresh is called Then swap in the new tree")
+    @Test
+    void refresh_SwapsChangedTree() {
+        // Arrange
+        when(genreRepository.findAllNodes())
+                .thenReturn(List.of(new GenreNode(1L, "Pop", null)))
+                .thenReturn(List.of(new GenreNode(1L, "Pop", null), new GenreNode(4L, "Rock", null)));
+        genreRegistry.refresh();
+
+        // Act
+        genreRegistry.refresh();
+
+        // Assert
+        assertThat(genreRegistry.findByName("Rock")).isPresent();
+        assertThat(genreRegistry.findByName("Pop")).isPresent();
+    }
+
+    @DisplayName("Given a catalogued genre name When findReference is called Then return a reference without loading it")
+    @Test
+    void findReference() {
+        // Arrange
+        var reference = Genre.builder().id(1L).build();
+        when(genreRepository.findAllNodes()).thenReturn(List.of(new GenreNode(1L, "Pop", null)));
+        when(genreRepository.getReferenceById(1L)).thenReturn(reference);
+        genreRegistry.refresh();
+
+        // Act & Assert
+        assertThat(genreRegistry.findReference("pop")).containsSame(reference);
+        assertThat(genreRegistry.findReference("Jazz")).isEmpty();
+        verify(genreRepository, never()).findByName(any());
+    }
+}
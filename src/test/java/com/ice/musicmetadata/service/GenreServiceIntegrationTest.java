@@ -0,0 +1,111 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Genre;
+import com.ice.musicmetadata.domain.GenreClosure;
+import com.ice.musicmetadata.mapper.GenreMapperImpl;
+import com.ice.musicmetadata.model.CreateGenreRequest;
+import com.ice.musicmetadata.repository.GenreClosureRepository;
+import com.ice.musicmetadata.repository.GenreRepository;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.flywaydb.test.junit5.annotation.FlywayTestExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@FlywayTestExtension
+@FlywayTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GenreService.class, GenreRegistry.class, GenreMapperImpl.class})
+class GenreServiceIntegrationTest {
+    @Autowired
+    private GenreService genreService;
+    @Autowired
+    private GenreRepository genreRepository;
+    @Autowired
+    private GenreClosureRepository genreClosureRepository;
+
+    @DisplayName("Should backfill the closure of the seeded genre tree")
+    @Test
+    void closure_Backfilled() {
+        // given
+        var rock = genreRepository.findByName("Rock").orElseThrow();
+        // when
+        var descendants = descendantsOf(rock);
+        // then
+        assertThat(descendants).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "Rock", 0,
+                "Pop Rock", 1,
+                "Alternative Rock", 1));
+    }
+
+    @DisplayName("Should add a new sub-genre to the closure of all its ancestors")
+    @Test
+    void saveGenre_NewSubGenre() {
+        // given
+        var rock = genreRepository.findByName("Rock").orElseThrow();
+        var alternativeRock = genreRepository.findByName("Alternative Rock").orElseThrow();
+        // when
+        genreService.saveGenre(Genre.builder().name("Grunge").parentGenre(alternativeRock).build());
+        // then
+        assertThat(descendantsOf(rock)).containsEntry("Grunge", 2);
+        assertThat(descendantsOf(alternativeRock)).containsEntry("Grunge", 1);
+    }
+
+    @DisplayName("Should move a genre with its subtree when its parent changes")
+    @Test
+    void saveGenre_MovedSubtree() {
+        // given
+        var rock = genreRepository.findByName("Rock").orElseThrow();
+        var pop = genreRepository.findByName("Pop").orElseThrow();
+        var alternativeRock = genreRepository.findByName("Alternative Rock").orElseThrow();
+        genreService.saveGenre(Genre.builder().name("Grunge").parentGenre(alternativeRock).build());
+        // when
+        alternativeRock.setParentGenre(pop);
+        genreService.saveGenre(alternativeRock);
+        // then
+        assertThat(descendantsOf(rock)).doesNotContainKeys("Alternative Rock", "Grunge");
+        assertThat(descendantsOf(pop)).containsEntry("Alternative Rock", 1).containsEntry("Grunge", 2);
+    }
+
+    @DisplayName("Should add a genre under its named parent, in the closure of all its ancestors")
+    @Test
+    void addGenre_UnderParent() {
+        // given
+        var rock = genreRepository.findByName("Rock").orElseThrow();
+        // when
+        var response = genreService.addGenre(new CreateGenreRequest().name("Grunge").parentGenre("Alternative Rock"));
+        // then
+        assertThat(response.getParentGenre()).isEqualTo("Alternative Rock");
+        assertThat(descendantsOf(rock)).containsEntry("Grunge", 2);
+    }
+
+    @DisplayName("Should reject a genre becoming its own ancestor")
+    @Test
+    void saveGenre_Cycle() {
+        // given
+        var rock = genreRepository.findByName("Rock").orElseThrow();
+        var popRock = genreRepository.findByName("Pop Rock").orElseThrow();
+        rock.setParentGenre(popRock);
+        // when / then
+        assertThatThrownBy(() -> genreService.saveGenre(rock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Genre cannot be its own ancestor");
+    }
+
+    private Map<String, Integer> descendantsOf(Genre genre) {
+        var names = genreRepository.findAll().stream().collect(Collectors.toMap(Genre::getId, Genre::getName));
+        return genreClosureRepository.findAll().stream()
+                .filter(closure -> closure.getAncestorId().equals(genre.getId()))
+                .collect(Collectors.toMap(closure -> names.get(closure.getDescendantId()), GenreClosure::getDepth));
+    }
+}
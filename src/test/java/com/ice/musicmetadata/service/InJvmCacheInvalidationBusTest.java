@@ -0,0 +1,86 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class InJvmCacheInvalidationBusTest {
+    private final InJvmCacheInvalidationBus node = new InJvmCacheInvalidationBus();
+    private final InJvmCacheInvalidationBus otherNode = new InJvmCacheInvalidationBus();
+
+    @AfterEach
+    void tearDown() {
+        node.close();
+        otherNode.close();
+    }
+
+    @DisplayName("Given two nodes When one publishes Then only the other receives, in order")
+    @Test
+    void publish_OtherNodesOnly() {
+        // given
+        var received = new CopyOnWriteArrayList<CacheInvalidation>();
+        var receivedByOther = new CopyOnWriteArrayList<CacheInvalidation>();
+        node.subscribe(received::add);
+        otherNode.subscribe(receivedByOther::add);
+        var first = CacheInvalidation.ofArtist(TestUtils.MADONNA_ARTIST_ID);
+        var second = CacheInvalidation.ofFeatured();
+
+        // when
+        node.publish(first);
+        node.publish(CacheInvalidation.NONE);
+        node.publish(second);
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(receivedByOther).containsSubsequence(first, second).doesNotContain(CacheInvalidation.NONE));
+        assertThat(received).doesNotContain(first, second);
+    }
+
+    @DisplayName("Given a failing subscriber When a node publishes Then the other subscribers still receive it")
+    @Test
+    void publish_FailingSubscriber() {
+        // given
+        var received = new CopyOnWriteArrayList<CacheInvalidation>();
+        otherNode.subscribe(invalidation -> {
+            throw new IllegalStateException("Failing subscriber");
+        });
+        otherNode.subscribe(received::add);
+        var invalidation = CacheInvalidation.ofArtistTracks(TestUtils.MADONNA_ARTIST_ID);
+
+        // when
+        node.publish(invalidation);
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(received).contains(invalidation));
+    }
+
+    @DisplayName("Given a closed node When another publishes Then it receives nothing")
+    @Test
+    void close_LeavesNodes() {
+        // given
+        var received = new CopyOnWriteArrayList<CacheInvalidation>();
+        otherNode.subscribe(received::add);
+        otherNode.close();
+        var invalidation = CacheInvalidation.ofArtist(TestUtils.THE_BEATLES_ARTIST_ID);
+
+        // when
+        node.publish(invalidation);
+
+        // then
+        // Messages are delivered in order, so once a later one reaches a marker node the first has been delivered too
+        var marker = new CopyOnWriteArrayList<CacheInvalidation>();
+        try (var markerNode = new InJvmCacheInvalidationBus()) {
+            markerNode.subscribe(marker::add);
+            node.publish(CacheInvalidation.ofFeatured());
+            await().atMost(Duration.ofSeconds(5)).until(() -> !marker.isEmpty());
+        }
+        assertThat(received).isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package com.ice.musicmetadata.service;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.quartz.LocalDataSourceJobStore;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the scheduler on the clustered JDBC job store, as in production, rather than the in-memory store of the
+ * other tests. The context is closed afterwards so its scheduler stops checking in to the shared test database.
+ */
+@DirtiesContext
+@SpringBootTest(
+        properties = {
+                "spring.quartz.job-store-type=jdbc",
+                "app.artist-of-the-day.refresh-cron=-",
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RotateArtistOfTheDayJobIntegrationTest {
+    private static final JobKey ROTATE_JOB_KEY = JobKey.jobKey("rotate-artist-of-the-day");
+
+    @Autowired
+    private Scheduler scheduler;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoSpyBean
+    private FeaturedArtistService featuredArtistService;
+
+    @DisplayName("Should store the rotation job and its trigger in the clustered JDBC job store")
+    @Test
+    void scheduler_ClusteredJobStore() throws SchedulerException {
+        // when
+        var metaData = scheduler.getMetaData();
+        var triggers = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM MUSIC_METADATA.QRTZ_CRON_TRIGGERS WHERE TRIGGER_NAME = ?", Integer.class,
+                ROTATE_JOB_KEY.getName());
+
+        // then
+        assertThat(metaData.getJobStoreClass()).isEqualTo(LocalDataSourceJobStore.class);
+        assertThat(metaData.isJobStoreClustered()).isTrue();
+        assertThat(scheduler.checkExists(ROTATE_JOB_KEY)).isTrue();
+        assertThat(triggers).isOne();
+    }
+
+    @DisplayName("Should rotate the artist of the day when the job fires")
+    @Test
+    void rotateArtistOfTheDayJob() throws SchedulerException {
+        // when
+        scheduler.triggerJob(ROTATE_JOB_KEY);
+
+        // then
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> verify(featuredArtistService, times(1)).rotateArtistOfTheDay());
+    }
+}
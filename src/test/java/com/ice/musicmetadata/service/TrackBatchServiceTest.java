@@ -0,0 +1,144 @@
+package com.ice.musicmetadata.service;
+
+import com.ice.musicmetadata.domain.Genre;
+import com.ice.musicmetadata.domain.GenreNode;
+import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackKey;
+import com.ice.musicmetadata.mapper.TrackMapper;
+import com.ice.musicmetadata.model.BulkCreateTracksRequest;
+import com.ice.musicmetadata.model.BulkTrackResult;
+import com.ice.musicmetadata.repository.ArtistRepository;
+import com.ice.musicmetadata.repository.TrackRepository;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrackBatchServiceTest {
+
+    @InjectMocks
+    private TrackBatchService trackBatchService;
+
+    @Mock
+    private ArtistRepository artistRepository;
+
+    @Mock
+    private TrackRepository trackRepository;
+
+    @Mock
+    private GenreRegistry genreRegistry;
+
+    @Spy
+    private TrackMapper trackMapper = TestUtils.createTrackMapper(new GenreNode(7L, "Test Genre", null));
+
+    @Mock
+    private ArtistTracksCache artistTracksCache;
+
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given a mixed batch When addTracks is called Then insert the valid tracks in one batch and report each item")
+    @Test
+    void addTracks_MixedBatch() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        var genre = Genre.builder().id(7L).name("Test Genre").build();
+        var request = new BulkCreateTracksRequest().tracks(List.of(
+                TestUtils.createTrackRequest(artist.getArtistId(), "New Track"),
+                TestUtils.createTrackRequest(artist.getArtistId(), TestUtils.MADONNA_TRACK_TITLE),
+                TestUtils.createTrackRequest(artist.getArtistId(), "New Track"),
+                TestUtils.createTrackRequest(UUID.randomUUID(), "Orphan Track"),
+                TestUtils.createTrackRequest(artist.getArtistId(), "Undated Track").releaseDate(null)));
+        when(artistRepository.findAllByArtistIdIn(anyCollection())).thenReturn(List.of(artist));
+        when(genreRegistry.findReference(genre.getName())).thenReturn(Optional.of(genre));
+        when(trackRepository.findTrackKeys(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new TrackKey(artist.getId(), TestUtils.MADONNA_TRACK_TITLE)));
+        when(trackRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        var response = trackBatchService.addTracks(request);
+
+        // Assert
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getResults()).extracting(BulkTrackResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.getResults()).extracting(BulkTrackResult::getError).containsExactly(
+                null,
+                "Track title already exists for this artist",
+                "Track title already exists for this artist",
+                "Artist not found",
+                "Track release date cannot be null");
+        assertThat(response.getResults().getFirst().getTrack().getGenre()).isEqualTo(genre.getName());
+
+        // Verify
+        var tracksCaptor = ArgumentCaptor.forClass(List.class);
+        verify(trackRepository).insertAll(tracksCaptor.capture());
+        assertThat(tracksCaptor.getValue()).singleElement()
+                .satisfies(track -> {
+                    assertThat(((Track) track).getTrackId()).isEqualTo(response.getResults().getFirst().getTrack().getTrackId());
+                    assertThat(((Track) track).getGenre()).isEqualTo(genre);
+                });
+        verify(artistRepository).incrementTrackCount(artist.getId(), 1);
+        verify(artistTracksCache).evictArtist(artist.getArtistId());
+    }
+
+    @SuppressWarnings("unchecked")
+    @DisplayName("Given a title a concurrent request committed after the check When addTracks is called Then reject that item only")
+    @Test
+    void addTracks_TitleTakenMeanwhile() {
+        // Arrange
+        var artist = TestUtils.createArtist(TestUtils.MADONNA_ARTIST_ID);
+        var request = new BulkCreateTracksRequest().tracks(List.of(
+                TestUtils.createTrackRequest(artist.getArtistId(), "Raced Track"),
+                TestUtils.createTrackRequest(artist.getArtistId(), "New Track")));
+        when(artistRepository.findAllByArtistIdIn(anyCollection())).thenReturn(List.of(artist));
+        when(trackRepository.findTrackKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(trackRepository.insertAll(anyList())).thenAnswer(invocation ->
+                ((List<Track>) invocation.getArgument(0)).subList(1, 2));
+
+        // Act
+        var response = trackBatchService.addTracks(request);
+
+        // Assert
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BulkTrackResult::getIndex).containsExactly(0, 1);
+        assertThat(response.getResults()).extracting(BulkTrackResult::getStatus).containsExactly(
+                BulkTrackResult.StatusEnum.FAILED, BulkTrackResult.StatusEnum.CREATED);
+        assertThat(response.getResults().getFirst().getError()).isEqualTo("Track title already exists for this artist");
+        verify(artistRepository).incrementTrackCount(artist.getId(), 1);
+    }
+
+    @DisplayName("Given a batch of unknown artists When addTracks is called Then insert nothing")
+    @Test
+    void addTracks_NothingValid() {
+        // Arrange
+        var request = new BulkCreateTracksRequest().tracks(List.of(
+                TestUtils.createTrackRequest(UUID.randomUUID(), "Orphan Track")));
+        when(artistRepository.findAllByArtistIdIn(anyCollection())).thenReturn(List.of());
+
+        // Act
+        var response = trackBatchService.addTracks(request);
+
+        // Assert
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getFailed()).isEqualTo(1);
+        verify(trackRepository, never()).findTrackKeys(anyCollection(), anyCollection());
+        verify(trackRepository, never()).insertAll(any());
+        verify(artistRepository, never()).incrementTrackCount(any(), anyInt());
+    }
+}
@@ -0,0 +1,94 @@
+package com.ice.musicmetadata.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ice.musicmetadata.domain.FeaturedSchedule;
+import com.ice.musicmetadata.mapper.ArtistMapper;
+import com.ice.musicmetadata.repository.FeaturedScheduleRepository;
+import com.ice.musicmetadata.utils.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+
+import java.time.*;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ZonedArtistOfTheDaySnapshotTest {
+    // Midday in UTC, already the next day at +14:00 and still the same day at -11:00
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private FeaturedScheduleRepository featuredScheduleRepository;
+
+    private ZonedArtistOfTheDaySnapshot zonedArtistOfTheDaySnapshot;
+
+    @BeforeEach
+    void setUp() {
+        var artistOfTheDayResponseCache = new ArtistOfTheDayResponseCache(Mappers.getMapper(ArtistMapper.class), new ObjectMapper());
+        zonedArtistOfTheDaySnapshot = new ZonedArtistOfTheDaySnapshot(featuredScheduleRepository,
+                artistOfTheDayResponseCache, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @DisplayName("Given a rebuilt snapshot When get Then return the artist of each zone's own date")
+    @Test
+    void get_ZoneDate() {
+        // given
+        when(featuredScheduleRepository.findAllByFeatureDateBetween(TODAY.minusDays(2), TODAY.plusDays(2)))
+                .thenReturn(List.of(
+                        featured(TODAY.minusDays(1), TestUtils.THE_BEATLES_ARTIST_ID),
+                        featured(TODAY, TestUtils.MADONNA_ARTIST_ID),
+                        featured(TODAY.plusDays(1), TestUtils.MICHAEL_JACKSON_ARTIST_ID)));
+        zonedArtistOfTheDaySnapshot.rebuild();
+
+        // when
+        var utc = zonedArtistOfTheDaySnapshot.get(ZoneOffset.UTC);
+        var pagoPago = zonedArtistOfTheDaySnapshot.get(ZoneId.of("Pacific/Pago_Pago"));
+        var kiritimati = zonedArtistOfTheDaySnapshot.get(ZoneOffset.ofHours(14));
+
+        // then
+        assertThat(utc).hasValueSatisfying(encoded ->
+                assertThat(encoded.artist().getArtistId()).isEqualTo(TestUtils.MADONNA_ARTIST_ID));
+        assertThat(pagoPago).hasValueSatisfying(encoded ->
+                assertThat(encoded.artist().getArtistId()).isEqualTo(TestUtils.MADONNA_ARTIST_ID));
+        assertThat(kiritimati).hasValueSatisfying(encoded ->
+                assertThat(encoded.artist().getArtistId()).isEqualTo(TestUtils.MICHAEL_JACKSON_ARTIST_ID));
+        // Zones on the same date share the same encoded response
+        assertThat(pagoPago.get()).isSameAs(utc.get());
+    }
+
+    @DisplayName("Given no snapshot built When get Then return empty")
+    @Test
+    void get_NotBuilt() {
+        // then
+        assertThat(zonedArtistOfTheDaySnapshot.get(ZoneOffset.UTC)).isEmpty();
+    }
+
+    @DisplayName("Given a zone's date not planned When get Then return empty")
+    @Test
+    void get_NotPlanned() {
+        // given
+        when(featuredScheduleRepository.findAllByFeatureDateBetween(TODAY.minusDays(2), TODAY.plusDays(2)))
+                .thenReturn(List.of(featured(TODAY, TestUtils.MADONNA_ARTIST_ID)));
+        zonedArtistOfTheDaySnapshot.rebuild();
+
+        // then
+        assertThat(zonedArtistOfTheDaySnapshot.get(ZoneId.of("Asia/Tokyo"))).isNotEmpty();
+        assertThat(zonedArtistOfTheDaySnapshot.get(ZoneOffset.ofHours(14))).isEmpty();
+    }
+
+    private static FeaturedSchedule featured(LocalDate featureDate, UUID artistId) {
+        return FeaturedSchedule.builder()
+                .featureDate(featureDate)
+                .artist(TestUtils.createArtist(artistId))
+                .build();
+    }
+}
@@ -2,14 +2,24 @@ package com.ice.musicmetadata.utils;
 
 import com.ice.musicmetadata.domain.Artist;
 import com.ice.musicmetadata.domain.ArtistAlias;
+import com.ice.musicmetadata.domain.GenreNode;
 import com.ice.musicmetadata.domain.Track;
+import com.ice.musicmetadata.domain.TrackView;
+import com.ice.musicmetadata.mapper.TrackMapper;
 import com.ice.musicmetadata.model.ArtistResponse;
+import com.ice.musicmetadata.model.CreateTrackRequest;
 import com.ice.musicmetadata.model.TrackPageResponse;
 import com.ice.musicmetadata.model.TrackRequest;
 import com.ice.musicmetadata.model.TrackResponse;
+import com.ice.musicmetadata.repository.GenreRepository;
+import com.ice.musicmetadata.service.GenreRegistry;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -55,6 +65,16 @@ public interface TestUtils {
                 .build();
     }
 
+    static TrackMapper createTrackMapper(GenreNode... genres) {
+        var genreRepository = Mockito.mock(GenreRepository.class);
+        Mockito.when(genreRepository.findAllNodes()).thenReturn(List.of(genres));
+        var genreRegistry = new GenreRegistry(genreRepository);
+        genreRegistry.refresh();
+        var trackMapper = Mappers.getMapper(TrackMapper.class);
+        trackMapper.setGenreRegistry(genreRegistry);
+        return trackMapper;
+    }
+
     static Track createTrack(UUID artistId) {
         return createTrack(createArtist(artistId), null);
     }
@@ -109,6 +129,18 @@ public interface TestUtils {
         return IntStream.range(0, size).mapToObj(i -> createTrack(artist, (long) i)).toList();
     }
 
+    static TrackView createTrackView(Long id) {
+        return new TrackView(id, UUID.randomUUID(), "Test Track " + id, RAND.nextInt(100, 800), "Test Genre", LocalDate.now());
+    }
+
+    static List<TrackView> generateTrackViewList(int size) {
+        return IntStream.range(0, size).mapToObj(i -> createTrackView((long) i)).toList();
+    }
+
+    static Slice<TrackView> createTrackViewSlice(int page, int size, boolean hasNext) {
+        return new SliceImpl<>(generateTrackViewList(size), PageRequest.of(page, size), hasNext);
+    }
+
 
     //
     static TrackRequest createTrackRequest() {
@@ -119,6 +151,15 @@ public interface TestUtils {
                 .genre("Test Genre");
     }
 
+    static CreateTrackRequest createTrackRequest(UUID artistId, String title) {
+        return new CreateTrackRequest()
+                .artistId(artistId)
+                .title(title)
+                .durationInSeconds(RAND.nextInt(100, 800))
+                .releaseDate(LocalDate.now())
+                .genre("Test Genre");
+    }
+
     static TrackPageResponse mockTrackPageResponse(int page, int size,int total) {
         return new TrackPageResponse()
                 .page(page)